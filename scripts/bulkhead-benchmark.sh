@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+# Compares the virtual-thread mode with and without the database bulkhead under a burst of concurrent requests
+# that each need a database connection. Without the bulkhead, requests queue in the connection pool until its
+# timeout; with it, they queue for at most db.bulkhead.max-wait-ms and are then answered with 503.
+#
+# Requires Java 21. Uses the database from application.properties; arguments are passed to the application,
+# e.g. --spring.datasource.url=... for another database.
+#
+# Environment: LOAD_URL (default http://localhost:8081/changes?since=0&limit=500) and the variables of
+# scripts/lib/load.sh.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+source scripts/lib/load.sh
+
+URL=${LOAD_URL:-http://localhost:8081/changes?since=0&limit=500}
+JAR=target/SunriseSunset-0.0.1-SNAPSHOT.jar
+
+mvn -q -B -DskipTests -P java21 clean package
+
+for bulkhead in false true; do
+    start_app "bulkhead-$bulkhead" "$JAR" --spring.profiles.active=virtual-threads \
+        --db.bulkhead.enabled="$bulkhead" "$@"
+    run_load "bulkhead-$bulkhead" "$URL"
+    stop_app
+done
@@ -0,0 +1,56 @@
+# Shared helpers of the load benchmarks: start a packaged application, fire a burst of concurrent requests at it
+# and summarize status codes and latencies. Source from a script that has set -euo pipefail.
+#
+# Environment: LOAD_REQUESTS (default 2000), LOAD_CONCURRENCY (default 200), READY_URL (default
+# http://localhost:8081/locations/all).
+
+LOAD_REQUESTS=${LOAD_REQUESTS:-2000}
+LOAD_CONCURRENCY=${LOAD_CONCURRENCY:-200}
+READY_URL=${READY_URL:-http://localhost:8081/locations/all}
+LOAD_WORK=$(mktemp -d)
+trap 'stop_app; rm -rf "$LOAD_WORK"' EXIT
+APP_PID=
+
+# Starts a jar with the given arguments and waits until READY_URL answers successfully.
+start_app() {
+    local label=$1 jar=$2
+    shift 2
+    java -jar "$jar" "$@" > "$LOAD_WORK/$label.log" 2>&1 &
+    APP_PID=$!
+    until curl -fs -o /dev/null "$READY_URL"; do
+        if ! kill -0 "$APP_PID" 2>/dev/null; then
+            echo "$label: application exited before answering, see log:" >&2
+            tail -20 "$LOAD_WORK/$label.log" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+}
+
+# Stops the application started last, if any.
+stop_app() {
+    if [ -n "$APP_PID" ]; then
+        kill "$APP_PID" 2>/dev/null || true
+        wait "$APP_PID" 2>/dev/null || true
+        APP_PID=
+    fi
+}
+
+# Sends LOAD_REQUESTS requests with LOAD_CONCURRENCY in flight and prints status counts and latency percentiles.
+# Further arguments are passed to curl, e.g. -X PUT -H 'Content-Type: application/json' -d '...'.
+run_load() {
+    local label=$1 url=$2
+    shift 2
+    local results="$LOAD_WORK/$label.txt" start elapsed
+    start=$(date +%s%N)
+    seq "$LOAD_REQUESTS" | xargs -P "$LOAD_CONCURRENCY" -I{} \
+        curl -s -o /dev/null -w '%{http_code} %{time_total}\n' "$@" "$url" > "$results"
+    elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+    echo "$label: $LOAD_REQUESTS requests, $LOAD_CONCURRENCY concurrent, $elapsed ms" \
+        "($(( LOAD_REQUESTS * 1000 / (elapsed > 0 ? elapsed : 1) )) requests/s)"
+    awk '{ print $1 }' "$results" | sort | uniq -c | awk -v label="$label" '{ print label ": status " $2 " x " $1 }'
+    sort -n -k2 "$results" | awk -v label="$label" '{ t[NR] = $2 } END {
+        p50 = int(NR * 0.50) + 1; if (p50 > NR) p50 = NR
+        p99 = int(NR * 0.99) + 1; if (p99 > NR) p99 = NR
+        printf "%s: latency p50 %.0f ms, p99 %.0f ms, max %.0f ms\n", label, t[p50] * 1000, t[p99] * 1000, t[NR] * 1000 }'
+}
@@ -0,0 +1,35 @@
+#!/usr/bin/env bash
+# Compares the servlet application with the reactive variant under the same read and write load: GET and PUT of
+# one location, created through the application under test before its runs.
+#
+# Uses the databases from application.properties and application-reactive.properties; arguments are passed to
+# both applications, e.g. --spring.datasource.url=... --spring.r2dbc.url=... for another database.
+#
+# Environment: the variables of scripts/lib/load.sh.
+set -euo pipefail
+cd "$(dirname "$0")/.."
+source scripts/lib/load.sh
+
+JAR=target/SunriseSunset-0.0.1-SNAPSHOT.jar
+BODY='{"name":"Load Test","country":"Belarus","sunriseSunsetIds":[]}'
+
+# Each build replaces the jar in target, so keep a copy of every variant.
+mvn -q -B -DskipTests clean package
+cp "$JAR" "$LOAD_WORK/servlet.jar"
+mvn -q -B -DskipTests -P reactive clean package
+cp "$JAR" "$LOAD_WORK/reactive.jar"
+
+for variant in servlet reactive; do
+    start_app "$variant" "$LOAD_WORK/$variant.jar" "$@"
+    id=$(curl -fs -H 'Content-Type: application/json' -d "$BODY" http://localhost:8081/locations \
+        | sed -n 's/.*"id":\([0-9]*\).*/\1/p')
+    if [ -z "$id" ]; then
+        echo "$variant: could not create the location to load" >&2
+        exit 1
+    fi
+    run_load "$variant-get" "http://localhost:8081/locations/$id"
+    run_load "$variant-put" "http://localhost:8081/locations/$id" -X PUT -H 'Content-Type: application/json' \
+        -d "$BODY"
+    curl -fs -o /dev/null -X DELETE "http://localhost:8081/locations/$id"
+    stop_app
+done
@@ -0,0 +1,67 @@
+#!/usr/bin/env bash
+# Measures the time from JVM launch to the first successful request in the default mode, the fast-start
+# mode (Spring AOT + lazy initialization) and the fast-start mode with an AppCDS archive.
+#
+# Uses the database from application.properties; arguments are passed to the application, so another
+# database can be given, e.g. an H2 driver through EXTRA_CLASSPATH and --spring.datasource.* arguments.
+#
+# Environment: BENCHMARK_URL (default http://localhost:8081/locations/all), BENCHMARK_RUNS (default 3),
+# EXTRA_CLASSPATH (appended to the application classpath).
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+URL=${BENCHMARK_URL:-http://localhost:8081/locations/all}
+RUNS=${BENCHMARK_RUNS:-3}
+JAR=SunriseSunset-0.0.1-SNAPSHOT.jar
+MAIN=com.example.SunriseSunset.SunriseSunsetApplication
+JVM_ARGS=(--add-opens=java.base/java.nio=ALL-UNNAMED)
+FAST_START_ARGS=(-Dspring.aot.enabled=true -Dspring.profiles.active=fast-start)
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+# Builds with the given Maven arguments and extracts the jar into a layout that AppCDS can archive.
+build() {
+    local destination=$1
+    shift
+    mvn -q -B -DskipTests "$@" clean package
+    java -Djarmode=tools -jar "target/$JAR" extract --destination "$destination"
+}
+
+# Starts the application RUNS times and reports the time until URL first answers successfully.
+measure() {
+    local label=$1 classpath=$2
+    shift 2
+    local total=0 run start pid elapsed
+    for run in $(seq "$RUNS"); do
+        start=$(date +%s%N)
+        java "${JVM_ARGS[@]}" "$@" -cp "$classpath" "$MAIN" "${APP_ARGS[@]}" > "$WORK/$label-$run.log" 2>&1 &
+        pid=$!
+        until curl -fs -o /dev/null "$URL"; do
+            if ! kill -0 "$pid" 2>/dev/null; then
+                echo "$label: application exited before answering, see log:" >&2
+                tail -20 "$WORK/$label-$run.log" >&2
+                exit 1
+            fi
+            sleep 0.02
+        done
+        elapsed=$(( ($(date +%s%N) - start) / 1000000 ))
+        kill "$pid"
+        wait "$pid" || true
+        echo "$label run $run: $elapsed ms"
+        total=$((total + elapsed))
+    done
+    echo "$label: $((total / RUNS)) ms to first successful request on average"
+}
+
+APP_ARGS=("$@")
+EXTRA=${EXTRA_CLASSPATH:+:$EXTRA_CLASSPATH}
+
+build "$WORK/default"
+build "$WORK/fast-start" -P fast-start
+
+java "${JVM_ARGS[@]}" "${FAST_START_ARGS[@]}" -XX:ArchiveClassesAtExit="$WORK/app.jsa" -Dspring.context.exit=onRefresh \
+    -cp "$WORK/fast-start/$JAR$EXTRA" "$MAIN" "${APP_ARGS[@]}" > "$WORK/training.log" 2>&1
+
+measure default "$WORK/default/$JAR$EXTRA"
+measure fast-start "$WORK/fast-start/$JAR$EXTRA" "${FAST_START_ARGS[@]}"
+measure fast-start-cds "$WORK/fast-start/$JAR$EXTRA" "${FAST_START_ARGS[@]}" -XX:SharedArchiveFile="$WORK/app.jsa"
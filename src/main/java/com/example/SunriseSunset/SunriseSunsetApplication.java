@@ -2,8 +2,10 @@ package com.example.SunriseSunset;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SunriseSunsetApplication {
 	public static void main(String[] args) {
 		SpringApplication.run(SunriseSunsetApplication.class, args);
@@ -0,0 +1,179 @@
+package com.example.SunriseSunset.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**Maintains cached aggregate lists as immutable ID-sorted snapshots that writers update in place.*/
+@Component
+@SuppressWarnings("unchecked")
+public class AggregateCache {
+
+    /** The shared entity cache holding the snapshots. */
+    private final Map<String, Object> entityCache;
+
+    /** Lifetime of cached empty aggregates in milliseconds. */
+    private final long negativeTtlMillis;
+
+    /** Number of lock and generation stripes shared by all aggregate keys. */
+    private static final int STRIPES = 64;
+
+    /** Rebuild locks per key stripe so that only one caller rebuilds an aggregate at a time. */
+    private final ReentrantLock[] rebuildLocks = new ReentrantLock[STRIPES];
+
+    /** Write counters per key stripe, used to discard rebuilds that raced with a write. */
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    /**Constructs an AggregateCache on top of the specified entity cache.*/
+    public AggregateCache(Map<String, Object> entityCache,
+                          @Value("${cache.negative-ttl-ms:30000}") long negativeTtlMillis) {
+        this.entityCache = entityCache;
+        this.negativeTtlMillis = negativeTtlMillis;
+        for (int i = 0; i < STRIPES; i++) {
+            rebuildLocks[i] = new ReentrantLock();
+        }
+    }
+
+    /**Returns the cached snapshot of an aggregate, or null when it is not cached.*/
+    public <T> List<T> get(String key) {
+        Object cached = entityCache.get(key);
+        if (cached instanceof NegativeCacheEntry negative) {
+            return negative.isExpired() ? null : List.of();
+        }
+        return (List<T>) cached;
+    }
+
+    /**Returns the cached snapshot or rebuilds it, letting only one caller per key query the database.*/
+    public <T> List<T> getOrRebuild(String key, Supplier<List<T>> loader, Function<T, Integer> idOf) {
+        List<T> cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(key);
+        ReentrantLock lock = rebuildLocks[stripe];
+        lock.lock();
+        try {
+            cached = get(key);
+            if (cached != null) {
+                return cached;
+            }
+            long startGeneration = generations.get(stripe);
+            List<T> loaded = new ArrayList<>(loader.get());
+            loaded.sort(Comparator.comparing(idOf));
+            List<T> snapshot = Collections.unmodifiableList(loaded);
+            Object value = snapshot.isEmpty() ? NegativeCacheEntry.expiringIn(negativeTtlMillis) : snapshot;
+            entityCache.compute(key, (k, current) -> generations.get(stripe) == startGeneration ? value : current);
+            return snapshot;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**Finds an item of a cached aggregate by ID, or returns null.*/
+    public <T> T find(String key, Integer id, Function<T, Integer> idOf) {
+        List<T> snapshot = get(key);
+        if (snapshot == null) {
+            return null;
+        }
+        int index = indexOf(snapshot, id, idOf);
+        return index >= 0 ? snapshot.get(index) : null;
+    }
+
+    /**Inserts or replaces an item in a cached aggregate; aggregates that are not cached stay absent.*/
+    public <T> void upsert(String key, T item, Function<T, Integer> idOf) {
+        generations.incrementAndGet(stripe(key));
+        entityCache.computeIfPresent(key, (k, current) -> {
+            if (current instanceof NegativeCacheEntry negative) {
+                return negative.isExpired() ? null : List.of(item);
+            }
+            List<T> snapshot = (List<T>) current;
+            List<T> copy = new ArrayList<>(snapshot.size() + 1);
+            copy.addAll(snapshot);
+            int index = indexOf(snapshot, idOf.apply(item), idOf);
+            if (index >= 0) {
+                copy.set(index, item);
+            } else {
+                copy.add(-index - 1, item);
+            }
+            return Collections.unmodifiableList(copy);
+        });
+    }
+
+    /**Applies a change to one item of a cached aggregate and returns the changed item, or null.*/
+    public <T> T update(String key, Integer id, Function<T, Integer> idOf, UnaryOperator<T> change) {
+        generations.incrementAndGet(stripe(key));
+        Object[] changed = new Object[1];
+        entityCache.computeIfPresent(key, (k, current) -> {
+            if (current instanceof NegativeCacheEntry) {
+                return current;
+            }
+            List<T> snapshot = (List<T>) current;
+            int index = indexOf(snapshot, id, idOf);
+            if (index < 0) {
+                return current;
+            }
+            List<T> copy = new ArrayList<>(snapshot);
+            T item = change.apply(snapshot.get(index));
+            copy.set(index, item);
+            changed[0] = item;
+            return Collections.unmodifiableList(copy);
+        });
+        return (T) changed[0];
+    }
+
+    /**Removes an item from a cached aggregate.*/
+    public <T> void remove(String key, Integer id, Function<T, Integer> idOf) {
+        generations.incrementAndGet(stripe(key));
+        entityCache.computeIfPresent(key, (k, current) -> {
+            if (current instanceof NegativeCacheEntry) {
+                return current;
+            }
+            List<T> snapshot = (List<T>) current;
+            int index = indexOf(snapshot, id, idOf);
+            if (index < 0) {
+                return current;
+            }
+            List<T> copy = new ArrayList<>(snapshot);
+            copy.remove(index);
+            return Collections.unmodifiableList(copy);
+        });
+    }
+
+    /**Drops a cached aggregate and keeps rebuilds already in flight from caching their result.*/
+    public void invalidate(String key) {
+        generations.incrementAndGet(stripe(key));
+        entityCache.remove(key);
+    }
+
+    /**Maps an aggregate key to its lock and generation stripe.*/
+    private static int stripe(String key) {
+        return (key.hashCode() & Integer.MAX_VALUE) % STRIPES;
+    }
+
+    /**Binary-searches an ID-sorted snapshot, returning the index or (-(insertion point) - 1).*/
+    private <T> int indexOf(List<T> snapshot, Integer id, Function<T, Integer> idOf) {
+        int low = 0;
+        int high = snapshot.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int cmp = idOf.apply(snapshot.get(mid)).compareTo(id);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+}
@@ -1,7 +1,7 @@
 package com.example.SunriseSunset.cache;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -9,9 +9,9 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class Cache {
 
-    /**Creates a HashMap to be used as an entity cache.*/
+    /**Creates a ConcurrentHashMap to be used as an entity cache shared by request and worker threads.*/
     @Bean
     public Map<String, Object> entityCache() {
-        return new HashMap<>();
+        return new ConcurrentHashMap<>();
     }
 }
\ No newline at end of file
@@ -0,0 +1,149 @@
+package com.example.SunriseSunset.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**Bounded, expiring cache of composite read models that writers invalidate by group instead of by scanning keys.*/
+@Component
+@SuppressWarnings("unchecked")
+public class CompositeCache {
+
+    /** Number of generation stripes shared by all groups. */
+    private static final int STRIPES = 64;
+
+    /** The maximum number of cached composites; the least recently used one is dropped beyond it. */
+    private final int maxEntries;
+
+    /** Lifetime of a cached composite in milliseconds. */
+    private final long ttlMillis;
+
+    /** Cached composites in access order, guarded by this. */
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** Keys of the cached composites per group, guarded by this. */
+    private final Map<String, Set<String>> keysByGroup = new HashMap<>();
+
+    /** Write counters per group stripe, used to discard loads that raced with an invalidation. */
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    /**Constructs a CompositeCache with the specified bounds.*/
+    public CompositeCache(@Value("${cache.composite.max-entries:10000}") int maxEntries,
+                          @Value("${cache.composite.ttl-ms:600000}") long ttlMillis) {
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+    }
+
+    /**Returns a cached composite or loads it, caching the result only if none of its groups was invalidated meanwhile.*/
+    public <T> T getOrLoad(String key, Supplier<T> loader, String... groups) {
+        T cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long[] startGenerations = new long[groups.length];
+        for (int i = 0; i < groups.length; i++) {
+            startGenerations[i] = generations.get(stripe(groups[i]));
+        }
+        T loaded = loader.get();
+        synchronized (this) {
+            for (int i = 0; i < groups.length; i++) {
+                if (generations.get(stripe(groups[i])) != startGenerations[i]) {
+                    return loaded;
+                }
+            }
+            remove(key);
+            entries.put(key, new Entry(loaded, groups, System.currentTimeMillis() + ttlMillis));
+            for (String group : groups) {
+                keysByGroup.computeIfAbsent(group, g -> new HashSet<>()).add(key);
+            }
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (entries.size() > maxEntries) {
+                Map.Entry<String, Entry> evicted = eldest.next();
+                eldest.remove();
+                unregister(evicted.getKey(), evicted.getValue());
+            }
+        }
+        return loaded;
+    }
+
+    /**Drops every composite of a group and keeps loads guarded by it from caching their result.*/
+    public void invalidateGroup(String group) {
+        generations.incrementAndGet(stripe(group));
+        synchronized (this) {
+            Set<String> keys = keysByGroup.remove(group);
+            if (keys != null) {
+                for (String key : keys) {
+                    remove(key);
+                }
+            }
+        }
+    }
+
+    /**Returns the number of cached composites, including expired ones not yet looked up.*/
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**Returns a live cached composite, dropping it when expired, or null.*/
+    private synchronized <T> T get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= entry.expiresAtMillis) {
+            remove(key);
+            return null;
+        }
+        return (T) entry.value;
+    }
+
+    /**Removes a composite and its group registrations; callers hold the monitor.*/
+    private void remove(String key) {
+        Entry entry = entries.remove(key);
+        if (entry != null) {
+            unregister(key, entry);
+        }
+    }
+
+    /**Removes a key from the index of every group it was cached under; callers hold the monitor.*/
+    private void unregister(String key, Entry entry) {
+        for (String group : entry.groups) {
+            Set<String> keys = keysByGroup.get(group);
+            if (keys != null && keys.remove(key) && keys.isEmpty()) {
+                keysByGroup.remove(group);
+            }
+        }
+    }
+
+    /**Maps a group to its generation stripe.*/
+    private static int stripe(String group) {
+        return (group.hashCode() & Integer.MAX_VALUE) % STRIPES;
+    }
+
+    /**A cached composite with the groups it is invalidated through.*/
+    private static final class Entry {
+
+        /** The cached composite. */
+        private final Object value;
+
+        /** The groups whose invalidation drops the composite. */
+        private final String[] groups;
+
+        /** The time in epoch milliseconds after which the composite is reloaded. */
+        private final long expiresAtMillis;
+
+        /**Constructs an Entry.*/
+        private Entry(Object value, String[] groups, long expiresAtMillis) {
+            this.value = value;
+            this.groups = groups;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.SunriseSunset.cache;
+
+/**Cache marker recording that a lookup found nothing, valid until it expires.*/
+public final class NegativeCacheEntry {
+
+    /** The time in epoch milliseconds after which the marker is ignored. */
+    private final long expiresAtMillis;
+
+    /**Constructs a NegativeCacheEntry expiring at the specified time.*/
+    private NegativeCacheEntry(long expiresAtMillis) {
+        this.expiresAtMillis = expiresAtMillis;
+    }
+
+    /**Creates a marker that expires after the specified number of milliseconds.*/
+    public static NegativeCacheEntry expiringIn(long ttlMillis) {
+        return new NegativeCacheEntry(System.currentTimeMillis() + ttlMillis);
+    }
+
+    /**Checks whether the marker has expired.*/
+    public boolean isExpired() {
+        return System.currentTimeMillis() >= expiresAtMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "NegativeCacheEntry{expiresAtMillis=" + expiresAtMillis + "}";
+    }
+}
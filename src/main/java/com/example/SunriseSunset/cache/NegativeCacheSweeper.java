@@ -0,0 +1,35 @@
+package com.example.SunriseSunset.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+
+/**Periodically removes expired negative entries so probes for random IDs do not grow the cache.*/
+@Component
+public class NegativeCacheSweeper {
+
+    /** Logger instance for logging sweep results. */
+    private static final Logger logger = LoggerFactory.getLogger(NegativeCacheSweeper.class);
+
+    /** The cache to sweep. */
+    private final Map<String, Object> entityCache;
+
+    /**Constructs a NegativeCacheSweeper for the specified cache.*/
+    public NegativeCacheSweeper(Map<String, Object> entityCache) {
+        this.entityCache = entityCache;
+    }
+
+    /**Removes expired negative entries; entries replaced concurrently are left untouched.*/
+    @Scheduled(fixedDelayString = "${cache.negative-sweep-interval-ms:60000}")
+    public void sweep() {
+        int before = entityCache.size();
+        entityCache.entrySet().removeIf(entry ->
+                entry.getValue() instanceof NegativeCacheEntry negative && negative.isExpired());
+        int removed = before - entityCache.size();
+        if (removed > 0) {
+            logger.debug("Swept {} expired negative cache entries", removed);
+        }
+    }
+}
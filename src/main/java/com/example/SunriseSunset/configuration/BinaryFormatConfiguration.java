@@ -0,0 +1,36 @@
+package com.example.SunriseSunset.configuration;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**Configuration class for binary response formats negotiated through the Accept header.*/
+@Configuration
+public class BinaryFormatConfiguration {
+
+    /**Creates a CBOR converter for the application/cbor media type with epoch timestamps.*/
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(
+                epochTimestamps(Jackson2ObjectMapperBuilder.cbor()).build());
+    }
+
+    /**Creates a Smile converter for the application/x-jackson-smile media type with epoch timestamps.*/
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(
+                epochTimestamps(Jackson2ObjectMapperBuilder.smile()).build());
+    }
+
+    /**Reads and writes dates as epoch milliseconds instead of ISO-8601 strings.*/
+    private Jackson2ObjectMapperBuilder epochTimestamps(Jackson2ObjectMapperBuilder builder) {
+        return builder
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .featuresToDisable(SerializationFeature.WRITE_DATE_TIMESTAMPS_AS_NANOSECONDS,
+                        DeserializationFeature.READ_DATE_TIMESTAMPS_AS_NANOSECONDS);
+    }
+}
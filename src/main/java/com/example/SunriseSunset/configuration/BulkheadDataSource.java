@@ -0,0 +1,102 @@
+package com.example.SunriseSunset.configuration;
+
+import com.example.SunriseSunset.exception.DatabaseBusyException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**Data source holding a bulkhead slot from getConnection until the connection is closed, so that a transaction takes one slot for its whole length.*/
+public class BulkheadDataSource extends DelegatingDataSource {
+
+    /** Logger instance for logging rejected connection requests. */
+    private static final Logger logger = LoggerFactory.getLogger(BulkheadDataSource.class);
+
+    /** Slots for connections handed out at the same time. */
+    private final Semaphore slots;
+
+    /** The maximum wait for a slot in milliseconds. */
+    private final long maxWaitMillis;
+
+    /**Constructs a BulkheadDataSource around a target data source.*/
+    public BulkheadDataSource(DataSource targetDataSource, int maxConcurrent, long maxWaitMillis) {
+        super(targetDataSource);
+        this.slots = new Semaphore(maxConcurrent, true);
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**Gets a connection once a slot is free, failing fast with DatabaseBusyException after the wait limit.*/
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquireSlot();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**Gets a connection for a user once a slot is free, failing fast with DatabaseBusyException after the wait limit.*/
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquireSlot();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    /**Gets the number of slots currently free.*/
+    public int getAvailableSlots() {
+        return slots.availablePermits();
+    }
+
+    /**Waits for a free slot up to the wait limit.*/
+    private void acquireSlot() {
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new DatabaseBusyException("Interrupted while waiting for a database slot");
+        }
+        if (!acquired) {
+            logger.warn("Rejected a connection request after waiting {} ms for a database slot", maxWaitMillis);
+            throw new DatabaseBusyException("No database slot became free within " + maxWaitMillis + " ms");
+        }
+    }
+
+    /**Wraps a connection so that its first close frees the slot.*/
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        InvocationHandler handler = (proxy, method, args) -> invoke(connection, released, method, args);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, handler);
+    }
+
+    /**Forwards a call to the connection, freeing the slot once it is closed.*/
+    private Object invoke(Connection connection, AtomicBoolean released, Method method, Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(connection, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        } finally {
+            if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.SunriseSunset.configuration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.sql.DataSource;
+
+/**Opt-in configuration bounding concurrent connections so that many virtual threads queue here instead of in the pool.*/
+@Configuration
+@ConditionalOnProperty(name = "db.bulkhead.enabled", havingValue = "true")
+public class DatabaseBulkheadConfiguration {
+
+    /**Wraps the data source so that each connection, and with it each transaction, holds one slot, sized like the pool by default.*/
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(
+            @Value("${db.bulkhead.max-concurrent:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrent,
+            @Value("${db.bulkhead.max-wait-ms:5000}") long maxWaitMillis) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, maxConcurrent, maxWaitMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.SunriseSunset.configuration;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.ReflectionUtils;
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+
+/**Configuration of the fast-start profile, which initializes beans lazily except those that must run from startup.*/
+@Configuration
+@Profile(FastStartConfiguration.PROFILE)
+public class FastStartConfiguration {
+
+    /** Name of the Spring profile. */
+    public static final String PROFILE = "fast-start";
+
+    /**Keeps the database and beans with scheduled or event-driven methods eager, since lazy ones would never fire.*/
+    @Bean
+    public static LazyInitializationExcludeFilter criticalBeansExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && (DataSource.class.isAssignableFrom(beanType)
+                || EntityManagerFactory.class.isAssignableFrom(beanType)
+                || hasLifecycleMethods(beanType));
+    }
+
+    /**Tells whether a bean type has scheduled or event listener methods.*/
+    private static boolean hasLifecycleMethods(Class<?> beanType) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(beanType)) {
+            if (AnnotatedElementUtils.hasAnnotation(method, Scheduled.class)
+                    || AnnotatedElementUtils.hasAnnotation(method, EventListener.class)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
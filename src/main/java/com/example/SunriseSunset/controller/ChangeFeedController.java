@@ -0,0 +1,36 @@
+package com.example.SunriseSunset.controller;
+
+import com.example.SunriseSunset.dto.ChangeFeedDTO;
+import com.example.SunriseSunset.service.ChangeFeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+/**REST controller serving versioned changes of locations and sunrise and sunset entries.*/
+@RestController
+@RequestMapping("/changes")
+@Tag(name = "Change Feed Controller", description = "Incremental sync of locations and sunrise and sunset entries")
+public class ChangeFeedController {
+
+    /** Service assembling pages of the change feed. */
+    private final ChangeFeedService changeFeedService;
+
+    /**Constructs a ChangeFeedController with the specified service.*/
+    public ChangeFeedController(ChangeFeedService changeFeedService) {
+        this.changeFeedService = changeFeedService;
+    }
+
+    /**Retrieves the changes after a version; deleted entities are returned as tombstones.*/
+    @Operation(summary = "Get changes after a version")
+    @GetMapping
+    public ResponseEntity<ChangeFeedDTO> getChanges(
+            @Parameter(description = "Last version the client has applied, 0 for a full sync")
+            @RequestParam(defaultValue = "0") long since,
+            @Parameter(description = "Maximum number of change rows to read, at most 500")
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(changeFeedService.getChanges(since, limit));
+    }
+}
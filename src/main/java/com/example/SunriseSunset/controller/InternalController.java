@@ -0,0 +1,59 @@
+package com.example.SunriseSunset.controller;
+
+import com.example.SunriseSunset.diagnostics.QueryStatistics;
+import com.example.SunriseSunset.dto.EndpointQueryStatsDTO;
+import com.example.SunriseSunset.dto.GridCacheStatsDTO;
+import com.example.SunriseSunset.dto.UpstreamStatsDTO;
+import com.example.SunriseSunset.service.GridSunTimesCache;
+import com.example.SunriseSunset.service.UpstreamScheduler;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+
+/**REST controller exposing internal operational statistics.*/
+@RestController
+@RequestMapping("/internal")
+@Tag(name = "Internal Controller", description = "Operational statistics for operators")
+public class InternalController {
+
+    /** Scheduler for calls to the external API. */
+    private final UpstreamScheduler upstreamScheduler;
+
+    /** Coordinate grid in front of the external API. */
+    private final GridSunTimesCache gridSunTimesCache;
+
+    /** Per-endpoint SQL statement statistics. */
+    private final QueryStatistics queryStatistics;
+
+    /**Constructs an InternalController with the specified dependencies.*/
+    public InternalController(UpstreamScheduler upstreamScheduler, GridSunTimesCache gridSunTimesCache,
+                              QueryStatistics queryStatistics) {
+        this.upstreamScheduler = upstreamScheduler;
+        this.gridSunTimesCache = gridSunTimesCache;
+        this.queryStatistics = queryStatistics;
+    }
+
+    /**Retrieves queue depth and wait-time statistics of the external API scheduler.*/
+    @Operation(summary = "Get external API scheduler statistics")
+    @GetMapping("/upstream/stats")
+    public ResponseEntity<List<UpstreamStatsDTO>> getUpstreamStats() {
+        return ResponseEntity.ok(upstreamScheduler.getStats());
+    }
+
+    /**Retrieves the hit ratio and sampled error distribution of the coordinate grid cache.*/
+    @Operation(summary = "Get coordinate grid cache statistics")
+    @GetMapping("/grid/stats")
+    public ResponseEntity<GridCacheStatsDTO> getGridStats() {
+        return ResponseEntity.ok(gridSunTimesCache.getStats());
+    }
+
+    /**Retrieves the SQL statements run per endpoint, most statements per request first.*/
+    @Operation(summary = "Get SQL statement statistics per endpoint")
+    @GetMapping("/queries/stats")
+    public ResponseEntity<List<EndpointQueryStatsDTO>> getQueryStats() {
+        return ResponseEntity.ok(queryStatistics.getStats());
+    }
+}
@@ -1,16 +1,24 @@
 package com.example.SunriseSunset.controller;
 
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.LocationCalendarDTO;
 import com.example.SunriseSunset.dto.LocationDTO;
+import com.example.SunriseSunset.dto.LocationFullDTO;
+import com.example.SunriseSunset.service.LocationCalendarService;
 import com.example.SunriseSunset.service.LocationService;
+import com.example.SunriseSunset.service.SunTimesStreamHub;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.LocalDate;
 import java.util.List;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 
 /**REST controller for managing location-related operations.*/
@@ -22,9 +30,18 @@ public class LocationController {
     /** Service for handling location-related business logic. */
     private final LocationService locationService;
 
-    /**Constructs a LocationController with the specified LocationService.*/
-    public LocationController(LocationService locationService) {
+    /** Service for precomputed yearly calendars of locations. */
+    private final LocationCalendarService locationCalendarService;
+
+    /** Hub pushing sunrise and sunset changes to stream subscribers. */
+    private final SunTimesStreamHub sunTimesStreamHub;
+
+    /**Constructs a LocationController with the specified services.*/
+    public LocationController(LocationService locationService, LocationCalendarService locationCalendarService,
+                              SunTimesStreamHub sunTimesStreamHub) {
         this.locationService = locationService;
+        this.locationCalendarService = locationCalendarService;
+        this.sunTimesStreamHub = sunTimesStreamHub;
     }
 
     /**Creates a new location.*/
@@ -49,6 +66,52 @@ public class LocationController {
         return dto != null ? ResponseEntity.ok(dto) : ResponseEntity.notFound().build();
     }
 
+    /**Retrieves a location together with its sunrise and sunset entries in a date range.*/
+    @Operation(summary = "Get location with its sunrise and sunset entries", responses = {
+        @ApiResponse(responseCode = "200", description = "Location and its entries in the range ordered by date",
+                    content = @Content(schema = @Schema(implementation = LocationFullDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Location not found or invalid range")})
+    @GetMapping("/{id}/full")
+    public ResponseEntity<LocationFullDTO> getLocationFull(
+        @Parameter(description = "ID of the location") @PathVariable Integer id,
+        @Parameter(description = "First date, inclusive (YYYY-MM-DD)") @RequestParam(defaultValue = "0001-01-01") String from,
+        @Parameter(description = "Last date, inclusive (YYYY-MM-DD)") @RequestParam(defaultValue = "9999-12-31") String to) {
+        return ResponseEntity.ok(locationService.getLocationFull(id, LocalDate.parse(from), LocalDate.parse(to)));
+    }
+
+    /**Retrieves the sunrise and sunset calendar of a location for a whole year.*/
+    @Operation(summary = "Get yearly sunrise and sunset calendar of a location", responses = {
+        @ApiResponse(responseCode = "200", description = "UTC minutes-of-day indexed by day of year",
+                    content = @Content(schema = @Schema(implementation = LocationCalendarDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Location not found or has no coordinates")})
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<LocationCalendarDTO> getCalendar(
+        @Parameter(description = "ID of the location") @PathVariable Integer id,
+        @Parameter(description = "Calendar year") @RequestParam Integer year) {
+        return ResponseEntity.ok(locationCalendarService.getCalendar(id, year));
+    }
+
+    /**Streams sunrise and sunset entries of a location as they are created or updated.*/
+    @Operation(summary = "Subscribe to sunrise and sunset changes of a location", responses = {
+        @ApiResponse(responseCode = "200", description = "Server-Sent Events named sunrise-sunset with heartbeat comments"),
+        @ApiResponse(responseCode = "400", description = "Location not found")})
+    @GetMapping(path = "/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSunriseSunsets(
+        @Parameter(description = "ID of the location") @PathVariable Integer id) {
+        locationService.getLocationById(id);
+        return sunTimesStreamHub.subscribe(id);
+    }
+
+    /**Retrieves several locations by their IDs in request order.*/
+    @Operation(summary = "Get locations by IDs", responses = {
+        @ApiResponse(responseCode = "200", description = "Found locations in request order, missing IDs skipped",
+                    content = @Content(schema = @Schema(implementation = LocationDTO.class)))})
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<LocationDTO>> getLocationsByIds(
+        @Parameter(description = "Comma-separated IDs of the locations to be retrieved") @RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(locationService.getLocationsByIds(ids));
+    }
+
     /**Retrieves all locations.*/
     @Operation(summary = "Get all locations", responses = {
         @ApiResponse(responseCode = "200", description = "List of all locations",
@@ -71,6 +134,18 @@ public class LocationController {
         return updatedDto != null ? ResponseEntity.ok(updatedDto) : ResponseEntity.notFound().build();
     }
 
+    /**Adds or removes individual sunrise and sunset links of a location.*/
+    @Operation(summary = "Patch sunrise and sunset links of a location", responses = {
+        @ApiResponse(responseCode = "200", description = "Links updated successfully",
+                    content = @Content(schema = @Schema(implementation = LocationDTO.class))),
+        @ApiResponse(responseCode = "400", description = "Location not found")})
+    @PatchMapping("/{id}/sunrise-sunsets")
+    public ResponseEntity<LocationDTO> patchSunriseSunsetLinks(
+        @Parameter(description = "ID of the location to be linked") @PathVariable Integer id,
+        @RequestBody LinkPatchDTO patch) {
+        return ResponseEntity.ok(locationService.patchSunriseSunsetLinks(id, patch));
+    }
+
     /**Deletes a location by its ID.*/
     @Operation(summary = "Delete location", responses = {
         @ApiResponse(responseCode = "204", description = "Location deleted successfully"),
@@ -1,13 +1,21 @@
 package com.example.SunriseSunset.controller;
 
+import com.example.SunriseSunset.dto.LinkPatchDTO;
 import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetTicketDTO;
+import com.example.SunriseSunset.service.SunTimesExportService;
+import com.example.SunriseSunset.service.SunriseSunsetRequestService;
 import com.example.SunriseSunset.service.SunriseSunsetService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.net.URI;
 import java.time.LocalDate;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 
 /**REST controller for managing sunrise and sunset data.*/
@@ -18,10 +26,19 @@ public class SunriseSunsetController {
     /** Service for handling sunrise and sunset operations. */
     private final SunriseSunsetService sunService;
 
-    /**Constructs a SunriseSunsetController with the specified SunriseSunsetService.*/
+    /** Service for queued sunrise and sunset creation requests. */
+    private final SunriseSunsetRequestService requestService;
+
+    /** Service for columnar bulk exports. */
+    private final SunTimesExportService exportService;
+
+    /**Constructs a SunriseSunsetController with the specified services.*/
     @Autowired
-    public SunriseSunsetController(SunriseSunsetService sunService) {
+    public SunriseSunsetController(SunriseSunsetService sunService, SunriseSunsetRequestService requestService,
+                                   SunTimesExportService exportService) {
         this.sunService = sunService;
+        this.requestService = requestService;
+        this.exportService = exportService;
     }
 
     /**Creates a new sunrise and sunset entry.*/
@@ -31,6 +48,22 @@ public class SunriseSunsetController {
         return ResponseEntity.ok(savedDto);
     }
 
+    /**Queues a sunrise and sunset entry for background creation and returns its ticket.*/
+    @PostMapping("/requests")
+    public ResponseEntity<SunriseSunsetTicketDTO> enqueueSunriseSunset(@RequestBody SunriseSunsetDTO dto) {
+        SunriseSunsetTicketDTO ticket = requestService.enqueue(dto);
+        return ResponseEntity.accepted()
+                .location(URI.create("/sun/times/requests/" + ticket.getTicketId()))
+                .body(ticket);
+    }
+
+    /**Retrieves the state of a queued sunrise and sunset creation request.*/
+    @GetMapping("/requests/{ticketId}")
+    public ResponseEntity<SunriseSunsetTicketDTO> getTicket(@PathVariable Long ticketId) {
+        SunriseSunsetTicketDTO ticket = requestService.getTicket(ticketId);
+        return ticket != null ? ResponseEntity.ok(ticket) : ResponseEntity.notFound().build();
+    }
+
     /**Retrieves a sunrise and sunset entry by its ID.*/
     @GetMapping("/{id}")
     public ResponseEntity<SunriseSunsetDTO> getSunriseSunsetById(@PathVariable Integer id) {
@@ -38,12 +71,37 @@ public class SunriseSunsetController {
         return dto != null ? ResponseEntity.ok(dto) : ResponseEntity.notFound().build();
     }
 
+    /**Retrieves several sunrise and sunset entries by their IDs in request order.*/
+    @GetMapping(params = "ids")
+    public ResponseEntity<List<SunriseSunsetDTO>> getSunriseSunsetsByIds(@RequestParam List<Integer> ids) {
+        return ResponseEntity.ok(sunService.getSunriseSunsetsByIds(ids));
+    }
+
     /**Retrieves all sunrise and sunset entries.*/
     @GetMapping("/all")
     public ResponseEntity<List<SunriseSunsetDTO>> getAllSunriseSunsets() {
         return ResponseEntity.ok(sunService.getAllSunriseSunsets());
     }
 
+    /**Streams entries dated within a range, all by default, as an Arrow IPC stream without caching them.*/
+    @GetMapping(value = "/export", produces = SunTimesExportService.MEDIA_TYPE)
+    public WebAsyncTask<Void> exportSunriseSunsets(
+            @RequestParam(value = "from", defaultValue = "0001-01-01") String from,
+            @RequestParam(value = "to", defaultValue = "9999-12-31") String to,
+            HttpServletResponse response) {
+        LocalDate fromDate = LocalDate.parse(from);
+        LocalDate toDate = LocalDate.parse(to);
+        if (fromDate.isAfter(toDate)) {
+            throw new IllegalArgumentException("Export range starts after it ends: " + from + " > " + to);
+        }
+        response.setContentType(SunTimesExportService.MEDIA_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"sun-times.arrows\"");
+        return new WebAsyncTask<>(exportService.getTimeoutMillis(), () -> {
+            exportService.export(fromDate, toDate, response.getOutputStream());
+            return null;
+        });
+    }
+
     /**Updates an existing sunrise and sunset entry.*/
     @PutMapping("/{id}")
     public ResponseEntity<SunriseSunsetDTO> updateSunriseSunset(@PathVariable Integer id, @RequestBody SunriseSunsetDTO dto) {
@@ -51,6 +109,13 @@ public class SunriseSunsetController {
         return updatedDto != null ? ResponseEntity.ok(updatedDto) : ResponseEntity.notFound().build();
     }
 
+    /**Adds or removes individual location links of a sunrise and sunset entry.*/
+    @PatchMapping("/{id}/locations")
+    public ResponseEntity<SunriseSunsetDTO> patchLocationLinks(@PathVariable Integer id, @RequestBody LinkPatchDTO patch) {
+        SunriseSunsetDTO updatedDto = sunService.patchLocationLinks(id, patch);
+        return updatedDto != null ? ResponseEntity.ok(updatedDto) : ResponseEntity.notFound().build();
+    }
+
     /**Deletes a sunrise and sunset entry by its ID.*/
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteSunriseSunset(@PathVariable Integer id) {
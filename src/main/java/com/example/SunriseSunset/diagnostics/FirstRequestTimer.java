@@ -0,0 +1,35 @@
+package com.example.SunriseSunset.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**Logs how long after JVM start the first request was answered successfully, the startup time clients observe.*/
+@Component
+public class FirstRequestTimer extends OncePerRequestFilter {
+
+    /** Logger instance for reporting the startup time. */
+    private static final Logger logger = LoggerFactory.getLogger(FirstRequestTimer.class);
+
+    /** Whether a successful request was already seen. */
+    private final AtomicBoolean reported = new AtomicBoolean();
+
+    /**Times requests until the first one succeeds, then only passes them on.*/
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        chain.doFilter(request, response);
+        if (!reported.get() && response.getStatus() < 400 && reported.compareAndSet(false, true)) {
+            logger.info("First successful request {} {} answered {} ms after JVM start",
+                    request.getMethod(), request.getRequestURI(), ManagementFactory.getRuntimeMXBean().getUptime());
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.SunriseSunset.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**Counts the SQL statements of every request, records them per endpoint and optionally reports them in a header.*/
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    /** Response header carrying the statement count. */
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    /** Per-endpoint statement statistics. */
+    private final QueryStatistics queryStatistics;
+
+    /** Whether the statement count is added to responses. */
+    private final boolean headerEnabled;
+
+    /**Constructs a QueryCountFilter with the specified dependencies.*/
+    public QueryCountFilter(QueryStatistics queryStatistics,
+                            @Value("${diagnostics.query-count-header:false}") boolean headerEnabled) {
+        this.queryStatistics = queryStatistics;
+        this.headerEnabled = headerEnabled;
+    }
+
+    /**Counts the statements run while the request is handled.*/
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryCounter.begin();
+        QueryCountHeaderResponse countingResponse = headerEnabled ? new QueryCountHeaderResponse(response) : null;
+        try {
+            chain.doFilter(request, countingResponse != null ? countingResponse : response);
+        } finally {
+            if (countingResponse != null) {
+                countingResponse.addCountHeader();
+            }
+            int queries = QueryCounter.end();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            queryStatistics.record(request.getMethod() + " " + (pattern != null ? pattern : "unmapped"), queries);
+        }
+    }
+
+    /**Response that adds the statement count header just before the body is written, while headers can still change.*/
+    private static final class QueryCountHeaderResponse extends HttpServletResponseWrapper {
+
+        /** Whether the header was already added. */
+        private boolean headerAdded;
+
+        /**Wraps the specified response.*/
+        private QueryCountHeaderResponse(HttpServletResponse response) {
+            super(response);
+        }
+
+        /**Adds the header with the statements counted so far, once.*/
+        private void addCountHeader() {
+            if (!headerAdded && !isCommitted()) {
+                setHeader(QUERY_COUNT_HEADER, String.valueOf(QueryCounter.count()));
+            }
+            headerAdded = true;
+        }
+
+        /**Adds the header before handing out the body stream.*/
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addCountHeader();
+            return super.getOutputStream();
+        }
+
+        /**Adds the header before handing out the body writer.*/
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addCountHeader();
+            return super.getWriter();
+        }
+
+        /**Adds the header before the response is committed.*/
+        @Override
+        public void flushBuffer() throws IOException {
+            addCountHeader();
+            super.flushBuffer();
+        }
+    }
+}
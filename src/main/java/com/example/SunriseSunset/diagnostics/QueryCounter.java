@@ -0,0 +1,38 @@
+package com.example.SunriseSunset.diagnostics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**Hibernate statement inspector that counts the SQL statements prepared on the current thread.*/
+public class QueryCounter implements StatementInspector {
+
+    /** Statement count of the current unit of work, or null when nothing is being counted. */
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    /**Starts counting statements on the current thread.*/
+    public static void begin() {
+        COUNT.set(new int[1]);
+    }
+
+    /**Returns the statements counted since begin, or 0 when counting is not active.*/
+    public static int count() {
+        int[] count = COUNT.get();
+        return count != null ? count[0] : 0;
+    }
+
+    /**Stops counting and returns the number of statements counted since begin.*/
+    public static int end() {
+        int count = count();
+        COUNT.remove();
+        return count;
+    }
+
+    /**Counts the statement and passes it on unchanged.*/
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.SunriseSunset.diagnostics;
+
+import com.example.SunriseSunset.dto.EndpointQueryStatsDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**Aggregates the SQL statement counts of requests per endpoint and flags likely N+1 patterns.*/
+@Component
+public class QueryStatistics {
+
+    /** Logger instance for logging suspicious endpoints. */
+    private static final Logger logger = LoggerFactory.getLogger(QueryStatistics.class);
+
+    /** Statement counts at or above which a single request is reported as a likely N+1. */
+    private final int nPlusOneThreshold;
+
+    /** Counters per endpoint pattern. */
+    private final Map<String, EndpointCounters> endpoints = new ConcurrentHashMap<>();
+
+    /**Constructs a QueryStatistics with the configured N+1 threshold.*/
+    public QueryStatistics(@Value("${diagnostics.n-plus-one-threshold:20}") int nPlusOneThreshold) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    /**Records the statement count of one request to an endpoint.*/
+    public void record(String endpoint, int queries) {
+        EndpointCounters counters = endpoints.computeIfAbsent(endpoint, key -> new EndpointCounters());
+        counters.requests.increment();
+        counters.totalQueries.add(queries);
+        counters.maxQueries.accumulateAndGet(queries, Math::max);
+        if (queries >= nPlusOneThreshold) {
+            counters.suspectedNPlusOne.increment();
+            logger.warn("Possible N+1: {} ran {} SQL statements in one request", endpoint, queries);
+        }
+    }
+
+    /**Returns the per-endpoint statistics, most statements per request first.*/
+    public List<EndpointQueryStatsDTO> getStats() {
+        return endpoints.entrySet().stream()
+                .map(entry -> {
+                    EndpointCounters counters = entry.getValue();
+                    long requests = counters.requests.sum();
+                    long totalQueries = counters.totalQueries.sum();
+                    return new EndpointQueryStatsDTO(entry.getKey(), requests, totalQueries,
+                            requests > 0 ? (double) totalQueries / requests : 0,
+                            counters.maxQueries.get(), counters.suspectedNPlusOne.sum());
+                })
+                .sorted(Comparator.comparingDouble(EndpointQueryStatsDTO::getAverageQueries).reversed())
+                .collect(Collectors.toList());
+    }
+
+    /**Statement counters of one endpoint.*/
+    private static final class EndpointCounters {
+
+        /** Requests served. */
+        private final LongAdder requests = new LongAdder();
+
+        /** Statements run by all requests. */
+        private final LongAdder totalQueries = new LongAdder();
+
+        /** Most statements run by one request. */
+        private final AtomicLong maxQueries = new AtomicLong();
+
+        /** Requests at or above the N+1 threshold. */
+        private final LongAdder suspectedNPlusOne = new LongAdder();
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.SunriseSunset.dto;
+
+import com.example.SunriseSunset.model.ChangeEntityType;
+import com.example.SunriseSunset.model.ChangeOperation;
+
+/**Data Transfer Object for one change in the change feed, carrying the current state of upserted entities.*/
+public class ChangeDTO {
+
+    /** The version of the latest change to the entity within the page. */
+    private long version;
+
+    /** The kind of the changed entity. */
+    private ChangeEntityType entityType;
+
+    /** The ID of the changed entity. */
+    private Integer entityId;
+
+    /** Whether the entity was upserted or deleted. */
+    private ChangeOperation operation;
+
+    /** The current sunrise and sunset entry for an upserted entry, otherwise null. */
+    private SunriseSunsetDTO sunriseSunset;
+
+    /** The current location for an upserted location, otherwise null. */
+    private LocationDTO location;
+
+    /**Default constructor for ChangeDTO.*/
+    public ChangeDTO() {}
+
+    /**Constructs a ChangeDTO with all fields.*/
+    public ChangeDTO(long version, ChangeEntityType entityType, Integer entityId, ChangeOperation operation,
+                     SunriseSunsetDTO sunriseSunset, LocationDTO location) {
+        this.version = version;
+        this.entityType = entityType;
+        this.entityId = entityId;
+        this.operation = operation;
+        this.sunriseSunset = sunriseSunset;
+        this.location = location;
+    }
+
+    /**Gets the version of the latest change to the entity within the page.*/
+    public long getVersion() { return version; }
+
+    /**Sets the version of the latest change to the entity within the page.*/
+    public void setVersion(long version) { this.version = version; }
+
+    /**Gets the kind of the changed entity.*/
+    public ChangeEntityType getEntityType() { return entityType; }
+
+    /**Sets the kind of the changed entity.*/
+    public void setEntityType(ChangeEntityType entityType) { this.entityType = entityType; }
+
+    /**Gets the ID of the changed entity.*/
+    public Integer getEntityId() { return entityId; }
+
+    /**Sets the ID of the changed entity.*/
+    public void setEntityId(Integer entityId) { this.entityId = entityId; }
+
+    /**Gets whether the entity was upserted or deleted.*/
+    public ChangeOperation getOperation() { return operation; }
+
+    /**Sets whether the entity was upserted or deleted.*/
+    public void setOperation(ChangeOperation operation) { this.operation = operation; }
+
+    /**Gets the current sunrise and sunset entry for an upserted entry.*/
+    public SunriseSunsetDTO getSunriseSunset() { return sunriseSunset; }
+
+    /**Sets the current sunrise and sunset entry for an upserted entry.*/
+    public void setSunriseSunset(SunriseSunsetDTO sunriseSunset) { this.sunriseSunset = sunriseSunset; }
+
+    /**Gets the current location for an upserted location.*/
+    public LocationDTO getLocation() { return location; }
+
+    /**Sets the current location for an upserted location.*/
+    public void setLocation(LocationDTO location) { this.location = location; }
+}
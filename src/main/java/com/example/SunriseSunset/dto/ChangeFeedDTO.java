@@ -0,0 +1,44 @@
+package com.example.SunriseSunset.dto;
+
+import java.util.List;
+
+/**Data Transfer Object for one page of the change feed.*/
+public class ChangeFeedDTO {
+
+    /** The changes of the page, one per entity, in version order. */
+    private List<ChangeDTO> changes;
+
+    /** The version to pass as "since" for the next page. */
+    private long nextVersion;
+
+    /** Whether more committed changes follow this page. */
+    private boolean hasMore;
+
+    /**Default constructor for ChangeFeedDTO.*/
+    public ChangeFeedDTO() {}
+
+    /**Constructs a ChangeFeedDTO with all fields.*/
+    public ChangeFeedDTO(List<ChangeDTO> changes, long nextVersion, boolean hasMore) {
+        this.changes = changes;
+        this.nextVersion = nextVersion;
+        this.hasMore = hasMore;
+    }
+
+    /**Gets the changes of the page.*/
+    public List<ChangeDTO> getChanges() { return changes; }
+
+    /**Sets the changes of the page.*/
+    public void setChanges(List<ChangeDTO> changes) { this.changes = changes; }
+
+    /**Gets the version to pass as "since" for the next page.*/
+    public long getNextVersion() { return nextVersion; }
+
+    /**Sets the version to pass as "since" for the next page.*/
+    public void setNextVersion(long nextVersion) { this.nextVersion = nextVersion; }
+
+    /**Gets whether more committed changes follow this page.*/
+    public boolean isHasMore() { return hasMore; }
+
+    /**Sets whether more committed changes follow this page.*/
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+}
@@ -0,0 +1,73 @@
+package com.example.SunriseSunset.dto;
+
+/**Data Transfer Object for reporting the SQL statements run by one endpoint.*/
+public class EndpointQueryStatsDTO {
+
+    /** The HTTP method and path pattern of the endpoint. */
+    private String endpoint;
+
+    /** The number of requests served. */
+    private long requests;
+
+    /** The number of statements run by all requests. */
+    private long totalQueries;
+
+    /** The average number of statements per request. */
+    private double averageQueries;
+
+    /** The most statements run by one request. */
+    private long maxQueries;
+
+    /** The number of requests at or above the N+1 threshold. */
+    private long suspectedNPlusOne;
+
+    /**Default constructor for EndpointQueryStatsDTO.*/
+    public EndpointQueryStatsDTO() {}
+
+    /**Constructs an EndpointQueryStatsDTO with all fields.*/
+    public EndpointQueryStatsDTO(String endpoint, long requests, long totalQueries, double averageQueries,
+                                 long maxQueries, long suspectedNPlusOne) {
+        this.endpoint = endpoint;
+        this.requests = requests;
+        this.totalQueries = totalQueries;
+        this.averageQueries = averageQueries;
+        this.maxQueries = maxQueries;
+        this.suspectedNPlusOne = suspectedNPlusOne;
+    }
+
+    /**Gets the HTTP method and path pattern of the endpoint.*/
+    public String getEndpoint() { return endpoint; }
+
+    /**Sets the HTTP method and path pattern of the endpoint.*/
+    public void setEndpoint(String endpoint) { this.endpoint = endpoint; }
+
+    /**Gets the number of requests served.*/
+    public long getRequests() { return requests; }
+
+    /**Sets the number of requests served.*/
+    public void setRequests(long requests) { this.requests = requests; }
+
+    /**Gets the number of statements run by all requests.*/
+    public long getTotalQueries() { return totalQueries; }
+
+    /**Sets the number of statements run by all requests.*/
+    public void setTotalQueries(long totalQueries) { this.totalQueries = totalQueries; }
+
+    /**Gets the average number of statements per request.*/
+    public double getAverageQueries() { return averageQueries; }
+
+    /**Sets the average number of statements per request.*/
+    public void setAverageQueries(double averageQueries) { this.averageQueries = averageQueries; }
+
+    /**Gets the most statements run by one request.*/
+    public long getMaxQueries() { return maxQueries; }
+
+    /**Sets the most statements run by one request.*/
+    public void setMaxQueries(long maxQueries) { this.maxQueries = maxQueries; }
+
+    /**Gets the number of requests at or above the N+1 threshold.*/
+    public long getSuspectedNPlusOne() { return suspectedNPlusOne; }
+
+    /**Sets the number of requests at or above the N+1 threshold.*/
+    public void setSuspectedNPlusOne(long suspectedNPlusOne) { this.suspectedNPlusOne = suspectedNPlusOne; }
+}
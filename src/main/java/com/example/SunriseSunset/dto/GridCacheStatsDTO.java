@@ -0,0 +1,136 @@
+package com.example.SunriseSunset.dto;
+
+import java.util.Map;
+
+/**Data Transfer Object for reporting the hit ratio and measured error of the coordinate grid cache.*/
+public class GridCacheStatsDTO {
+
+    /** Whether grid caching is enabled. */
+    private boolean enabled;
+
+    /** The cell size in degrees. */
+    private double stepDegrees;
+
+    /** The largest absolute latitude served from the grid. */
+    private double maxLatitude;
+
+    /** The worst-case snapping error in seconds. */
+    private double errorBoundSeconds;
+
+    /** The number of requests answered from a cached cell. */
+    private long hits;
+
+    /** The number of requests that resolved a cell upstream. */
+    private long misses;
+
+    /** The number of requests outside the latitude limit. */
+    private long bypassed;
+
+    /** The share of grid requests answered from a cached cell. */
+    private double hitRatio;
+
+    /** The number of sampled error measurements. */
+    private long sampledErrors;
+
+    /** The mean sampled error in seconds. */
+    private double meanErrorSeconds;
+
+    /** The largest sampled error in seconds. */
+    private double maxErrorSeconds;
+
+    /** Sampled error counts per bucket. */
+    private Map<String, Long> errorHistogram;
+
+    /**Default constructor for GridCacheStatsDTO.*/
+    public GridCacheStatsDTO() {}
+
+    /**Constructs a GridCacheStatsDTO with all fields.*/
+    public GridCacheStatsDTO(boolean enabled, double stepDegrees, double maxLatitude, double errorBoundSeconds,
+                             long hits, long misses, long bypassed, double hitRatio, long sampledErrors,
+                             double meanErrorSeconds, double maxErrorSeconds, Map<String, Long> errorHistogram) {
+        this.enabled = enabled;
+        this.stepDegrees = stepDegrees;
+        this.maxLatitude = maxLatitude;
+        this.errorBoundSeconds = errorBoundSeconds;
+        this.hits = hits;
+        this.misses = misses;
+        this.bypassed = bypassed;
+        this.hitRatio = hitRatio;
+        this.sampledErrors = sampledErrors;
+        this.meanErrorSeconds = meanErrorSeconds;
+        this.maxErrorSeconds = maxErrorSeconds;
+        this.errorHistogram = errorHistogram;
+    }
+
+    /**Gets whether grid caching is enabled.*/
+    public boolean isEnabled() { return enabled; }
+
+    /**Sets whether grid caching is enabled.*/
+    public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+    /**Gets the cell size in degrees.*/
+    public double getStepDegrees() { return stepDegrees; }
+
+    /**Sets the cell size in degrees.*/
+    public void setStepDegrees(double stepDegrees) { this.stepDegrees = stepDegrees; }
+
+    /**Gets the largest absolute latitude served from the grid.*/
+    public double getMaxLatitude() { return maxLatitude; }
+
+    /**Sets the largest absolute latitude served from the grid.*/
+    public void setMaxLatitude(double maxLatitude) { this.maxLatitude = maxLatitude; }
+
+    /**Gets the worst-case snapping error in seconds.*/
+    public double getErrorBoundSeconds() { return errorBoundSeconds; }
+
+    /**Sets the worst-case snapping error in seconds.*/
+    public void setErrorBoundSeconds(double errorBoundSeconds) { this.errorBoundSeconds = errorBoundSeconds; }
+
+    /**Gets the number of cell hits.*/
+    public long getHits() { return hits; }
+
+    /**Sets the number of cell hits.*/
+    public void setHits(long hits) { this.hits = hits; }
+
+    /**Gets the number of cell misses.*/
+    public long getMisses() { return misses; }
+
+    /**Sets the number of cell misses.*/
+    public void setMisses(long misses) { this.misses = misses; }
+
+    /**Gets the number of requests outside the latitude limit.*/
+    public long getBypassed() { return bypassed; }
+
+    /**Sets the number of requests outside the latitude limit.*/
+    public void setBypassed(long bypassed) { this.bypassed = bypassed; }
+
+    /**Gets the share of grid requests answered from a cached cell.*/
+    public double getHitRatio() { return hitRatio; }
+
+    /**Sets the share of grid requests answered from a cached cell.*/
+    public void setHitRatio(double hitRatio) { this.hitRatio = hitRatio; }
+
+    /**Gets the number of sampled error measurements.*/
+    public long getSampledErrors() { return sampledErrors; }
+
+    /**Sets the number of sampled error measurements.*/
+    public void setSampledErrors(long sampledErrors) { this.sampledErrors = sampledErrors; }
+
+    /**Gets the mean sampled error in seconds.*/
+    public double getMeanErrorSeconds() { return meanErrorSeconds; }
+
+    /**Sets the mean sampled error in seconds.*/
+    public void setMeanErrorSeconds(double meanErrorSeconds) { this.meanErrorSeconds = meanErrorSeconds; }
+
+    /**Gets the largest sampled error in seconds.*/
+    public double getMaxErrorSeconds() { return maxErrorSeconds; }
+
+    /**Sets the largest sampled error in seconds.*/
+    public void setMaxErrorSeconds(double maxErrorSeconds) { this.maxErrorSeconds = maxErrorSeconds; }
+
+    /**Gets the sampled error counts per bucket.*/
+    public Map<String, Long> getErrorHistogram() { return errorHistogram; }
+
+    /**Sets the sampled error counts per bucket.*/
+    public void setErrorHistogram(Map<String, Long> errorHistogram) { this.errorHistogram = errorHistogram; }
+}
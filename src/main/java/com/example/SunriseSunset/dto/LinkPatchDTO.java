@@ -0,0 +1,34 @@
+package com.example.SunriseSunset.dto;
+
+import java.util.List;
+
+/**Data Transfer Object describing links to add to or remove from a many-to-many association.*/
+public class LinkPatchDTO {
+
+    /** IDs of the entities to link. */
+    private List<Integer> add;
+
+    /** IDs of the entities to unlink. */
+    private List<Integer> remove;
+
+    /**Default constructor for LinkPatchDTO.*/
+    public LinkPatchDTO() {}
+
+    /**Constructs a LinkPatchDTO with the specified IDs to add and remove.*/
+    public LinkPatchDTO(List<Integer> add, List<Integer> remove) {
+        this.add = add;
+        this.remove = remove;
+    }
+
+    /**Gets the IDs of the entities to link.*/
+    public List<Integer> getAdd() { return add; }
+
+    /**Sets the IDs of the entities to link.*/
+    public void setAdd(List<Integer> add) { this.add = add; }
+
+    /**Gets the IDs of the entities to unlink.*/
+    public List<Integer> getRemove() { return remove; }
+
+    /**Sets the IDs of the entities to unlink.*/
+    public void setRemove(List<Integer> remove) { this.remove = remove; }
+}
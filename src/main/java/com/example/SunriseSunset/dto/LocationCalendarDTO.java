@@ -0,0 +1,83 @@
+package com.example.SunriseSunset.dto;
+
+/**Data Transfer Object for representing a year of sunrise and sunset times of a location.*/
+public class LocationCalendarDTO {
+
+    /** The ID of the location. */
+    private Integer locationId;
+
+    /** The calendar year. */
+    private Integer year;
+
+    /** The latitude the calendar was computed for. */
+    private Double latitude;
+
+    /** The longitude the calendar was computed for. */
+    private Double longitude;
+
+    /** The offset from UTC in minutes that the minutes-of-day are expressed in. */
+    private Integer utcOffsetMinutes;
+
+    /** Sunrise minutes-of-day indexed by day of year starting at 0, or -1 when the sun does not rise. */
+    private int[] sunriseMinutes;
+
+    /** Sunset minutes-of-day indexed by day of year starting at 0, or -1 when the sun does not set. */
+    private int[] sunsetMinutes;
+
+    /**Default constructor for LocationCalendarDTO.*/
+    public LocationCalendarDTO() {}
+
+    /**Constructs a LocationCalendarDTO with all fields.*/
+    public LocationCalendarDTO(Integer locationId, Integer year, Double latitude, Double longitude,
+                               Integer utcOffsetMinutes, int[] sunriseMinutes, int[] sunsetMinutes) {
+        this.locationId = locationId;
+        this.year = year;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.utcOffsetMinutes = utcOffsetMinutes;
+        this.sunriseMinutes = sunriseMinutes;
+        this.sunsetMinutes = sunsetMinutes;
+    }
+
+    /**Gets the location ID.*/
+    public Integer getLocationId() { return locationId; }
+
+    /**Sets the location ID.*/
+    public void setLocationId(Integer locationId) { this.locationId = locationId; }
+
+    /**Gets the calendar year.*/
+    public Integer getYear() { return year; }
+
+    /**Sets the calendar year.*/
+    public void setYear(Integer year) { this.year = year; }
+
+    /**Gets the latitude the calendar was computed for.*/
+    public Double getLatitude() { return latitude; }
+
+    /**Sets the latitude the calendar was computed for.*/
+    public void setLatitude(Double latitude) { this.latitude = latitude; }
+
+    /**Gets the longitude the calendar was computed for.*/
+    public Double getLongitude() { return longitude; }
+
+    /**Sets the longitude the calendar was computed for.*/
+    public void setLongitude(Double longitude) { this.longitude = longitude; }
+
+    /**Gets the offset from UTC in minutes.*/
+    public Integer getUtcOffsetMinutes() { return utcOffsetMinutes; }
+
+    /**Sets the offset from UTC in minutes.*/
+    public void setUtcOffsetMinutes(Integer utcOffsetMinutes) { this.utcOffsetMinutes = utcOffsetMinutes; }
+
+    /**Gets the sunrise minutes-of-day for every day of the year.*/
+    public int[] getSunriseMinutes() { return sunriseMinutes; }
+
+    /**Sets the sunrise minutes-of-day for every day of the year.*/
+    public void setSunriseMinutes(int[] sunriseMinutes) { this.sunriseMinutes = sunriseMinutes; }
+
+    /**Gets the sunset minutes-of-day for every day of the year.*/
+    public int[] getSunsetMinutes() { return sunsetMinutes; }
+
+    /**Sets the sunset minutes-of-day for every day of the year.*/
+    public void setSunsetMinutes(int[] sunsetMinutes) { this.sunsetMinutes = sunsetMinutes; }
+}
@@ -0,0 +1,76 @@
+package com.example.SunriseSunset.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**Data Transfer Object for a location together with its sunrise and sunset entries in a date range.*/
+public class LocationFullDTO {
+
+    /** The unique identifier of the location. */
+    private Integer id;
+
+    /** The name of the location. */
+    private String name;
+
+    /** The country of the location. */
+    private String country;
+
+    /** The first date of the range, inclusive. */
+    private LocalDate from;
+
+    /** The last date of the range, inclusive. */
+    private LocalDate to;
+
+    /** The sunrise and sunset entries of the location in the range, ordered by date. */
+    private List<SunriseSunsetDTO> sunriseSunsets;
+
+    /**Default constructor for LocationFullDTO.*/
+    public LocationFullDTO() {}
+
+    /**Constructs a LocationFullDTO with all fields.*/
+    public LocationFullDTO(Integer id, String name, String country, LocalDate from, LocalDate to,
+                           List<SunriseSunsetDTO> sunriseSunsets) {
+        this.id = id;
+        this.name = name;
+        this.country = country;
+        this.from = from;
+        this.to = to;
+        this.sunriseSunsets = sunriseSunsets;
+    }
+
+    /**Gets the location ID.*/
+    public Integer getId() { return id; }
+
+    /**Sets the location ID.*/
+    public void setId(Integer id) { this.id = id; }
+
+    /**Gets the location name.*/
+    public String getName() { return name; }
+
+    /**Sets the location name.*/
+    public void setName(String name) { this.name = name; }
+
+    /**Gets the country of the location.*/
+    public String getCountry() { return country; }
+
+    /**Sets the country of the location.*/
+    public void setCountry(String country) { this.country = country; }
+
+    /**Gets the first date of the range.*/
+    public LocalDate getFrom() { return from; }
+
+    /**Sets the first date of the range.*/
+    public void setFrom(LocalDate from) { this.from = from; }
+
+    /**Gets the last date of the range.*/
+    public LocalDate getTo() { return to; }
+
+    /**Sets the last date of the range.*/
+    public void setTo(LocalDate to) { this.to = to; }
+
+    /**Gets the sunrise and sunset entries in the range.*/
+    public List<SunriseSunsetDTO> getSunriseSunsets() { return sunriseSunsets; }
+
+    /**Sets the sunrise and sunset entries in the range.*/
+    public void setSunriseSunsets(List<SunriseSunsetDTO> sunriseSunsets) { this.sunriseSunsets = sunriseSunsets; }
+}
@@ -0,0 +1,76 @@
+package com.example.SunriseSunset.dto;
+
+import com.example.SunriseSunset.model.RequestStatus;
+import java.time.OffsetDateTime;
+
+/**Data Transfer Object for reporting the state of a queued sunrise and sunset creation request.*/
+public class SunriseSunsetTicketDTO {
+
+    /** The ticket ID of the request. */
+    private Long ticketId;
+
+    /** The processing state of the request. */
+    private RequestStatus status;
+
+    /** The ID of the created sunrise and sunset entry once the request is done. */
+    private Integer resultId;
+
+    /** The failure message if the request failed. */
+    private String error;
+
+    /** The time the request was accepted. */
+    private OffsetDateTime createdAt;
+
+    /** The time the request was done or failed. */
+    private OffsetDateTime completedAt;
+
+    /**Default constructor for SunriseSunsetTicketDTO.*/
+    public SunriseSunsetTicketDTO() {}
+
+    /**Constructs a SunriseSunsetTicketDTO with all fields.*/
+    public SunriseSunsetTicketDTO(Long ticketId, RequestStatus status, Integer resultId, String error,
+                                  OffsetDateTime createdAt, OffsetDateTime completedAt) {
+        this.ticketId = ticketId;
+        this.status = status;
+        this.resultId = resultId;
+        this.error = error;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+    }
+
+    /**Gets the ticket ID of the request.*/
+    public Long getTicketId() { return ticketId; }
+
+    /**Sets the ticket ID of the request.*/
+    public void setTicketId(Long ticketId) { this.ticketId = ticketId; }
+
+    /**Gets the processing state of the request.*/
+    public RequestStatus getStatus() { return status; }
+
+    /**Sets the processing state of the request.*/
+    public void setStatus(RequestStatus status) { this.status = status; }
+
+    /**Gets the ID of the created sunrise and sunset entry.*/
+    public Integer getResultId() { return resultId; }
+
+    /**Sets the ID of the created sunrise and sunset entry.*/
+    public void setResultId(Integer resultId) { this.resultId = resultId; }
+
+    /**Gets the failure message.*/
+    public String getError() { return error; }
+
+    /**Sets the failure message.*/
+    public void setError(String error) { this.error = error; }
+
+    /**Gets the time the request was accepted.*/
+    public OffsetDateTime getCreatedAt() { return createdAt; }
+
+    /**Sets the time the request was accepted.*/
+    public void setCreatedAt(OffsetDateTime createdAt) { this.createdAt = createdAt; }
+
+    /**Gets the time the request was done or failed.*/
+    public OffsetDateTime getCompletedAt() { return completedAt; }
+
+    /**Sets the time the request was done or failed.*/
+    public void setCompletedAt(OffsetDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,73 @@
+package com.example.SunriseSunset.dto;
+
+/**Data Transfer Object for reporting the state of the upstream call scheduler for one priority class.*/
+public class UpstreamStatsDTO {
+
+    /** The priority class. */
+    private String priority;
+
+    /** The number of callers currently waiting for a permit. */
+    private int queueDepth;
+
+    /** The number of permits granted. */
+    private long granted;
+
+    /** The number of callers rejected because the queue was full or the wait timed out. */
+    private long rejected;
+
+    /** The average wait for a permit in milliseconds. */
+    private double averageWaitMillis;
+
+    /** The longest wait for a permit in milliseconds. */
+    private double maxWaitMillis;
+
+    /**Default constructor for UpstreamStatsDTO.*/
+    public UpstreamStatsDTO() {}
+
+    /**Constructs an UpstreamStatsDTO with all fields.*/
+    public UpstreamStatsDTO(String priority, int queueDepth, long granted, long rejected,
+                            double averageWaitMillis, double maxWaitMillis) {
+        this.priority = priority;
+        this.queueDepth = queueDepth;
+        this.granted = granted;
+        this.rejected = rejected;
+        this.averageWaitMillis = averageWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    /**Gets the priority class.*/
+    public String getPriority() { return priority; }
+
+    /**Sets the priority class.*/
+    public void setPriority(String priority) { this.priority = priority; }
+
+    /**Gets the number of callers currently waiting.*/
+    public int getQueueDepth() { return queueDepth; }
+
+    /**Sets the number of callers currently waiting.*/
+    public void setQueueDepth(int queueDepth) { this.queueDepth = queueDepth; }
+
+    /**Gets the number of permits granted.*/
+    public long getGranted() { return granted; }
+
+    /**Sets the number of permits granted.*/
+    public void setGranted(long granted) { this.granted = granted; }
+
+    /**Gets the number of rejected callers.*/
+    public long getRejected() { return rejected; }
+
+    /**Sets the number of rejected callers.*/
+    public void setRejected(long rejected) { this.rejected = rejected; }
+
+    /**Gets the average wait in milliseconds.*/
+    public double getAverageWaitMillis() { return averageWaitMillis; }
+
+    /**Sets the average wait in milliseconds.*/
+    public void setAverageWaitMillis(double averageWaitMillis) { this.averageWaitMillis = averageWaitMillis; }
+
+    /**Gets the longest wait in milliseconds.*/
+    public double getMaxWaitMillis() { return maxWaitMillis; }
+
+    /**Sets the longest wait in milliseconds.*/
+    public void setMaxWaitMillis(double maxWaitMillis) { this.maxWaitMillis = maxWaitMillis; }
+}
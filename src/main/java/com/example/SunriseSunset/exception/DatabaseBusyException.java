@@ -0,0 +1,10 @@
+package com.example.SunriseSunset.exception;
+
+/**Thrown when a database call waited too long for a slot in the database bulkhead.*/
+public class DatabaseBusyException extends RuntimeException {
+
+    /**Constructs a DatabaseBusyException with the specified message.*/
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
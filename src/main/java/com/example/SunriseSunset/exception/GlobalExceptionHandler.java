@@ -1,7 +1,9 @@
 package com.example.SunriseSunset.exception;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -63,6 +65,51 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
     }
 
+    /**Handles calls rejected by the client-side rate limiter for the external API.*/
+    @ExceptionHandler(UpstreamThrottledException.class)
+    public ResponseEntity<Object> handleUpstreamThrottled(
+            UpstreamThrottledException ex, WebRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        String path = request.getDescription(false).replace("uri=", "");
+        response.put("error", String.format("A too many requests error (status %d) occurred at %s while accessing %s: External API call budget exhausted.",
+                HttpStatus.TOO_MANY_REQUESTS.value(), LocalDateTime.now(), path));
+        response.put("cause", "The call to the external API was not attempted: " + ex.getMessage());
+        response.put("solution", String.format("Retry after %d seconds or submit the request through /sun/times/requests.",
+                ex.getRetryAfterSeconds()));
+        response.put("invalidExample", "Invalid: Sending many sunrise/sunset requests in a tight loop");
+        response.put("correctExample", "Correct: Honour the Retry-After header before retrying");
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /**Handles database calls rejected by the database bulkhead.*/
+    @ExceptionHandler(DatabaseBusyException.class)
+    public ResponseEntity<Object> handleDatabaseBusy(
+            DatabaseBusyException ex, WebRequest request) {
+        Map<String, Object> response = new HashMap<>();
+        String path = request.getDescription(false).replace("uri=", "");
+        response.put("error", String.format("A service unavailable error (status %d) occurred at %s while accessing %s: Database is busy.",
+                HttpStatus.SERVICE_UNAVAILABLE.value(), LocalDateTime.now(), path));
+        response.put("cause", "No database slot became free in time: " + ex.getMessage());
+        response.put("solution", "Retry after 1 second.");
+        response.put("invalidExample", "Invalid: Retrying immediately in a tight loop");
+        response.put("correctExample", "Correct: Honour the Retry-After header before retrying");
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**Handles transactions that could not start, mapping those rejected by the database bulkhead like the rejection itself.*/
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Object> handleCannotCreateTransaction(
+            CannotCreateTransactionException ex, WebRequest request) {
+        if (ex.getCause() instanceof DatabaseBusyException databaseBusy) {
+            return handleDatabaseBusy(databaseBusy, request);
+        }
+        return handleAllExceptions(ex, request);
+    }
+
     /**Handles illegal argument or state exceptions.*/
     @ExceptionHandler({IllegalArgumentException.class, IllegalStateException.class})
     public ResponseEntity<Object> handleBadRequest(
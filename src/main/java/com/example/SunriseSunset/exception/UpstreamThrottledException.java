@@ -0,0 +1,19 @@
+package com.example.SunriseSunset.exception;
+
+/**Thrown when a call to the external API is rejected by the client-side rate limiter.*/
+public class UpstreamThrottledException extends RuntimeException {
+
+    /** Seconds after which the caller may retry. */
+    private final long retryAfterSeconds;
+
+    /**Constructs an UpstreamThrottledException with the specified message and retry delay.*/
+    public UpstreamThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    /**Gets the seconds after which the caller may retry.*/
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
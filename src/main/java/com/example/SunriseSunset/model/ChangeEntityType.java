@@ -0,0 +1,11 @@
+package com.example.SunriseSunset.model;
+
+/**Kinds of entities tracked by the change log.*/
+public enum ChangeEntityType {
+
+    /** A sunrise and sunset entry. */
+    SUNRISE_SUNSET,
+
+    /** A location. */
+    LOCATION
+}
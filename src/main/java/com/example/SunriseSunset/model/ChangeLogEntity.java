@@ -0,0 +1,35 @@
+package com.example.SunriseSunset.model;
+
+import jakarta.persistence.*;
+import java.time.OffsetDateTime;
+
+/**Entity representing one versioned change of a location or sunrise and sunset entry.*/
+@Entity
+@Table(name = "change_log",
+        indexes = @Index(name = "idx_change_log_entity", columnList = "entity_type, entity_id"))
+public class ChangeLogEntity {
+
+    /** The monotonically increasing version of the change. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "version", nullable = false)
+    public Long version;
+
+    /** The kind of the changed entity. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    public ChangeEntityType entityType;
+
+    /** The ID of the changed entity. */
+    @Column(name = "entity_id", nullable = false)
+    public Integer entityId;
+
+    /** Whether the entity was upserted or deleted. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "operation", nullable = false, length = 8)
+    public ChangeOperation operation;
+
+    /** The time the change was recorded. */
+    @Column(name = "changed_at", nullable = false)
+    public OffsetDateTime changedAt;
+}
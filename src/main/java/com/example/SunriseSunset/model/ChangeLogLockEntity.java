@@ -0,0 +1,17 @@
+package com.example.SunriseSunset.model;
+
+import jakarta.persistence.*;
+
+/**Entity for the single row locked by every change log write so that versions become visible in commit order.*/
+@Entity
+@Table(name = "change_log_lock")
+public class ChangeLogLockEntity {
+
+    /** The ID of the only row. */
+    public static final Integer ID = 1;
+
+    /** The unique identifier of the row. */
+    @Id
+    @Column(name = "id", nullable = false)
+    public Integer id;
+}
@@ -0,0 +1,11 @@
+package com.example.SunriseSunset.model;
+
+/**Kinds of changes recorded in the change log.*/
+public enum ChangeOperation {
+
+    /** The entity was created or changed, including its links. */
+    UPSERT,
+
+    /** The entity was deleted; the change is a tombstone. */
+    DELETE
+}
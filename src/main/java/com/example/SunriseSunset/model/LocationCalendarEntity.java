@@ -0,0 +1,44 @@
+package com.example.SunriseSunset.model;
+
+import jakarta.persistence.*;
+
+/**Entity storing a precomputed year of sunrise and sunset times for a location in columnar form.*/
+@Entity
+@Table(name = "location_calendars",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"location_id", "year"}))
+public class LocationCalendarEntity {
+
+    /** The unique identifier of the calendar block. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    public Integer id;
+
+    /** The ID of the location the calendar belongs to. */
+    @Column(name = "location_id", nullable = false)
+    public Integer locationId;
+
+    /** The calendar year. */
+    @Column(name = "year", nullable = false)
+    public Integer year;
+
+    /** The latitude the calendar was computed for. */
+    @Column(name = "latitude", nullable = false)
+    public Double latitude;
+
+    /** The longitude the calendar was computed for. */
+    @Column(name = "longitude", nullable = false)
+    public Double longitude;
+
+    /** The offset from UTC in minutes that the minutes-of-day are expressed in. */
+    @Column(name = "utc_offset_minutes", nullable = false)
+    public Integer utcOffsetMinutes;
+
+    /** Sunrise minutes-of-day for every day of the year, or -1 when the sun does not rise. */
+    @Column(name = "sunrise_minutes", nullable = false)
+    public int[] sunriseMinutes;
+
+    /** Sunset minutes-of-day for every day of the year, or -1 when the sun does not set. */
+    @Column(name = "sunset_minutes", nullable = false)
+    public int[] sunsetMinutes;
+}
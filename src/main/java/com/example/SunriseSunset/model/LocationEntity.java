@@ -1,8 +1,8 @@
 package com.example.SunriseSunset.model;
 
 import jakarta.persistence.*;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**Entity representing a location in the database.*/
 @Entity
@@ -23,12 +23,12 @@ public class LocationEntity {
     @Column(name = "country")
     public String country;
 
-    /** List of sunrise and sunset entities associated with this location. */
+    /** Set of sunrise and sunset entities associated with this location, updated row by row on change. */
     @ManyToMany
     @JoinTable(
             name = "sunrise_sunset_locations",
             joinColumns = @JoinColumn(name = "location_id"),
             inverseJoinColumns = @JoinColumn(name = "sunrise_sunset_id")
     )
-    public List<SunriseSunsetEntity> sunriseSunsets = new ArrayList<>();
+    public Set<SunriseSunsetEntity> sunriseSunsets = new LinkedHashSet<>();
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.SunriseSunset.model;
+
+/**Processing states of a queued sunrise and sunset creation request.*/
+public enum RequestStatus {
+
+    /** Accepted and waiting for a worker. */
+    PENDING,
+
+    /** Claimed by a worker and being resolved. */
+    PROCESSING,
+
+    /** Resolved and stored as a sunrise and sunset entry. */
+    DONE,
+
+    /** Could not be resolved; see the error message. */
+    FAILED
+}
@@ -0,0 +1,64 @@
+package com.example.SunriseSunset.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import org.springframework.data.domain.Persistable;
+
+/**Entity representing a retired sunrise and sunset entry in compact form, with its location links folded in.*/
+@Entity
+@Table(name = "sunrise_and_sunset_archive",
+        indexes = @Index(name = "idx_sunrise_and_sunset_archive_date", columnList = "date"))
+public class SunriseSunsetArchiveEntity implements Persistable<Integer> {
+
+    /** The ID the entry had in the hot table. */
+    @Id
+    @Column(name = "id", nullable = false)
+    public Integer id;
+
+    /** The date of the sunrise and sunset. */
+    @Column(name = "date", nullable = false)
+    public LocalDate date;
+
+    /** The latitude of the location in single precision. */
+    @Column(name = "latitude", nullable = false)
+    public Float latitude;
+
+    /** The longitude of the location in single precision. */
+    @Column(name = "longitude", nullable = false)
+    public Float longitude;
+
+    /** The sunrise as seconds from midnight UTC of the date. */
+    @Column(name = "sunrise_offset_s")
+    public Integer sunriseOffsetSeconds;
+
+    /** The sunset as seconds from midnight UTC of the date. */
+    @Column(name = "sunset_offset_s")
+    public Integer sunsetOffsetSeconds;
+
+    /** IDs of the locations the entry was linked to. */
+    @Column(name = "location_ids")
+    public int[] locationIds;
+
+    /** Archive rows are only ever inserted, so saving never needs to look the ID up first. */
+    @Transient
+    private boolean isNew = true;
+
+    /**Gets the ID the entry had in the hot table.*/
+    @Override
+    public Integer getId() {
+        return id;
+    }
+
+    /**Tells whether the row has not been stored yet.*/
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    /**Marks the row as stored once it was persisted or loaded.*/
+    @PostPersist
+    @PostLoad
+    void markStored() {
+        isNew = false;
+    }
+}
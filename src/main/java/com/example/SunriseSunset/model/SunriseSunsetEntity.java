@@ -3,17 +3,19 @@ package com.example.SunriseSunset.model;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 /**Entity representing sunrise and sunset data in the database.*/
 @Entity
-@Table(name = "sunrise_and_sunset")
+@Table(name = "sunrise_and_sunset",
+        indexes = @Index(name = "idx_sunrise_and_sunset_date", columnList = "date, id"))
 public class SunriseSunsetEntity {
 
-    /** The unique identifier of the sunrise and sunset entry. */
+    /** The unique identifier of the sunrise and sunset entry, allocated in blocks so that inserts can be batched. */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sunrise_and_sunset_seq")
+    @SequenceGenerator(name = "sunrise_and_sunset_seq", sequenceName = "sunrise_and_sunset_seq", allocationSize = 50)
     @Column(name = "id", nullable = false)
     public Integer id;
 
@@ -37,12 +39,14 @@ public class SunriseSunsetEntity {
     @Column(name = "sunset")
     public OffsetDateTime sunset;
 
-    /** List of locations associated with this sunrise and sunset entry. */
+    /** Set of locations associated with this sunrise and sunset entry, updated row by row on change. */
     @ManyToMany
     @JoinTable(
             name = "sunrise_sunset_locations",
             joinColumns = @JoinColumn(name = "sunrise_sunset_id"),
-            inverseJoinColumns = @JoinColumn(name = "location_id")
+            inverseJoinColumns = @JoinColumn(name = "location_id"),
+            indexes = @Index(name = "idx_sunrise_sunset_locations_location",
+                    columnList = "location_id, sunrise_sunset_id")
     )
-    public List<LocationEntity> locations = new ArrayList<>();
+    public Set<LocationEntity> locations = new LinkedHashSet<>();
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.example.SunriseSunset.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+
+/**Entity representing a queued sunrise and sunset creation request in the outbox table.*/
+@Entity
+@Table(name = "sunrise_sunset_requests",
+        indexes = @Index(name = "idx_sunrise_sunset_requests_status", columnList = "status, id"))
+public class SunriseSunsetRequestEntity {
+
+    /** The unique identifier of the request, used as the ticket ID. */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", nullable = false)
+    public Long id;
+
+    /** The requested date. */
+    @Column(name = "date", nullable = false)
+    public LocalDate date;
+
+    /** The requested latitude. */
+    @Column(name = "latitude", nullable = false)
+    public Double latitude;
+
+    /** The requested longitude. */
+    @Column(name = "longitude", nullable = false)
+    public Double longitude;
+
+    /** IDs of the locations to link the created entry to. */
+    @Column(name = "location_ids")
+    public int[] locationIds;
+
+    /** The processing state of the request. */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 16)
+    public RequestStatus status;
+
+    /** The ID of the created sunrise and sunset entry once the request is done. */
+    @Column(name = "result_id")
+    public Integer resultId;
+
+    /** The failure message if the request failed. */
+    @Column(name = "error", length = 1024)
+    public String error;
+
+    /** The time the request was accepted. */
+    @Column(name = "created_at", nullable = false)
+    public OffsetDateTime createdAt;
+
+    /** The time a worker claimed the request. */
+    @Column(name = "claimed_at")
+    public OffsetDateTime claimedAt;
+
+    /** The time the request was done or failed. */
+    @Column(name = "completed_at")
+    public OffsetDateTime completedAt;
+}
@@ -0,0 +1,18 @@
+package com.example.SunriseSunset.repository;
+
+import com.example.SunriseSunset.model.ChangeLogLockEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.Optional;
+
+/**Repository interface for the lock row serializing change log writes.*/
+public interface ChangeLogLockRepository extends JpaRepository<ChangeLogLockEntity, Integer> {
+
+    /**Locks the row until the current transaction ends, waiting for the writer holding it.*/
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT l FROM ChangeLogLockEntity l WHERE l.id = :id")
+    Optional<ChangeLogLockEntity> lockById(@Param("id") Integer id);
+}
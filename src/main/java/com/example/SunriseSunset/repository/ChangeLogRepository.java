@@ -0,0 +1,16 @@
+package com.example.SunriseSunset.repository;
+
+import com.example.SunriseSunset.model.ChangeLogEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.util.List;
+
+/**Repository interface for managing the change log.*/
+public interface ChangeLogRepository extends JpaRepository<ChangeLogEntity, Long> {
+
+    /**Finds changes after a version in version order.*/
+    @Query("SELECT c FROM ChangeLogEntity c WHERE c.version > :since ORDER BY c.version")
+    List<ChangeLogEntity> findSince(@Param("since") long since, Pageable pageable);
+}
@@ -0,0 +1,29 @@
+package com.example.SunriseSunset.repository;
+
+import com.example.SunriseSunset.model.LocationCalendarEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+import java.util.Optional;
+
+/**Repository interface for managing LocationCalendarEntity operations.*/
+public interface LocationCalendarRepository extends JpaRepository<LocationCalendarEntity, Integer> {
+
+    /**Finds the calendar block of a location for the given year.*/
+    Optional<LocationCalendarEntity> findByLocationIdAndYear(Integer locationId, Integer year);
+
+    /**Deletes all calendar blocks of a location.*/
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LocationCalendarEntity c WHERE c.locationId = :locationId")
+    void deleteByLocationId(@Param("locationId") Integer locationId);
+
+    /**Deletes all calendar blocks of several locations in one statement.*/
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM LocationCalendarEntity c WHERE c.locationId IN :locationIds")
+    void deleteByLocationIdIn(@Param("locationIds") Collection<Integer> locationIds);
+}
@@ -2,7 +2,32 @@ package com.example.SunriseSunset.repository;
 
 import com.example.SunriseSunset.model.LocationEntity;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 
 /**Repository interface for managing LocationEntity operations.*/
 public interface LocationRepository extends JpaRepository<LocationEntity, Integer> {
-}
\ No newline at end of file
+
+    /**Finds all location entities together with their sunrise and sunset entries in one query.*/
+    @Query("SELECT DISTINCT l FROM LocationEntity l LEFT JOIN FETCH l.sunriseSunsets")
+    List<LocationEntity> findAllWithSunriseSunsets();
+
+    /**Finds location entities by IDs together with their sunrise and sunset entries in one query.*/
+    @Query("SELECT DISTINCT l FROM LocationEntity l LEFT JOIN FETCH l.sunriseSunsets WHERE l.id IN :ids")
+    List<LocationEntity> findAllWithSunriseSunsetsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**Finds the IDs of all locations in ID order.*/
+    @Query("SELECT l.id FROM LocationEntity l ORDER BY l.id")
+    List<Integer> findAllIds();
+
+    /**Finds a location with its entries in a date range and their linked location IDs as flat rows in one query.*/
+    @Query("SELECT l.id, l.name, l.country, s.id, s.date, s.latitude, s.longitude, s.sunrise, s.sunset, other.id"
+            + " FROM LocationEntity l"
+            + " LEFT JOIN l.sunriseSunsets s ON s.date BETWEEN :from AND :to"
+            + " LEFT JOIN s.locations other"
+            + " WHERE l.id = :id ORDER BY s.date, s.id, other.id")
+    List<Object[]> findFullRows(@Param("id") Integer id, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,8 @@
+package com.example.SunriseSunset.repository;
+
+import com.example.SunriseSunset.model.SunriseSunsetArchiveEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**Repository interface for managing archived sunrise and sunset entries.*/
+public interface SunriseSunsetArchiveRepository extends JpaRepository<SunriseSunsetArchiveEntity, Integer> {
+}
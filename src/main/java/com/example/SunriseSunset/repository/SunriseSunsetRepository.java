@@ -1,20 +1,66 @@
 package com.example.SunriseSunset.repository;
 
 import com.example.SunriseSunset.model.SunriseSunsetEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**Repository interface for managing SunriseSunsetEntity operations.*/
 public interface SunriseSunsetRepository extends JpaRepository<SunriseSunsetEntity, Integer> {
 
-    /**Finds sunrise and sunset entities by location ID.*/
-    @Query("SELECT s FROM SunriseSunsetEntity s JOIN s.locations l WHERE l.id = :locationId")
+    /**Finds sunrise and sunset entities by location ID together with all their locations.*/
+    @Query("SELECT DISTINCT s FROM SunriseSunsetEntity s LEFT JOIN FETCH s.locations WHERE s.id IN "
+            + "(SELECT s2.id FROM SunriseSunsetEntity s2 JOIN s2.locations l WHERE l.id = :locationId)")
     List<SunriseSunsetEntity> findByLocationId(@Param("locationId") Integer locationId);
 
-    /**Finds sunrise and sunset entities by date and location name.*/
-    @Query("SELECT s FROM SunriseSunsetEntity s JOIN s.locations l WHERE s.date = :date AND l.name = :locationName")
+    /**Finds sunrise and sunset entities by date and location name together with all their locations.*/
+    @Query("SELECT DISTINCT s FROM SunriseSunsetEntity s LEFT JOIN FETCH s.locations WHERE s.id IN "
+            + "(SELECT s2.id FROM SunriseSunsetEntity s2 JOIN s2.locations l "
+            + "WHERE s2.date = :date AND l.name = :locationName)")
     List<SunriseSunsetEntity> findByDateAndLocationName(@Param("date") LocalDate date, @Param("locationName") String locationName);
-}
\ No newline at end of file
+
+    /**Finds all sunrise and sunset entities together with their locations in one query.*/
+    @Query("SELECT DISTINCT s FROM SunriseSunsetEntity s LEFT JOIN FETCH s.locations")
+    List<SunriseSunsetEntity> findAllWithLocations();
+
+    /**Finds sunrise and sunset entities by IDs together with their locations in one query.*/
+    @Query("SELECT DISTINCT s FROM SunriseSunsetEntity s LEFT JOIN FETCH s.locations WHERE s.id IN :ids")
+    List<SunriseSunsetEntity> findAllWithLocationsByIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**Finds the average coordinates of the sunrise and sunset entities linked to a location.*/
+    @Query("SELECT AVG(s.latitude), AVG(s.longitude) FROM SunriseSunsetEntity s JOIN s.locations l WHERE l.id = :locationId")
+    List<Object[]> findAverageCoordinatesByLocationId(@Param("locationId") Integer locationId);
+
+    /**Finds the entry and location ID pairs of the location links of entries.*/
+    @Query("SELECT s.id, l.id FROM SunriseSunsetEntity s JOIN s.locations l WHERE s.id IN :ids")
+    List<Object[]> findLocationLinksBySunriseSunsetIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**Finds the IDs of all sunrise and sunset entries in ID order.*/
+    @Query("SELECT s.id FROM SunriseSunsetEntity s ORDER BY s.id")
+    List<Integer> findAllIds();
+
+    /**Locks the oldest entries dated before a cutoff, skipping rows locked by concurrent writers.*/
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT s FROM SunriseSunsetEntity s WHERE s.date < :cutoff ORDER BY s.date, s.id")
+    List<SunriseSunsetEntity> findRetirable(@Param("cutoff") LocalDate cutoff, Pageable pageable);
+
+    /**Deletes the location links of entries in one statement.*/
+    @Modifying
+    @Query(value = "DELETE FROM sunrise_sunset_locations WHERE sunrise_sunset_id IN (:ids)", nativeQuery = true)
+    int deleteLocationLinksBySunriseSunsetIdIn(@Param("ids") Collection<Integer> ids);
+
+    /**Deletes retired entries by IDs in one statement; the date bound lets a partitioned table prune partitions.*/
+    @Modifying
+    @Query("DELETE FROM SunriseSunsetEntity s WHERE s.id IN :ids AND s.date < :cutoff")
+    int deleteRetiredByIdIn(@Param("ids") Collection<Integer> ids, @Param("cutoff") LocalDate cutoff);
+}
@@ -0,0 +1,28 @@
+package com.example.SunriseSunset.repository;
+
+import com.example.SunriseSunset.model.RequestStatus;
+import com.example.SunriseSunset.model.SunriseSunsetRequestEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**Repository interface for managing queued sunrise and sunset creation requests.*/
+public interface SunriseSunsetRequestRepository extends JpaRepository<SunriseSunsetRequestEntity, Long> {
+
+    /**Locks the oldest claimable requests, skipping rows already locked by other workers.*/
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT r FROM SunriseSunsetRequestEntity r WHERE r.status = :pending"
+            + " OR (r.status = :processing AND r.claimedAt < :staleBefore) ORDER BY r.id")
+    List<SunriseSunsetRequestEntity> findClaimable(@Param("pending") RequestStatus pending,
+                                                   @Param("processing") RequestStatus processing,
+                                                   @Param("staleBefore") OffsetDateTime staleBefore,
+                                                   Pageable pageable);
+}
@@ -0,0 +1,96 @@
+package com.example.SunriseSunset.service;
+
+import com.example.SunriseSunset.dto.ChangeDTO;
+import com.example.SunriseSunset.dto.ChangeFeedDTO;
+import com.example.SunriseSunset.dto.LocationDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.model.ChangeEntityType;
+import com.example.SunriseSunset.model.ChangeLogEntity;
+import com.example.SunriseSunset.model.ChangeOperation;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**Service class assembling pages of the change feed for incremental client sync.*/
+@Service
+public class ChangeFeedService {
+
+    /** The largest page size, bounded by the multi-get limit of the entity services. */
+    static final int MAX_LIMIT = 500;
+
+    /** Log of versioned changes. */
+    private final ChangeLogService changeLogService;
+
+    /** Source of the current state of sunrise and sunset entries. */
+    private final SunriseSunsetService sunriseSunsetService;
+
+    /** Source of the current state of locations. */
+    private final LocationService locationService;
+
+    /**Constructs a ChangeFeedService with the specified dependencies.*/
+    public ChangeFeedService(ChangeLogService changeLogService,
+                             SunriseSunsetService sunriseSunsetService,
+                             LocationService locationService) {
+        this.changeLogService = changeLogService;
+        this.sunriseSunsetService = sunriseSunsetService;
+        this.locationService = locationService;
+    }
+
+    /**Retrieves the changes after a version, one per entity with its current state, and the version to continue from.*/
+    public ChangeFeedDTO getChanges(long since, int limit) {
+        if (since < 0) {
+            throw new IllegalArgumentException("Version must not be negative: " + since);
+        }
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ", was " + limit);
+        }
+        List<ChangeLogEntity> rows = changeLogService.findSince(since, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        if (rows.isEmpty()) {
+            return new ChangeFeedDTO(List.of(), since, false);
+        }
+
+        Map<String, ChangeLogEntity> latest = new LinkedHashMap<>();
+        for (ChangeLogEntity row : rows) {
+            String key = row.entityType + "_" + row.entityId;
+            latest.remove(key);
+            latest.put(key, row);
+        }
+        Map<Integer, SunriseSunsetDTO> sunriseSunsets = sunriseSunsetService.getSunriseSunsetsByIds(
+                        upsertedIds(latest.values(), ChangeEntityType.SUNRISE_SUNSET)).stream()
+                .collect(Collectors.toMap(SunriseSunsetDTO::getId, Function.identity()));
+        Map<Integer, LocationDTO> locations = locationService.getLocationsByIds(
+                        upsertedIds(latest.values(), ChangeEntityType.LOCATION)).stream()
+                .collect(Collectors.toMap(LocationDTO::getId, Function.identity()));
+
+        List<ChangeDTO> changes = new ArrayList<>(latest.size());
+        for (ChangeLogEntity row : latest.values()) {
+            SunriseSunsetDTO sunriseSunset = row.entityType == ChangeEntityType.SUNRISE_SUNSET
+                    ? sunriseSunsets.get(row.entityId) : null;
+            LocationDTO location = row.entityType == ChangeEntityType.LOCATION
+                    ? locations.get(row.entityId) : null;
+            boolean gone = sunriseSunset == null && location == null;
+            changes.add(new ChangeDTO(row.version, row.entityType, row.entityId,
+                    gone ? ChangeOperation.DELETE : ChangeOperation.UPSERT, sunriseSunset, location));
+        }
+        return new ChangeFeedDTO(changes, rows.get(rows.size() - 1).version, hasMore);
+    }
+
+    /**Collects the IDs of upserted entities of one kind.*/
+    private static List<Integer> upsertedIds(Iterable<ChangeLogEntity> rows, ChangeEntityType entityType) {
+        List<Integer> ids = new ArrayList<>();
+        for (ChangeLogEntity row : rows) {
+            if (row.entityType == entityType && row.operation == ChangeOperation.UPSERT) {
+                ids.add(row.entityId);
+            }
+        }
+        return ids;
+    }
+}
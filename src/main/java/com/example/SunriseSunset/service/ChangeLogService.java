@@ -0,0 +1,122 @@
+package com.example.SunriseSunset.service;
+
+import com.example.SunriseSunset.model.ChangeEntityType;
+import com.example.SunriseSunset.model.ChangeLogEntity;
+import com.example.SunriseSunset.model.ChangeLogLockEntity;
+import com.example.SunriseSunset.model.ChangeOperation;
+import com.example.SunriseSunset.repository.ChangeLogLockRepository;
+import com.example.SunriseSunset.repository.ChangeLogRepository;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**Service class recording versioned changes and tombstones for the change feed.*/
+@Service
+public class ChangeLogService {
+
+    /** Logger instance for logging recorded changes. */
+    private static final Logger logger = LoggerFactory.getLogger(ChangeLogService.class);
+
+    /** Repository for change log database operations. */
+    private final ChangeLogRepository changeLogRepository;
+
+    /** Repository for the row serializing change log writes. */
+    private final ChangeLogLockRepository changeLogLockRepository;
+
+    /** Repository for location-related database operations. */
+    private final LocationRepository locationRepository;
+
+    /** Repository for sunrise and sunset-related database operations. */
+    private final SunriseSunsetRepository sunriseSunsetRepository;
+
+    /**Constructs a ChangeLogService with the specified repositories.*/
+    public ChangeLogService(ChangeLogRepository changeLogRepository,
+                            ChangeLogLockRepository changeLogLockRepository,
+                            LocationRepository locationRepository,
+                            SunriseSunsetRepository sunriseSunsetRepository) {
+        this.changeLogRepository = changeLogRepository;
+        this.changeLogLockRepository = changeLogLockRepository;
+        this.locationRepository = locationRepository;
+        this.sunriseSunsetRepository = sunriseSunsetRepository;
+    }
+
+    /**Seeds the lock row and an empty change log with an upsert per existing entity so that a sync from version 0 sees every row.*/
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfill() {
+        if (!changeLogLockRepository.existsById(ChangeLogLockEntity.ID)) {
+            ChangeLogLockEntity lock = new ChangeLogLockEntity();
+            lock.id = ChangeLogLockEntity.ID;
+            changeLogLockRepository.saveAndFlush(lock);
+        }
+        if (changeLogRepository.count() > 0) {
+            return;
+        }
+        List<Integer> locationIds = locationRepository.findAllIds();
+        List<Integer> sunriseSunsetIds = sunriseSunsetRepository.findAllIds();
+        recordUpserts(ChangeEntityType.LOCATION, locationIds);
+        recordUpserts(ChangeEntityType.SUNRISE_SUNSET, sunriseSunsetIds);
+        logger.info("Backfilled change log with {} Locations and {} SunriseSunsets",
+                locationIds.size(), sunriseSunsetIds.size());
+    }
+
+    /**Records that entities were created or changed; callers run this in the transaction of the entity write.*/
+    public void recordUpserts(ChangeEntityType entityType, Collection<Integer> entityIds) {
+        record(entityType, ChangeOperation.UPSERT, entityIds);
+    }
+
+    /**Records a tombstone for a deleted entity.*/
+    public void recordDelete(ChangeEntityType entityType, Integer entityId) {
+        recordDeletes(entityType, List.of(entityId));
+    }
+
+    /**Records tombstones for deleted entities.*/
+    public void recordDeletes(ChangeEntityType entityType, Collection<Integer> entityIds) {
+        record(entityType, ChangeOperation.DELETE, entityIds);
+    }
+
+    /**Finds up to limit committed changes after a version.*/
+    public List<ChangeLogEntity> findSince(long since, int limit) {
+        return changeLogRepository.findSince(since, PageRequest.ofSize(limit));
+    }
+
+    /**Stores one change row per distinct entity ID; identity versions keep these inserts row by row.*/
+    private void record(ChangeEntityType entityType, ChangeOperation operation, Collection<Integer> entityIds) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        lockUntilCommit();
+        OffsetDateTime now = OffsetDateTime.now();
+        Set<Integer> distinctIds = new LinkedHashSet<>(entityIds);
+        List<ChangeLogEntity> changes = new ArrayList<>(distinctIds.size());
+        for (Integer entityId : distinctIds) {
+            ChangeLogEntity change = new ChangeLogEntity();
+            change.entityType = entityType;
+            change.entityId = entityId;
+            change.operation = operation;
+            change.changedAt = now;
+            changes.add(change);
+        }
+        changeLogRepository.saveAll(changes);
+        logger.debug("Recorded {} of {} {} IDs {}", operation, distinctIds.size(), entityType, distinctIds);
+    }
+
+    /**Holds the lock row until the write commits, so no version is taken while a lower one is still uncommitted.*/
+    private void lockUntilCommit() {
+        if (changeLogLockRepository.lockById(ChangeLogLockEntity.ID).isEmpty()) {
+            throw new IllegalStateException("Missing change_log_lock row; run db/create_change_log.sql");
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.SunriseSunset.service;
+
+import com.example.SunriseSunset.dto.GridCacheStatsDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * Opt-in cache that snaps coordinates to a grid and reuses the times resolved for the cell centre.
+ *
+ * <p>Sunrise and sunset move by exactly 240 s per degree of longitude, so snapping to the nearest
+ * centre of a {@code step}-degree cell adds at most {@code 120 * step} seconds from longitude. The
+ * latitude term depends on latitude and season and is estimated at startup with the local NOAA
+ * model over {@code |latitude| <= max-latitude}; coordinates beyond that bypass the grid. With the
+ * default 0.05 degree step and 60 degree limit the combined bound is well under 30 s.
+ *
+ * <p>Resolved cells live in their own bounded cache rather than the shared entity cache: they expire
+ * after {@code ttl-ms} and the least recently used cell is dropped beyond {@code max-cells}.
+ */
+@Component
+public class GridSunTimesCache {
+
+    /** Logger instance for logging grid cache operations. */
+    private static final Logger logger = LoggerFactory.getLogger(GridSunTimesCache.class);
+
+    /** Seconds of event time per degree of longitude. */
+    private static final double SECONDS_PER_LONGITUDE_DEGREE = 240;
+
+    /** Upper bucket limits of the sampled error histogram in seconds. */
+    private static final int[] ERROR_BUCKETS_SECONDS = {5, 10, 15, 30, 60};
+
+    /** Resolved cell centres in access order, guarded by this. */
+    private final LinkedHashMap<String, Cell> cells = new LinkedHashMap<>(16, 0.75f, true);
+
+    /** The maximum number of cached cells. */
+    private final int maxCells;
+
+    /** Lifetime of a cached cell in milliseconds. */
+    private final long ttlMillis;
+
+    /** Local solar model used for the error bound and the sampled error measurement. */
+    private final SolarCalculator solarCalculator;
+
+    /** Whether coordinates are snapped at all. */
+    private final boolean enabled;
+
+    /** Cell size in degrees. */
+    private final double stepDegrees;
+
+    /** The largest absolute latitude served from the grid. */
+    private final double maxLatitude;
+
+    /** Fraction of grid-served requests compared against the exact local model. */
+    private final double errorSampleRate;
+
+    /** Worst-case error of snapping to a cell centre in seconds. */
+    private final double errorBoundSeconds;
+
+    /** Requests answered from a cached cell. */
+    private final LongAdder hits = new LongAdder();
+
+    /** Requests that resolved a cell upstream. */
+    private final LongAdder misses = new LongAdder();
+
+    /** Requests outside the latitude limit that were resolved exactly. */
+    private final LongAdder bypassed = new LongAdder();
+
+    /** Number of sampled error measurements. */
+    private final LongAdder sampledErrors = new LongAdder();
+
+    /** Sum of sampled errors in milliseconds. */
+    private final LongAdder totalErrorMillis = new LongAdder();
+
+    /** Largest sampled error in milliseconds. */
+    private final AtomicLong maxErrorMillis = new AtomicLong();
+
+    /** Sampled error counts per histogram bucket, the last bucket being open-ended. */
+    private final AtomicLongArray errorHistogram = new AtomicLongArray(ERROR_BUCKETS_SECONDS.length + 1);
+
+    /**Constructs a GridSunTimesCache from the application properties.*/
+    @Autowired
+    public GridSunTimesCache(SolarCalculator solarCalculator,
+                             @Value("${sun.grid.enabled:false}") boolean enabled,
+                             @Value("${sun.grid.step-degrees:0.05}") double stepDegrees,
+                             @Value("${sun.grid.max-latitude:60}") double maxLatitude,
+                             @Value("${sun.grid.max-error-seconds:30}") double maxErrorSeconds,
+                             @Value("${sun.grid.error-sample-rate:0.01}") double errorSampleRate,
+                             @Value("${sun.grid.max-cells:100000}") int maxCells,
+                             @Value("${sun.grid.ttl-ms:86400000}") long ttlMillis) {
+        if (stepDegrees <= 0) {
+            throw new IllegalArgumentException("sun.grid.step-degrees must be positive");
+        }
+        if (maxCells <= 0) {
+            throw new IllegalArgumentException("sun.grid.max-cells must be positive");
+        }
+        this.maxCells = maxCells;
+        this.ttlMillis = ttlMillis;
+        this.solarCalculator = solarCalculator;
+        this.enabled = enabled;
+        this.stepDegrees = stepDegrees;
+        this.maxLatitude = maxLatitude;
+        this.errorSampleRate = errorSampleRate;
+        this.errorBoundSeconds = enabled ? estimateErrorBound() : 0;
+        if (enabled) {
+            logger.info("Grid caching enabled with {} degree cells up to latitude {}, error bound {} s",
+                    stepDegrees, maxLatitude, Math.round(errorBoundSeconds * 10) / 10.0);
+            if (errorBoundSeconds > maxErrorSeconds) {
+                logger.warn("Grid error bound of {} s exceeds sun.grid.max-error-seconds={}; "
+                        + "use a smaller step or latitude limit", errorBoundSeconds, maxErrorSeconds);
+            }
+        }
+    }
+
+    /**Checks whether coordinates are snapped to the grid.*/
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**Resolves times for a point, fetching each grid cell's centre at most once while it stays cached.*/
+    public SunriseSunsetModel resolve(double latitude, double longitude, String date,
+                                      BiFunction<Double, Double, SunriseSunsetModel> fetch) {
+        if (Math.abs(latitude) > maxLatitude) {
+            bypassed.increment();
+            return fetch.apply(latitude, longitude);
+        }
+        long latIndex = Math.round(latitude / stepDegrees);
+        long lngIndex = Math.round(longitude / stepDegrees);
+        double cellLatitude = latIndex * stepDegrees;
+        double cellLongitude = lngIndex * stepDegrees;
+        String cacheKey = "Grid_" + latIndex + "_" + lngIndex + "_" + date;
+
+        SunriseSunsetModel model = getCell(cacheKey);
+        if (model != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            logger.debug("Grid cell miss for {}, resolving centre {},{}", cacheKey, cellLatitude, cellLongitude);
+            model = fetch.apply(cellLatitude, cellLongitude);
+            if (model != null) {
+                putCell(cacheKey, model);
+            }
+        }
+        if (ThreadLocalRandom.current().nextDouble() < errorSampleRate) {
+            sampleError(LocalDate.parse(date), latitude, longitude, cellLatitude, cellLongitude);
+        }
+        return model;
+    }
+
+    /**Returns the number of cached cells, including expired ones not yet looked up.*/
+    public synchronized int size() {
+        return cells.size();
+    }
+
+    /**Reports the hit ratio and the sampled error distribution of the grid.*/
+    public GridCacheStatsDTO getStats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long samples = sampledErrors.sum();
+        Map<String, Long> histogram = new LinkedHashMap<>();
+        for (int i = 0; i < ERROR_BUCKETS_SECONDS.length; i++) {
+            histogram.put("<=" + ERROR_BUCKETS_SECONDS[i] + "s", errorHistogram.get(i));
+        }
+        histogram.put(">" + ERROR_BUCKETS_SECONDS[ERROR_BUCKETS_SECONDS.length - 1] + "s",
+                errorHistogram.get(ERROR_BUCKETS_SECONDS.length));
+        double hitRatio = hitCount + missCount > 0 ? (double) hitCount / (hitCount + missCount) : 0;
+        double meanError = samples > 0 ? totalErrorMillis.sum() / 1000.0 / samples : 0;
+        return new GridCacheStatsDTO(enabled, stepDegrees, maxLatitude, errorBoundSeconds, hitCount, missCount,
+                bypassed.sum(), hitRatio, samples, meanError, maxErrorMillis.get() / 1000.0, histogram);
+    }
+
+    /**Returns the live times of a cell, dropping them when expired, or null.*/
+    private synchronized SunriseSunsetModel getCell(String key) {
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            return null;
+        }
+        if (System.currentTimeMillis() >= cell.expiresAtMillis) {
+            cells.remove(key);
+            return null;
+        }
+        return cell.model;
+    }
+
+    /**Caches the times of a cell, dropping the least recently used cells beyond the limit.*/
+    private synchronized void putCell(String key, SunriseSunsetModel model) {
+        cells.put(key, new Cell(model, System.currentTimeMillis() + ttlMillis));
+        Iterator<String> eldest = cells.keySet().iterator();
+        while (cells.size() > maxCells) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    /**Records the difference between the point's and the cell centre's times under the local model.*/
+    private void sampleError(LocalDate date, double latitude, double longitude,
+                             double cellLatitude, double cellLongitude) {
+        double sunriseError = Math.abs(solarCalculator.eventMinutes(date, latitude, longitude, true)
+                - solarCalculator.eventMinutes(date, cellLatitude, cellLongitude, true));
+        double sunsetError = Math.abs(solarCalculator.eventMinutes(date, latitude, longitude, false)
+                - solarCalculator.eventMinutes(date, cellLatitude, cellLongitude, false));
+        double errorSeconds = Math.max(sunriseError, sunsetError) * 60;
+        if (Double.isNaN(errorSeconds)) {
+            return;
+        }
+        long errorMillis = Math.round(errorSeconds * 1000);
+        sampledErrors.increment();
+        totalErrorMillis.add(errorMillis);
+        maxErrorMillis.accumulateAndGet(errorMillis, Math::max);
+        int bucket = 0;
+        while (bucket < ERROR_BUCKETS_SECONDS.length && errorSeconds > ERROR_BUCKETS_SECONDS[bucket]) {
+            bucket++;
+        }
+        errorHistogram.incrementAndGet(bucket);
+    }
+
+    /**Estimates the worst-case snapping error from the exact longitude term and a sampled latitude term.*/
+    private double estimateErrorBound() {
+        double halfStep = stepDegrees / 2;
+        double latitudeTermMinutes = 0;
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        for (double latitude = -maxLatitude; latitude <= maxLatitude - halfStep; latitude += 0.5) {
+            for (int day = 0; day < start.lengthOfYear(); day += 3) {
+                LocalDate date = start.plusDays(day);
+                for (boolean sunrise : new boolean[] {true, false}) {
+                    double difference = Math.abs(solarCalculator.eventMinutes(date, latitude + halfStep, 0, sunrise)
+                            - solarCalculator.eventMinutes(date, latitude, 0, sunrise));
+                    if (!Double.isNaN(difference)) {
+                        latitudeTermMinutes = Math.max(latitudeTermMinutes, difference);
+                    }
+                }
+            }
+        }
+        return SECONDS_PER_LONGITUDE_DEGREE * halfStep + latitudeTermMinutes * 60;
+    }
+
+    /**Times resolved for a cell centre with their expiry.*/
+    private static final class Cell {
+
+        /** The times resolved for the cell centre. */
+        private final SunriseSunsetModel model;
+
+        /** The time in epoch milliseconds after which the cell is resolved again. */
+        private final long expiresAtMillis;
+
+        /**Constructs a Cell.*/
+        private Cell(SunriseSunsetModel model, long expiresAtMillis) {
+            this.model = model;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.SunriseSunset.service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**Applies requested link additions and removals to either side of the location and entry association.*/
+final class LinkChanges {
+
+    /**Prevents instantiation.*/
+    private LinkChanges() {
+    }
+
+    /**Removes and adds linked entities so that only the changed join rows are written, returning the changed IDs.*/
+    static <T> Set<Integer> apply(Set<T> links,
+                                  Function<T, Integer> idOf,
+                                  Collection<Integer> addIds,
+                                  Collection<Integer> removeIds,
+                                  Function<List<Integer>, ? extends Iterable<T>> loadByIds) {
+        Set<Integer> changedIds = new HashSet<>();
+        if (removeIds != null && !removeIds.isEmpty()) {
+            Set<Integer> idsToRemove = new HashSet<>(removeIds);
+            Iterator<T> iterator = links.iterator();
+            while (iterator.hasNext()) {
+                Integer linkedId = idOf.apply(iterator.next());
+                if (idsToRemove.contains(linkedId)) {
+                    iterator.remove();
+                    changedIds.add(linkedId);
+                }
+            }
+        }
+        if (addIds != null && !addIds.isEmpty()) {
+            Set<Integer> linkedIds = links.stream()
+                    .map(idOf)
+                    .collect(Collectors.toSet());
+            List<Integer> missingIds = addIds.stream()
+                    .filter(addId -> !linkedIds.contains(addId))
+                    .distinct()
+                    .collect(Collectors.toList());
+            if (!missingIds.isEmpty()) {
+                for (T linked : loadByIds.apply(missingIds)) {
+                    links.add(linked);
+                    changedIds.add(idOf.apply(linked));
+                }
+            }
+        }
+        return changedIds;
+    }
+}
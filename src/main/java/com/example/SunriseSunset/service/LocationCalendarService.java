@@ -0,0 +1,179 @@
+package com.example.SunriseSunset.service;
+
+import com.example.SunriseSunset.dto.LocationCalendarDTO;
+import com.example.SunriseSunset.model.LocationCalendarEntity;
+import com.example.SunriseSunset.repository.LocationCalendarRepository;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**Service class for serving precomputed yearly sunrise and sunset calendars of locations.*/
+@Service
+public class LocationCalendarService {
+
+    /** Logger instance for logging service operations. */
+    private static final Logger logger = LoggerFactory.getLogger(LocationCalendarService.class);
+
+    /** Calendars are stored as UTC minutes-of-day. */
+    private static final int UTC_OFFSET_MINUTES = 0;
+
+    /** Repository for calendar block database operations. */
+    private final LocationCalendarRepository locationCalendarRepository;
+
+    /** Repository for location-related database operations. */
+    private final LocationRepository locationRepository;
+
+    /** Repository for sunrise and sunset-related database operations. */
+    private final SunriseSunsetRepository sunriseSunsetRepository;
+
+    /** Calculator producing sunrise and sunset times for a whole year. */
+    private final SolarCalculator solarCalculator;
+
+    /** Cache for storing calendar data. */
+    private final Map<String, Object> entityCache;
+
+    /** Cached calendar years per location, so that evictions do not scan the cache. */
+    private final Map<Integer, Set<Integer>> cachedYears = new ConcurrentHashMap<>();
+
+    /** Number of evictions so far, used to discard loads and generations that raced with one. */
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**Constructs a LocationCalendarService with the specified dependencies.*/
+    @Autowired
+    public LocationCalendarService(LocationCalendarRepository locationCalendarRepository,
+                                   LocationRepository locationRepository,
+                                   SunriseSunsetRepository sunriseSunsetRepository,
+                                   SolarCalculator solarCalculator,
+                                   Map<String, Object> entityCache) {
+        this.locationCalendarRepository = locationCalendarRepository;
+        this.locationRepository = locationRepository;
+        this.sunriseSunsetRepository = sunriseSunsetRepository;
+        this.solarCalculator = solarCalculator;
+        this.entityCache = entityCache;
+    }
+
+    /**Retrieves the calendar of a location for a year, generating and storing it on first use.*/
+    public LocationCalendarDTO getCalendar(Integer locationId, Integer year) {
+        if (year < 1 || year > 9999) {
+            throw new IllegalArgumentException("Year out of range: " + year);
+        }
+        String cacheKey = "Calendar_" + locationId + "_" + year;
+        Object cached = entityCache.get(cacheKey);
+        if (cached != null) {
+            logger.debug("Cache hit for Calendar of Location ID {} in {}", locationId, year);
+            return (LocationCalendarDTO) cached;
+        }
+
+        logger.debug("Cache miss for Calendar of Location ID {} in {}, querying database", locationId, year);
+        long startEvictions = evictions.get();
+        Optional<LocationCalendarEntity> stored = locationCalendarRepository.findByLocationIdAndYear(locationId, year);
+        LocationCalendarEntity entity = stored.isPresent()
+                ? stored.get()
+                : generateCalendar(locationId, year, startEvictions);
+
+        LocationCalendarDTO dto = convertToDTO(entity);
+        cachedYears.compute(locationId, (id, years) -> {
+            if (evictions.get() != startEvictions) {
+                return years;
+            }
+            Set<Integer> updated = years != null ? years : ConcurrentHashMap.newKeySet();
+            updated.add(year);
+            logger.info("Caching Calendar of Location ID {} in {} under key {}", locationId, year, cacheKey);
+            entityCache.put(cacheKey, dto);
+            return updated;
+        });
+        return dto;
+    }
+
+    /**Drops stored and cached calendars of a location.*/
+    public void evictCalendars(Integer locationId) {
+        evictCalendars(List.of(locationId));
+    }
+
+    /**Drops stored calendars of locations and, once the current transaction commits, their cached copies.*/
+    public void evictCalendars(Collection<Integer> locationIds) {
+        if (locationIds.isEmpty()) {
+            return;
+        }
+        locationCalendarRepository.deleteByLocationIdIn(locationIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictCachedCalendars(locationIds);
+            return;
+        }
+        List<Integer> ids = List.copyOf(locationIds);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictCachedCalendars(ids);
+            }
+        });
+    }
+
+    /**Removes cached calendars of locations and keeps loads in flight from caching their result.*/
+    private void evictCachedCalendars(Collection<Integer> locationIds) {
+        evictions.incrementAndGet();
+        for (Integer locationId : locationIds) {
+            cachedYears.computeIfPresent(locationId, (id, years) -> {
+                years.forEach(year -> entityCache.remove("Calendar_" + id + "_" + year));
+                logger.debug("Evicted cached Calendars of Location ID {} for years {}", id, years);
+                return null;
+            });
+        }
+    }
+
+    /**Computes and stores the calendar block of a location from the coordinates of its entries.*/
+    private LocationCalendarEntity generateCalendar(Integer locationId, Integer year, long startEvictions) {
+        if (!locationRepository.existsById(locationId)) {
+            throw new IllegalArgumentException("Location not found with id: " + locationId);
+        }
+        List<Object[]> coordinates = sunriseSunsetRepository.findAverageCoordinatesByLocationId(locationId);
+        if (coordinates.isEmpty() || coordinates.get(0)[0] == null) {
+            throw new IllegalStateException("Location with id " + locationId
+                    + " has no sunrise and sunset entries to take coordinates from");
+        }
+        double latitude = ((Number) coordinates.get(0)[0]).doubleValue();
+        double longitude = ((Number) coordinates.get(0)[1]).doubleValue();
+
+        LocationCalendarEntity entity = new LocationCalendarEntity();
+        entity.locationId = locationId;
+        entity.year = year;
+        entity.latitude = latitude;
+        entity.longitude = longitude;
+        entity.utcOffsetMinutes = UTC_OFFSET_MINUTES;
+        entity.sunriseMinutes = solarCalculator.sunriseMinutes(year, latitude, longitude);
+        entity.sunsetMinutes = solarCalculator.sunsetMinutes(year, latitude, longitude);
+        logger.info("Generated Calendar of Location ID {} in {} at ({}, {})", locationId, year, latitude, longitude);
+        LocationCalendarEntity saved;
+        try {
+            saved = locationCalendarRepository.save(entity);
+        } catch (DataIntegrityViolationException e) {
+            logger.debug("Calendar of Location ID {} in {} was stored concurrently, reading it", locationId, year);
+            return locationCalendarRepository.findByLocationIdAndYear(locationId, year).orElseThrow(() -> e);
+        }
+        if (evictions.get() != startEvictions) {
+            logger.debug("Entries changed while generating Calendar of Location ID {} in {}, not keeping it",
+                    locationId, year);
+            locationCalendarRepository.delete(saved);
+        }
+        return saved;
+    }
+
+    /**Converts a LocationCalendarEntity to a LocationCalendarDTO.*/
+    private LocationCalendarDTO convertToDTO(LocationCalendarEntity entity) {
+        return new LocationCalendarDTO(entity.locationId, entity.year, entity.latitude, entity.longitude,
+                entity.utcOffsetMinutes, entity.sunriseMinutes, entity.sunsetMinutes);
+    }
+}
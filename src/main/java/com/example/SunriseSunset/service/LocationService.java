@@ -1,6 +1,13 @@
 package com.example.SunriseSunset.service;
 
+import com.example.SunriseSunset.cache.AggregateCache;
+import com.example.SunriseSunset.cache.CompositeCache;
+import com.example.SunriseSunset.cache.NegativeCacheEntry;
+import com.example.SunriseSunset.dto.LinkPatchDTO;
 import com.example.SunriseSunset.dto.LocationDTO;
+import com.example.SunriseSunset.dto.LocationFullDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.model.ChangeEntityType;
 import com.example.SunriseSunset.model.LocationEntity;
 import com.example.SunriseSunset.model.SunriseSunsetEntity;
 import com.example.SunriseSunset.repository.LocationRepository;
@@ -8,9 +15,22 @@ import com.example.SunriseSunset.repository.SunriseSunsetRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**Service class for managing location-related operations.*/
@@ -21,23 +41,71 @@ public class LocationService {
     /** Logger instance for logging service operations. */
     private static final Logger logger = LoggerFactory.getLogger(LocationService.class);
 
+    /** The maximum number of IDs accepted by a single multi-get request. */
+    private static final int MAX_IDS_PER_REQUEST = 500;
+
+    /** The maximum number of entry IDs bound into a single link lookup. */
+    private static final int LINK_LOOKUP_BATCH_SIZE = 1_000;
+
+    /** Cache key of the list of all locations. */
+    private static final String ALL_KEY = "Location_All";
+
+    /** Cache key of the list of all sunrise and sunset entries. */
+    private static final String SUNRISE_SUNSET_ALL_KEY = "SunriseSunset_All";
+
+    /** Cache key prefix of the lists of sunrise and sunset entries per location. */
+    private static final String SUNRISE_SUNSET_BY_LOCATION_PREFIX = "SunriseSunset_Location_";
+
+    /** Cache group of all locations read together with their entries in a date range. */
+    private static final String FULL_GROUP = "Location_Full";
+
     /** Repository for location-related database operations. */
     private final LocationRepository locationRepository;
 
     /** Repository for sunrise and sunset-related database operations. */
     private final SunriseSunsetRepository sunriseSunsetRepository;
 
+    /** Service for precomputed location calendars. */
+    private final LocationCalendarService locationCalendarService;
+
+    /** Records versioned changes for the change feed. */
+    private final ChangeLogService changeLogService;
+
+    /** Runs each entity write together with its change log rows in one transaction. */
+    private final TransactionTemplate transactionTemplate;
+
     /** Cache for storing location-related data. */
     private final Map<String, Object> entityCache;
 
+    /** Incrementally maintained aggregate lists stored in the entity cache. */
+    private final AggregateCache aggregateCache;
+
+    /** Locations read together with their entries, invalidated per location. */
+    private final CompositeCache compositeCache;
+
+    /** Lifetime of cached "not found" results in milliseconds. */
+    private final long negativeTtlMillis;
+
     /**Constructs a LocationService with the specified dependencies.*/
     @Autowired
     public LocationService(LocationRepository locationRepository,
                            SunriseSunsetRepository sunriseSunsetRepository,
-                           Map<String, Object> entityCache) {
+                           LocationCalendarService locationCalendarService,
+                           ChangeLogService changeLogService,
+                           TransactionTemplate transactionTemplate,
+                           Map<String, Object> entityCache,
+                           AggregateCache aggregateCache,
+                           CompositeCache compositeCache,
+                           @Value("${cache.negative-ttl-ms:30000}") long negativeTtlMillis) {
         this.locationRepository = locationRepository;
         this.sunriseSunsetRepository = sunriseSunsetRepository;
+        this.locationCalendarService = locationCalendarService;
+        this.changeLogService = changeLogService;
+        this.transactionTemplate = transactionTemplate;
         this.entityCache = entityCache;
+        this.aggregateCache = aggregateCache;
+        this.compositeCache = compositeCache;
+        this.negativeTtlMillis = negativeTtlMillis;
     }
 
     /**Creates a new location.*/
@@ -46,17 +114,20 @@ public class LocationService {
         entity.name = dto.getName();
         entity.country = dto.getCountry();
 
-        if (dto.getSunriseSunsetIds() != null && !dto.getSunriseSunsetIds().isEmpty()) {
-            List<SunriseSunsetEntity> sunriseSunsets = sunriseSunsetRepository.findAllById(dto.getSunriseSunsetIds());
-            entity.sunriseSunsets = sunriseSunsets;
-        }
-
-        LocationEntity savedEntity = locationRepository.save(entity);
+        LocationEntity savedEntity = transactionTemplate.execute(status -> {
+            if (dto.getSunriseSunsetIds() != null && !dto.getSunriseSunsetIds().isEmpty()) {
+                List<SunriseSunsetEntity> sunriseSunsets = sunriseSunsetRepository.findAllById(dto.getSunriseSunsetIds());
+                entity.sunriseSunsets.addAll(sunriseSunsets);
+            }
+            LocationEntity saved = locationRepository.save(entity);
+            recordLinkChanges(saved.id, sunriseSunsetIdsOf(saved));
+            return saved;
+        });
         LocationDTO savedDto = convertToDTO(savedEntity);
 
         logger.info("Caching Location with ID {} after creation", savedEntity.id);
         entityCache.put("Location_" + savedEntity.id, savedDto);
-        entityCache.remove("Location_All");
+        publishLinkChanges(savedDto, new HashSet<>(savedDto.getSunriseSunsetIds()));
 
         return savedDto;
     }
@@ -64,14 +135,23 @@ public class LocationService {
     /**Retrieves a location by its ID.*/
     public LocationDTO getLocationById(Integer id) {
         String cacheKey = "Location_" + id;
-        if (entityCache.containsKey(cacheKey)) {
+        Object cached = entityCache.get(cacheKey);
+        if (cached instanceof NegativeCacheEntry negative && !negative.isExpired()) {
+            logger.debug("Negative cache hit for Location ID {}", id);
+            throw new IllegalArgumentException("Location not found with id: " + id);
+        }
+        if (cached instanceof LocationDTO dto) {
             logger.debug("Cache hit for Location ID {}", id);
-            return (LocationDTO) entityCache.get(cacheKey);
+            return dto;
         }
 
         logger.debug("Cache miss for Location ID {}, querying database", id);
-        LocationEntity entity = locationRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Location not found with id: " + id));
+        LocationEntity entity = locationRepository.findById(id).orElse(null);
+        if (entity == null) {
+            logger.debug("Caching missing Location ID {} for {} ms", id, negativeTtlMillis);
+            entityCache.put(cacheKey, NegativeCacheEntry.expiringIn(negativeTtlMillis));
+            throw new IllegalArgumentException("Location not found with id: " + id);
+        }
 
         LocationDTO dto = convertToDTO(entity);
         logger.info("Caching Location with ID {} after database query", id);
@@ -80,66 +160,309 @@ public class LocationService {
         return dto;
     }
 
-    /**Retrieves all locations.*/
-    public List<LocationDTO> getAllLocations() {
-        String cacheKey = "Location_All";
-        if (entityCache.containsKey(cacheKey)) {
-            logger.debug("Cache hit for all Locations");
-            return (List<LocationDTO>) entityCache.get(cacheKey);
+    /**Retrieves a location with its sunrise and sunset entries between two dates, inclusive, from a single query.*/
+    public LocationFullDTO getLocationFull(Integer id, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Range start " + from + " is after its end " + to);
         }
-
-        logger.debug("Cache miss for all Locations, querying database");
-        List<LocationEntity> entities = locationRepository.findAll();
-        List<LocationDTO> dtos = entities.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-
-        for (LocationDTO dto : dtos) {
-            logger.info("Caching Location with ID {} after database query", dto.getId());
-            entityCache.put("Location_" + dto.getId(), dto);
+        if (entityCache.get("Location_" + id) instanceof NegativeCacheEntry negative && !negative.isExpired()) {
+            logger.debug("Negative cache hit for Location ID {}", id);
+            throw new IllegalArgumentException("Location not found with id: " + id);
         }
+        LocalDate yearsFrom = from.withDayOfYear(1);
+        LocalDate yearsTo = to.withDayOfYear(to.lengthOfYear());
+        String cacheKey = fullGroup(id) + "_" + yearsFrom.getYear() + "_" + yearsTo.getYear();
+        LocationFullDTO years = compositeCache.getOrLoad(cacheKey, () -> {
+            logger.debug("Cache miss for full Location ID {} from {} to {}, querying database", id, yearsFrom, yearsTo);
+            List<Object[]> rows = locationRepository.findFullRows(id, yearsFrom, yearsTo);
+            if (rows.isEmpty()) {
+                entityCache.put("Location_" + id, NegativeCacheEntry.expiringIn(negativeTtlMillis));
+                throw new IllegalArgumentException("Location not found with id: " + id);
+            }
+            logger.info("Caching full Location with ID {} under key {}", id, cacheKey);
+            return convertToFullDTO(rows, yearsFrom, yearsTo);
+        }, FULL_GROUP, fullGroup(id));
+        return withinRange(years, from, to);
+    }
 
-        logger.info("Caching all Locations under Location_All");
-        entityCache.put(cacheKey, dtos);
+    /**Retrieves locations by IDs, loading all cache misses with a single query.*/
+    public List<LocationDTO> getLocationsByIds(List<Integer> ids) {
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("Too many IDs requested: " + ids.size()
+                    + ", maximum is " + MAX_IDS_PER_REQUEST);
+        }
+        Map<Integer, LocationDTO> found = new HashMap<>();
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            Object cached = entityCache.get("Location_" + id);
+            if (cached instanceof LocationDTO dto) {
+                found.put(id, dto);
+            } else if (!(cached instanceof NegativeCacheEntry negative) || negative.isExpired()) {
+                missingIds.add(id);
+            }
+        }
+        logger.debug("Multi-get for {} Location IDs: {} cache hits, {} misses",
+                ids.size(), found.size(), missingIds.size());
+        if (!missingIds.isEmpty()) {
+            for (LocationEntity entity : locationRepository.findAllWithSunriseSunsetsByIdIn(missingIds)) {
+                LocationDTO dto = convertToDTO(entity);
+                entityCache.put("Location_" + entity.id, dto);
+                found.put(entity.id, dto);
+            }
+            for (Integer missingId : missingIds) {
+                if (!found.containsKey(missingId)) {
+                    entityCache.put("Location_" + missingId, NegativeCacheEntry.expiringIn(negativeTtlMillis));
+                }
+            }
+        }
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
 
-        return dtos;
+    /**Retrieves all locations as an ID-sorted snapshot.*/
+    public List<LocationDTO> getAllLocations() {
+        return aggregateCache.getOrRebuild(ALL_KEY, () -> {
+            logger.debug("Cache miss for all Locations, querying database");
+            List<LocationDTO> dtos = locationRepository.findAllWithSunriseSunsets().stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            for (LocationDTO dto : dtos) {
+                entityCache.put("Location_" + dto.getId(), dto);
+            }
+            logger.info("Caching all {} Locations under {}", dtos.size(), ALL_KEY);
+            return dtos;
+        }, LocationDTO::getId);
     }
 
     /**Updates an existing location.*/
     public LocationDTO updateLocation(Integer id, LocationDTO dto) {
-        LocationEntity entity = locationRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Location not found with id: " + id));
+        Set<Integer> changedIds = new HashSet<>();
+        LocationEntity updatedEntity = transactionTemplate.execute(status -> {
+            LocationEntity entity = locationRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Location not found with id: " + id));
 
-        entity.name = dto.getName();
-        entity.country = dto.getCountry();
+            entity.name = dto.getName();
+            entity.country = dto.getCountry();
 
-        if (dto.getSunriseSunsetIds() != null && !dto.getSunriseSunsetIds().isEmpty()) {
-            List<SunriseSunsetEntity> sunriseSunsets = sunriseSunsetRepository.findAllById(dto.getSunriseSunsetIds());
-            entity.sunriseSunsets = sunriseSunsets;
-        } else {
-            entity.sunriseSunsets.clear();
-        }
+            Set<Integer> requestedIds = dto.getSunriseSunsetIds() != null
+                    ? new HashSet<>(dto.getSunriseSunsetIds())
+                    : Set.of();
+            List<Integer> staleIds = entity.sunriseSunsets.stream()
+                    .map(sunriseSunset -> sunriseSunset.id)
+                    .filter(linkedId -> !requestedIds.contains(linkedId))
+                    .collect(Collectors.toList());
+            changedIds.addAll(applySunriseSunsetChanges(entity, requestedIds, staleIds));
 
-        LocationEntity updatedEntity = locationRepository.save(entity);
+            LocationEntity saved = locationRepository.save(entity);
+            recordLinkChanges(saved.id, changedIds);
+            return saved;
+        });
         LocationDTO updatedDto = convertToDTO(updatedEntity);
 
         logger.info("Updating cache for Location with ID {}", id);
         entityCache.put("Location_" + id, updatedDto);
-        entityCache.remove("Location_All");
+        compositeCache.invalidateGroup(fullGroup(id));
+        publishLinkChanges(updatedDto, changedIds);
+
+        return updatedDto;
+    }
+
+    /**Adds and removes individual sunrise and sunset links of a location.*/
+    public LocationDTO patchSunriseSunsetLinks(Integer id, LinkPatchDTO patch) {
+        Set<Integer> changedIds = new HashSet<>();
+        LocationEntity updatedEntity = transactionTemplate.execute(status -> {
+            LocationEntity entity = locationRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Location not found with id: " + id));
+            changedIds.addAll(applySunriseSunsetChanges(entity, patch.getAdd(), patch.getRemove()));
+            if (changedIds.isEmpty()) {
+                return entity;
+            }
+            LocationEntity saved = locationRepository.save(entity);
+            recordLinkChanges(saved.id, changedIds);
+            return saved;
+        });
+        if (changedIds.isEmpty()) {
+            return convertToDTO(updatedEntity);
+        }
+        LocationDTO updatedDto = convertToDTO(updatedEntity);
+
+        logger.info("Updating cache for Location with ID {} after link patch", id);
+        entityCache.put("Location_" + id, updatedDto);
+        publishLinkChanges(updatedDto, changedIds);
 
         return updatedDto;
     }
 
     /**Deletes a location by its ID.*/
     public void deleteLocation(Integer id) {
-        if (!locationRepository.existsById(id)) {
-            throw new IllegalArgumentException("Location not found with id: " + id);
+        List<Integer> linkedIds = transactionTemplate.execute(status -> {
+            LocationEntity entity = locationRepository.findById(id)
+                    .orElseThrow(() -> new IllegalArgumentException("Location not found with id: " + id));
+            List<Integer> sunriseSunsetIds = sunriseSunsetIdsOf(entity);
+            locationCalendarService.evictCalendars(id);
+            locationRepository.delete(entity);
+            changeLogService.recordDelete(ChangeEntityType.LOCATION, id);
+            changeLogService.recordUpserts(ChangeEntityType.SUNRISE_SUNSET, sunriseSunsetIds);
+            return sunriseSunsetIds;
+        });
+
+        logger.info("Replacing Location with ID {} in cache by a negative entry", id);
+        entityCache.put("Location_" + id, NegativeCacheEntry.expiringIn(negativeTtlMillis));
+        aggregateCache.remove(ALL_KEY, id, LocationDTO::getId);
+        aggregateCache.invalidate(SUNRISE_SUNSET_BY_LOCATION_PREFIX + id);
+        compositeCache.invalidateGroup(linkedIds.isEmpty() ? fullGroup(id) : FULL_GROUP);
+        Map<Integer, Boolean> uncached = new HashMap<>();
+        for (Integer sunriseSunsetId : linkedIds) {
+            if (relinkCachedSunriseSunset(sunriseSunsetId, id, false) == null) {
+                uncached.put(sunriseSunsetId, false);
+            }
         }
+        relinkUncachedSunriseSunsets(uncached, id);
+    }
 
-        locationRepository.deleteById(id);
-        logger.info("Removing Location with ID {} from cache", id);
-        entityCache.remove("Location_" + id);
-        entityCache.remove("Location_All");
+    /**Links and unlinks sunrise and sunset entries so that only the changed join rows are written.*/
+    private Set<Integer> applySunriseSunsetChanges(LocationEntity entity,
+                                                   Collection<Integer> addIds,
+                                                   Collection<Integer> removeIds) {
+        return LinkChanges.apply(entity.sunriseSunsets, linked -> linked.id, addIds, removeIds,
+                sunriseSunsetRepository::findAllById);
+    }
+
+    /**Records a stored location and the entries whose links to it changed, dropping its calendars when links changed.*/
+    private void recordLinkChanges(Integer id, Collection<Integer> changedIds) {
+        changeLogService.recordUpserts(ChangeEntityType.LOCATION, List.of(id));
+        changeLogService.recordUpserts(ChangeEntityType.SUNRISE_SUNSET, changedIds);
+        if (!changedIds.isEmpty()) {
+            locationCalendarService.evictCalendars(id);
+        }
+    }
+
+    /**Collects the IDs of the entries linked to a location.*/
+    private static List<Integer> sunriseSunsetIdsOf(LocationEntity entity) {
+        return entity.sunriseSunsets.stream()
+                .map(sunriseSunset -> sunriseSunset.id)
+                .collect(Collectors.toList());
+    }
+
+    /**Applies a stored location and its changed links to the cached aggregates.*/
+    private void publishLinkChanges(LocationDTO dto, Set<Integer> changedIds) {
+        aggregateCache.upsert(ALL_KEY, dto, LocationDTO::getId);
+        if (changedIds.isEmpty()) {
+            return;
+        }
+        logger.debug("Applying changed links {} of Location ID {} to cached aggregates", changedIds, dto.getId());
+        compositeCache.invalidateGroup(FULL_GROUP);
+        Set<Integer> linkedIds = new HashSet<>(dto.getSunriseSunsetIds());
+        String byLocationKey = SUNRISE_SUNSET_BY_LOCATION_PREFIX + dto.getId();
+        Map<Integer, Boolean> uncached = new HashMap<>();
+        for (Integer sunriseSunsetId : changedIds) {
+            boolean linked = linkedIds.contains(sunriseSunsetId);
+            SunriseSunsetDTO relinked = relinkCachedSunriseSunset(sunriseSunsetId, dto.getId(), linked);
+            if (relinked == null) {
+                uncached.put(sunriseSunsetId, linked);
+            }
+            if (!linked) {
+                aggregateCache.remove(byLocationKey, sunriseSunsetId, SunriseSunsetDTO::getId);
+            } else if (relinked != null) {
+                aggregateCache.upsert(byLocationKey, relinked, SunriseSunsetDTO::getId);
+            } else {
+                aggregateCache.invalidate(byLocationKey);
+            }
+        }
+        relinkUncachedSunriseSunsets(uncached, dto.getId());
+    }
+
+    /**Links or unlinks a location in every cached copy of an entry and returns the relinked copy, if any was cached.*/
+    private SunriseSunsetDTO relinkCachedSunriseSunset(Integer sunriseSunsetId, Integer locationId, boolean linked) {
+        UnaryOperator<SunriseSunsetDTO> change = sunriseSunset -> withLocationLink(sunriseSunset, locationId, linked);
+        Object single = entityCache.computeIfPresent("SunriseSunset_" + sunriseSunsetId,
+                (key, cached) -> cached instanceof SunriseSunsetDTO sunriseSunset ? change.apply(sunriseSunset) : cached);
+        SunriseSunsetDTO fromAll = aggregateCache.update(SUNRISE_SUNSET_ALL_KEY, sunriseSunsetId,
+                SunriseSunsetDTO::getId, change);
+        SunriseSunsetDTO relinked = single instanceof SunriseSunsetDTO sunriseSunset ? sunriseSunset : fromAll;
+        if (relinked == null) {
+            return null;
+        }
+        for (Integer otherLocationId : relinked.getLocationIds()) {
+            if (!otherLocationId.equals(locationId)) {
+                aggregateCache.update(SUNRISE_SUNSET_BY_LOCATION_PREFIX + otherLocationId, sunriseSunsetId,
+                        SunriseSunsetDTO::getId, change);
+            }
+        }
+        return relinked;
+    }
+
+    /**Links or unlinks a location in the cached per-location lists of entries not cached on their own.*/
+    private void relinkUncachedSunriseSunsets(Map<Integer, Boolean> linkedById, Integer locationId) {
+        List<Integer> ids = new ArrayList<>(linkedById.keySet());
+        for (int from = 0; from < ids.size(); from += LINK_LOOKUP_BATCH_SIZE) {
+            List<Integer> batch = ids.subList(from, Math.min(from + LINK_LOOKUP_BATCH_SIZE, ids.size()));
+            for (Object[] link : sunriseSunsetRepository.findLocationLinksBySunriseSunsetIdIn(batch)) {
+                Integer sunriseSunsetId = (Integer) link[0];
+                Integer otherLocationId = (Integer) link[1];
+                if (!otherLocationId.equals(locationId)) {
+                    boolean linked = linkedById.get(sunriseSunsetId);
+                    aggregateCache.update(SUNRISE_SUNSET_BY_LOCATION_PREFIX + otherLocationId, sunriseSunsetId,
+                            SunriseSunsetDTO::getId,
+                            sunriseSunset -> withLocationLink(sunriseSunset, locationId, linked));
+                }
+            }
+        }
+    }
+
+    /**Copies an entry with a location linked or unlinked, leaving the cached original untouched.*/
+    private SunriseSunsetDTO withLocationLink(SunriseSunsetDTO sunriseSunset, Integer locationId, boolean linked) {
+        List<Integer> locationIds = sunriseSunset.getLocationIds() != null
+                ? new ArrayList<>(sunriseSunset.getLocationIds())
+                : new ArrayList<>();
+        locationIds.remove(locationId);
+        if (linked) {
+            locationIds.add(locationId);
+        }
+        return new SunriseSunsetDTO(sunriseSunset.getId(), sunriseSunset.getDate(), sunriseSunset.getLatitude(),
+                sunriseSunset.getLongitude(), sunriseSunset.getSunrise(), sunriseSunset.getSunset(), locationIds);
+    }
+
+    /**Gets the cache group of the full reads of a location.*/
+    private static String fullGroup(Integer id) {
+        return FULL_GROUP + "_" + id;
+    }
+
+    /**Narrows a full read cached for whole years to the requested dates.*/
+    private static LocationFullDTO withinRange(LocationFullDTO years, LocalDate from, LocalDate to) {
+        if (years.getFrom().equals(from) && years.getTo().equals(to)) {
+            return years;
+        }
+        List<SunriseSunsetDTO> sunriseSunsets = years.getSunriseSunsets().stream()
+                .filter(sunriseSunset -> !sunriseSunset.getDate().isBefore(from) && !sunriseSunset.getDate().isAfter(to))
+                .collect(Collectors.toUnmodifiableList());
+        return new LocationFullDTO(years.getId(), years.getName(), years.getCountry(), from, to, sunriseSunsets);
+    }
+
+    /**Folds the flat rows of a full read, one per entry and linked location, into a LocationFullDTO.*/
+    private LocationFullDTO convertToFullDTO(List<Object[]> rows, LocalDate from, LocalDate to) {
+        Object[] first = rows.get(0);
+        Map<Integer, Object[]> entries = new LinkedHashMap<>();
+        Map<Integer, List<Integer>> locationIds = new HashMap<>();
+        for (Object[] row : rows) {
+            Integer sunriseSunsetId = (Integer) row[3];
+            if (sunriseSunsetId == null) {
+                continue;
+            }
+            entries.putIfAbsent(sunriseSunsetId, row);
+            locationIds.computeIfAbsent(sunriseSunsetId, key -> new ArrayList<>()).add((Integer) row[9]);
+        }
+        List<SunriseSunsetDTO> sunriseSunsets = new ArrayList<>(entries.size());
+        for (Object[] row : entries.values()) {
+            Integer sunriseSunsetId = (Integer) row[3];
+            sunriseSunsets.add(new SunriseSunsetDTO(sunriseSunsetId, (LocalDate) row[4], (Double) row[5],
+                    (Double) row[6], (OffsetDateTime) row[7], (OffsetDateTime) row[8],
+                    List.copyOf(locationIds.get(sunriseSunsetId))));
+        }
+        return new LocationFullDTO((Integer) first[0], (String) first[1], (String) first[2], from, to,
+                List.copyOf(sunriseSunsets));
     }
 
     /**Converts a LocationEntity to a LocationDTO.*/
@@ -0,0 +1,63 @@
+package com.example.SunriseSunset.service;
+
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.Year;
+
+/**Computes sunrise and sunset times locally using the NOAA solar position approximation.*/
+@Component
+public class SolarCalculator {
+
+    /** Minutes in a day. */
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    /** Zenith angle of the sun at sunrise and sunset, including refraction and the solar disc radius. */
+    private static final double SUNRISE_ZENITH = Math.toRadians(90.833);
+
+    /** Marker for days on which the sun does not rise or does not set. */
+    public static final int NO_EVENT = -1;
+
+    /**Computes UTC sunrise minutes-of-day for every day of the year, with NO_EVENT on polar days.*/
+    public int[] sunriseMinutes(int year, double latitude, double longitude) {
+        return minutes(year, latitude, longitude, true);
+    }
+
+    /**Computes UTC sunset minutes-of-day for every day of the year, with NO_EVENT on polar days.*/
+    public int[] sunsetMinutes(int year, double latitude, double longitude) {
+        return minutes(year, latitude, longitude, false);
+    }
+
+    /**Computes the UTC sunrise or sunset of one date in fractional minutes, or NaN on polar days.*/
+    public double eventMinutes(LocalDate date, double latitude, double longitude, boolean sunrise) {
+        return eventMinutes(date.getDayOfYear() - 1, date.lengthOfYear(), Math.toRadians(latitude), longitude, sunrise);
+    }
+
+    /**Computes sunrise or sunset minutes-of-day for every day of the year.*/
+    private int[] minutes(int year, double latitude, double longitude, boolean sunrise) {
+        int days = Year.of(year).length();
+        double lat = Math.toRadians(latitude);
+        int[] result = new int[days];
+        for (int day = 0; day < days; day++) {
+            double minutes = eventMinutes(day, days, lat, longitude, sunrise);
+            result[day] = Double.isNaN(minutes) ? NO_EVENT : Math.floorMod(Math.round(minutes), MINUTES_PER_DAY);
+        }
+        return result;
+    }
+
+    /**Computes the unnormalised event time in minutes after UTC midnight, or NaN when the sun does not cross the horizon.*/
+    private double eventMinutes(int day, int days, double lat, double longitude, boolean sunrise) {
+        double gamma = 2 * Math.PI / days * day;
+        double equationOfTime = 229.18 * (0.000075 + 0.001868 * Math.cos(gamma) - 0.032077 * Math.sin(gamma)
+                - 0.014615 * Math.cos(2 * gamma) - 0.040849 * Math.sin(2 * gamma));
+        double declination = 0.006918 - 0.399912 * Math.cos(gamma) + 0.070257 * Math.sin(gamma)
+                - 0.006758 * Math.cos(2 * gamma) + 0.000907 * Math.sin(2 * gamma)
+                - 0.002697 * Math.cos(3 * gamma) + 0.00148 * Math.sin(3 * gamma);
+        double cosHourAngle = Math.cos(SUNRISE_ZENITH) / (Math.cos(lat) * Math.cos(declination))
+                - Math.tan(lat) * Math.tan(declination);
+        if (cosHourAngle < -1 || cosHourAngle > 1) {
+            return Double.NaN;
+        }
+        double hourAngle = Math.toDegrees(Math.acos(cosHourAngle));
+        return 720 - 4 * (longitude + (sunrise ? hourAngle : -hourAngle)) - equationOfTime;
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.SunriseSunset.service;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.Float8Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampSecTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.DateUnit;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import jakarta.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**Service class streaming sunrise and sunset history from a JDBC cursor into the Arrow IPC stream format.*/
+@Service
+public class SunTimesExportService {
+
+    /** Media type of the Arrow IPC stream format. */
+    public static final String MEDIA_TYPE = "application/vnd.apache.arrow.stream";
+
+    /** Logger instance for logging exports. */
+    private static final Logger logger = LoggerFactory.getLogger(SunTimesExportService.class);
+
+    /** ID of the dictionary holding the location names. */
+    private static final long LOCATION_NAME_DICTIONARY_ID = 1L;
+
+    /** Entries with their location links, one row per link, in date order. */
+    private static final String EXPORT_QUERY = "SELECT s.id, s.date, s.latitude, s.longitude, s.sunrise, s.sunset,"
+            + " sl.location_id FROM sunrise_and_sunset s"
+            + " LEFT JOIN sunrise_sunset_locations sl ON sl.sunrise_sunset_id = s.id"
+            + " WHERE s.date >= ? AND s.date <= ? ORDER BY s.date, s.id";
+
+    /** Parent of the per-export allocators. */
+    private final BufferAllocator rootAllocator = new RootAllocator();
+
+    /** JDBC access reading rows through a server-side cursor. */
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Template for the read-only transaction that keeps the cursor open and the dictionary on its snapshot. */
+    private final TransactionTemplate transactionTemplate;
+
+    /** The number of rows per record batch. */
+    private final int batchRows;
+
+    /** Milliseconds an export may stream before the request is timed out. */
+    private final long timeoutMillis;
+
+    /**Constructs a SunTimesExportService with the specified dependencies.*/
+    public SunTimesExportService(DataSource dataSource,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${sun.export.batch-rows:65536}") int batchRows,
+                                 @Value("${sun.export.fetch-size:10000}") int fetchSize,
+                                 @Value("${sun.export.timeout-ms:3600000}") long timeoutMillis) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.batchRows = batchRows;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**Gets the milliseconds an export may stream before the request is timed out.*/
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    /**Writes entries dated within a range as an Arrow IPC stream and returns the number of rows written.*/
+    public long export(LocalDate from, LocalDate to, OutputStream out) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("Export range starts after it ends: " + from + " > " + to);
+        }
+        long start = System.nanoTime();
+        Long rows = transactionTemplate.execute(status -> {
+            try (BufferAllocator allocator = rootAllocator.newChildAllocator("export", 0, Long.MAX_VALUE)) {
+                return writeStream(allocator, from, to, out);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        logger.info("Exported {} SunriseSunset rows from {} to {} in {} ms",
+                rows, from, to, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    /**Writes the location name dictionary and then the rows in record batches.*/
+    private long writeStream(BufferAllocator allocator, LocalDate from, LocalDate to, OutputStream out)
+            throws IOException {
+        DictionaryEncoding nameEncoding = new DictionaryEncoding(LOCATION_NAME_DICTIONARY_ID, false,
+                new ArrowType.Int(32, true));
+        try (VarCharVector names = new VarCharVector("location_names", allocator)) {
+            Map<Integer, Integer> nameIndexByLocationId = loadLocationNames(names);
+            DictionaryProvider.MapDictionaryProvider provider = new DictionaryProvider.MapDictionaryProvider();
+            provider.put(new Dictionary(names, nameEncoding));
+
+            try (VectorSchemaRoot root = VectorSchemaRoot.create(schema(nameEncoding), allocator);
+                 ArrowStreamWriter writer = new ArrowStreamWriter(root, provider, Channels.newChannel(out))) {
+                writer.start();
+                BatchWriter batchWriter = new BatchWriter(root, writer, nameIndexByLocationId);
+                jdbcTemplate.query(EXPORT_QUERY, batchWriter::append, from, to);
+                batchWriter.flush();
+                writer.end();
+                return batchWriter.total;
+            }
+        }
+    }
+
+    /**Fills the dictionary with the location names of the export's snapshot and maps each ID to its index.*/
+    private Map<Integer, Integer> loadLocationNames(VarCharVector names) {
+        Map<Integer, Integer> indexByLocationId = new HashMap<>();
+        names.allocateNew();
+        jdbcTemplate.query("SELECT id, name FROM locations ORDER BY id", (ResultSet rs) -> {
+            int index = indexByLocationId.size();
+            names.setSafe(index, rs.getString(2).getBytes(StandardCharsets.UTF_8));
+            indexByLocationId.put(rs.getInt(1), index);
+        });
+        names.setValueCount(indexByLocationId.size());
+        return indexByLocationId;
+    }
+
+    /**Builds the export schema with epoch-based dates and times and a dictionary-encoded location name.*/
+    private static Schema schema(DictionaryEncoding nameEncoding) {
+        ArrowType int32 = new ArrowType.Int(32, true);
+        ArrowType float64 = new ArrowType.FloatingPoint(FloatingPointPrecision.DOUBLE);
+        ArrowType epochSeconds = new ArrowType.Timestamp(TimeUnit.SECOND, "UTC");
+        return new Schema(List.of(
+                Field.notNullable("id", int32),
+                Field.notNullable("date", new ArrowType.Date(DateUnit.DAY)),
+                Field.notNullable("latitude", float64),
+                Field.notNullable("longitude", float64),
+                Field.nullable("sunrise", epochSeconds),
+                Field.nullable("sunset", epochSeconds),
+                Field.nullable("location_id", int32),
+                new Field("location_name", new FieldType(true, int32, nameEncoding), null)));
+    }
+
+    /**Releases the memory of the Arrow allocators on shutdown.*/
+    @PreDestroy
+    public void close() {
+        rootAllocator.close();
+    }
+
+    /**Copies cursor rows into the column vectors and writes a record batch whenever it is full.*/
+    private final class BatchWriter {
+
+        /** The vectors of the current record batch. */
+        private final VectorSchemaRoot root;
+
+        /** The stream the batches are written to. */
+        private final ArrowStreamWriter writer;
+
+        /** Dictionary index of the name of each location. */
+        private final Map<Integer, Integer> nameIndexByLocationId;
+
+        /** Entry IDs. */
+        private final IntVector id;
+
+        /** Dates as days since the epoch. */
+        private final DateDayVector date;
+
+        /** Latitudes. */
+        private final Float8Vector latitude;
+
+        /** Longitudes. */
+        private final Float8Vector longitude;
+
+        /** Sunrise times as epoch seconds. */
+        private final TimeStampSecTZVector sunrise;
+
+        /** Sunset times as epoch seconds. */
+        private final TimeStampSecTZVector sunset;
+
+        /** Linked location IDs, null for entries without locations. */
+        private final IntVector locationId;
+
+        /** Dictionary indices of the linked location names. */
+        private final IntVector locationName;
+
+        /** Rows in the current batch. */
+        private int row;
+
+        /** Rows written so far. */
+        private long total;
+
+        /**Constructs a BatchWriter over the vectors of a schema root.*/
+        BatchWriter(VectorSchemaRoot root, ArrowStreamWriter writer, Map<Integer, Integer> nameIndexByLocationId) {
+            this.root = root;
+            this.writer = writer;
+            this.nameIndexByLocationId = nameIndexByLocationId;
+            this.id = (IntVector) root.getVector("id");
+            this.date = (DateDayVector) root.getVector("date");
+            this.latitude = (Float8Vector) root.getVector("latitude");
+            this.longitude = (Float8Vector) root.getVector("longitude");
+            this.sunrise = (TimeStampSecTZVector) root.getVector("sunrise");
+            this.sunset = (TimeStampSecTZVector) root.getVector("sunset");
+            this.locationId = (IntVector) root.getVector("location_id");
+            this.locationName = (IntVector) root.getVector("location_name");
+            root.allocateNew();
+        }
+
+        /**Appends the current cursor row.*/
+        void append(ResultSet rs) throws SQLException {
+            id.setSafe(row, rs.getInt(1));
+            date.setSafe(row, (int) rs.getObject(2, LocalDate.class).toEpochDay());
+            latitude.setSafe(row, rs.getDouble(3));
+            longitude.setSafe(row, rs.getDouble(4));
+            setEpochSeconds(sunrise, rs.getObject(5, OffsetDateTime.class));
+            setEpochSeconds(sunset, rs.getObject(6, OffsetDateTime.class));
+            int linkedId = rs.getInt(7);
+            boolean unlinked = rs.wasNull();
+            Integer nameIndex = unlinked ? null : nameIndexByLocationId.get(linkedId);
+            if (unlinked) {
+                locationId.setNull(row);
+            } else {
+                locationId.setSafe(row, linkedId);
+            }
+            if (nameIndex == null) {
+                locationName.setNull(row);
+            } else {
+                locationName.setSafe(row, nameIndex);
+            }
+            if (++row == batchRows) {
+                flush();
+            }
+        }
+
+        /**Writes the rows collected so far as one record batch.*/
+        void flush() {
+            if (row == 0) {
+                return;
+            }
+            root.setRowCount(row);
+            try {
+                writer.writeBatch();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            total += row;
+            row = 0;
+            root.allocateNew();
+        }
+
+        /**Stores a time as epoch seconds, or null.*/
+        private void setEpochSeconds(TimeStampSecTZVector vector, OffsetDateTime time) {
+            if (time == null) {
+                vector.setNull(row);
+            } else {
+                vector.setSafe(row, time.toEpochSecond());
+            }
+        }
+    }
+}
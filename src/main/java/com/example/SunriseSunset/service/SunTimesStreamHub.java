@@ -0,0 +1,287 @@
+package com.example.SunriseSunset.service;
+
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**Fans sunrise and sunset changes out to Server-Sent Event subscribers of their locations.*/
+@Component
+public class SunTimesStreamHub {
+
+    /** Logger instance for logging stream operations. */
+    private static final Logger logger = LoggerFactory.getLogger(SunTimesStreamHub.class);
+
+    /** Event name of pushed sunrise and sunset entries. */
+    static final String EVENT_NAME = "sunrise-sunset";
+
+    /** Queue marker for a heartbeat comment. */
+    private static final Object HEARTBEAT = new Object();
+
+    /** Subscribers per location ID. */
+    private final Map<Integer, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+
+    /** Threads that write queued events to the subscribers' connections. */
+    private final ExecutorService senders;
+
+    /** The maximum number of events buffered per subscriber. */
+    private final int bufferSize;
+
+    /** Whether a full buffer closes the subscriber instead of dropping its oldest event. */
+    private final boolean closeSlowSubscribers;
+
+    /** Emitter timeout in milliseconds. */
+    private final long timeoutMillis;
+
+    /** The longest a single write may block its sender thread in nanoseconds, or 0 for no deadline. */
+    private final long writeTimeoutNanos;
+
+    /** Events dropped because a subscriber's buffer was full. */
+    private final LongAdder dropped = new LongAdder();
+
+    /**Constructs a SunTimesStreamHub from the application properties.*/
+    @Autowired
+    public SunTimesStreamHub(@Value("${sun.stream.sender-threads:4}") int senderThreads,
+                             @Value("${sun.stream.buffer-size:32}") int bufferSize,
+                             @Value("${sun.stream.close-slow-subscribers:false}") boolean closeSlowSubscribers,
+                             @Value("${sun.stream.timeout-ms:1800000}") long timeoutMillis,
+                             @Value("${sun.stream.write-timeout-ms:10000}") long writeTimeoutMillis) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.bufferSize = bufferSize;
+        this.closeSlowSubscribers = closeSlowSubscribers;
+        this.timeoutMillis = timeoutMillis;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMillis);
+    }
+
+    /**Opens a stream of changes to the sunrise and sunset entries of a location.*/
+    public SseEmitter subscribe(Integer locationId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        register(locationId, emitter);
+        return emitter;
+    }
+
+    /**Registers an emitter as a subscriber of a location and unregisters it when its connection ends.*/
+    void register(Integer locationId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(locationId, emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.compute(locationId, (key, locationSubscribers) -> {
+            Set<Subscriber> updated = locationSubscribers != null ? locationSubscribers : ConcurrentHashMap.newKeySet();
+            updated.add(subscriber);
+            return updated;
+        });
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+        logger.debug("Subscriber added to Location ID {}", locationId);
+    }
+
+    /**Queues an entry for every subscriber of its locations without waiting for slow connections.*/
+    public void publish(SunriseSunsetDTO dto) {
+        if (dto.getLocationIds() == null) {
+            return;
+        }
+        for (Integer locationId : dto.getLocationIds()) {
+            Set<Subscriber> locationSubscribers = subscribers.get(locationId);
+            if (locationSubscribers == null) {
+                continue;
+            }
+            for (Subscriber subscriber : locationSubscribers) {
+                enqueue(subscriber, dto);
+            }
+        }
+    }
+
+    /**Sends a heartbeat comment to idle subscribers so proxies keep their connections open.*/
+    @Scheduled(fixedDelayString = "${sun.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        for (Set<Subscriber> locationSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : locationSubscribers) {
+                if (subscriber.queue.isEmpty() && subscriber.queue.offer(HEARTBEAT)) {
+                    scheduleDrain(subscriber);
+                }
+            }
+        }
+    }
+
+    /**Closes subscribers whose current write has outlived the write timeout and interrupts the blocked sender.*/
+    @Scheduled(fixedDelayString = "${sun.stream.write-check-ms:1000}")
+    public void closeStalledSubscribers() {
+        if (writeTimeoutNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (Set<Subscriber> locationSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : locationSubscribers) {
+                synchronized (subscriber) {
+                    if (subscriber.writer == null || now - subscriber.writeStartedNanos < writeTimeoutNanos) {
+                        continue;
+                    }
+                    subscriber.writer.interrupt();
+                }
+                logger.info("Closing subscriber of Location ID {} stalled in a write", subscriber.locationId);
+                unregister(subscriber);
+                subscriber.queue.clear();
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    /**Counts the current subscribers of a location.*/
+    public int getSubscriberCount(Integer locationId) {
+        Set<Subscriber> locationSubscribers = subscribers.get(locationId);
+        return locationSubscribers != null ? locationSubscribers.size() : 0;
+    }
+
+    /**Counts the events dropped for slow subscribers.*/
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**Stops the sender threads and closes all open streams.*/
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.values().forEach(locationSubscribers ->
+                locationSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    /**Buffers an event for a subscriber, applying the slow-consumer policy when the buffer is full.*/
+    private void enqueue(Subscriber subscriber, Object event) {
+        while (!subscriber.queue.offer(event)) {
+            dropped.increment();
+            if (closeSlowSubscribers) {
+                logger.info("Closing slow subscriber of Location ID {}", subscriber.locationId);
+                unregister(subscriber);
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.queue.poll();
+        }
+        scheduleDrain(subscriber);
+    }
+
+    /**Starts a sender for the subscriber unless one is already draining its buffer.*/
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    /**Writes buffered events to the subscriber's connection until the buffer is empty.*/
+    private void drain(Subscriber subscriber) {
+        try {
+            Object event;
+            while ((event = subscriber.queue.poll()) != null) {
+                beginWrite(subscriber);
+                try {
+                    send(subscriber, event);
+                } finally {
+                    endWrite(subscriber);
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Dropping subscriber of Location ID {}: {}", subscriber.locationId, e.getMessage());
+            unregister(subscriber);
+            subscriber.queue.clear();
+        } finally {
+            subscriber.draining.set(false);
+            Thread.interrupted();
+        }
+        if (!subscriber.queue.isEmpty() && isRegistered(subscriber)) {
+            scheduleDrain(subscriber);
+        }
+    }
+
+    /**Writes one buffered event to the subscriber's connection.*/
+    private static void send(Subscriber subscriber, Object event) throws IOException {
+        if (event == HEARTBEAT) {
+            subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+        } else {
+            SunriseSunsetDTO dto = (SunriseSunsetDTO) event;
+            subscriber.emitter.send(SseEmitter.event()
+                    .name(EVENT_NAME)
+                    .id(String.valueOf(dto.getId()))
+                    .data(dto, MediaType.APPLICATION_JSON));
+        }
+    }
+
+    /**Records that the current thread started writing to a subscriber.*/
+    private static void beginWrite(Subscriber subscriber) {
+        synchronized (subscriber) {
+            subscriber.writer = Thread.currentThread();
+            subscriber.writeStartedNanos = System.nanoTime();
+        }
+    }
+
+    /**Records that the current write finished, so a late deadline check no longer interrupts this thread.*/
+    private static void endWrite(Subscriber subscriber) {
+        synchronized (subscriber) {
+            subscriber.writer = null;
+        }
+    }
+
+    /**Checks whether a subscriber is still registered.*/
+    private boolean isRegistered(Subscriber subscriber) {
+        Set<Subscriber> locationSubscribers = subscribers.get(subscriber.locationId);
+        return locationSubscribers != null && locationSubscribers.contains(subscriber);
+    }
+
+    /**Removes a subscriber and drops the location's entry once it has none left.*/
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.locationId, (key, locationSubscribers) -> {
+            locationSubscribers.remove(subscriber);
+            return locationSubscribers.isEmpty() ? null : locationSubscribers;
+        });
+    }
+
+    /**A subscriber connection with its bounded event buffer.*/
+    private static final class Subscriber {
+
+        /** The subscribed location ID. */
+        private final Integer locationId;
+
+        /** The connection to the subscriber. */
+        private final SseEmitter emitter;
+
+        /** Events waiting to be written. */
+        private final BlockingQueue<Object> queue;
+
+        /** Whether a sender is currently writing this subscriber's events. */
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        /** The sender thread inside a write to the connection, or null between writes; guarded by this. */
+        private Thread writer;
+
+        /** The System.nanoTime() at which the current write started; guarded by this. */
+        private long writeStartedNanos;
+
+        /**Constructs a Subscriber.*/
+        private Subscriber(Integer locationId, SseEmitter emitter, BlockingQueue<Object> queue) {
+            this.locationId = locationId;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.SunriseSunset.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+/**Background worker creating the yearly partitions of the sunrise and sunset table ahead of time.*/
+@Component
+@ConditionalOnProperty(name = "sun.partitions.enabled", havingValue = "true")
+public class SunriseSunsetPartitionWorker {
+
+    /** Logger instance for logging created partitions. */
+    private static final Logger logger = LoggerFactory.getLogger(SunriseSunsetPartitionWorker.class);
+
+    /** JDBC access calling the partition function of db/partition_sunrise_and_sunset.sql. */
+    private final JdbcTemplate jdbcTemplate;
+
+    /** The number of years after the current one that must already have a partition. */
+    private final int yearsAhead;
+
+    /**Constructs a SunriseSunsetPartitionWorker with the specified dependencies.*/
+    public SunriseSunsetPartitionWorker(JdbcTemplate jdbcTemplate,
+                                        @Value("${sun.partitions.years-ahead:2}") int yearsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.yearsAhead = yearsAhead;
+    }
+
+    /**Creates missing partitions from the current year through the configured years ahead, on startup and monthly.*/
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${sun.partitions.cron:0 0 4 1 * *}")
+    public void createUpcomingPartitions() {
+        int currentYear = LocalDate.now(ZoneOffset.UTC).getYear();
+        for (int year = currentYear; year <= currentYear + yearsAhead; year++) {
+            jdbcTemplate.queryForList("SELECT create_sunrise_and_sunset_partition(?)", year);
+        }
+        logger.info("Ensured sunrise_and_sunset partitions for {} through {}", currentYear, currentYear + yearsAhead);
+    }
+}
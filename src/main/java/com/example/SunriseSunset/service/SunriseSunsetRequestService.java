@@ -0,0 +1,189 @@
+package com.example.SunriseSunset.service;
+
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetTicketDTO;
+import com.example.SunriseSunset.model.RequestStatus;
+import com.example.SunriseSunset.model.SunriseSunsetRequestEntity;
+import com.example.SunriseSunset.repository.SunriseSunsetRequestRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**Service class for the write-behind mode of sunrise and sunset creation.*/
+@Service
+public class SunriseSunsetRequestService {
+
+    /** Logger instance for logging service operations. */
+    private static final Logger logger = LoggerFactory.getLogger(SunriseSunsetRequestService.class);
+
+    /** Repository for the request outbox table. */
+    private final SunriseSunsetRequestRepository requestRepository;
+
+    /** Service resolving and storing sunrise and sunset entries. */
+    private final SunriseSunsetService sunService;
+
+    /** Template for the short claim and completion transactions. */
+    private final TransactionTemplate transactionTemplate;
+
+    /** JDBC access writing request outcomes without loading the claimed rows again. */
+    private final JdbcTemplate jdbcTemplate;
+
+    /** Whether requests may be queued at all. */
+    private final boolean enabled;
+
+    /** The maximum number of requests claimed by one worker pass. */
+    private final int batchSize;
+
+    /** Minutes after which a claimed but unfinished request is handed out again. */
+    private final long claimTimeoutMinutes;
+
+    /**Constructs a SunriseSunsetRequestService with the specified dependencies.*/
+    @Autowired
+    public SunriseSunsetRequestService(SunriseSunsetRequestRepository requestRepository,
+                                       SunriseSunsetService sunService,
+                                       TransactionTemplate transactionTemplate,
+                                       JdbcTemplate jdbcTemplate,
+                                       @Value("${sun.write-behind.enabled:false}") boolean enabled,
+                                       @Value("${sun.write-behind.batch-size:50}") int batchSize,
+                                       @Value("${sun.write-behind.claim-timeout-minutes:5}") long claimTimeoutMinutes) {
+        this.requestRepository = requestRepository;
+        this.sunService = sunService;
+        this.transactionTemplate = transactionTemplate;
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.claimTimeoutMinutes = claimTimeoutMinutes;
+    }
+
+    /**Queues a sunrise and sunset creation request and returns its ticket.*/
+    public SunriseSunsetTicketDTO enqueue(SunriseSunsetDTO dto) {
+        if (!enabled) {
+            throw new IllegalStateException("Write-behind mode is disabled");
+        }
+        if (dto.getDate() == null || dto.getLatitude() == null || dto.getLongitude() == null) {
+            throw new IllegalArgumentException("Date, latitude and longitude are required");
+        }
+        SunriseSunsetRequestEntity entity = new SunriseSunsetRequestEntity();
+        entity.date = dto.getDate();
+        entity.latitude = dto.getLatitude();
+        entity.longitude = dto.getLongitude();
+        if (dto.getLocationIds() != null && !dto.getLocationIds().isEmpty()) {
+            entity.locationIds = dto.getLocationIds().stream().mapToInt(Integer::intValue).toArray();
+        }
+        entity.status = RequestStatus.PENDING;
+        entity.createdAt = OffsetDateTime.now(ZoneOffset.UTC);
+        SunriseSunsetRequestEntity saved = requestRepository.save(entity);
+        logger.info("Queued SunriseSunset request with ticket {}", saved.id);
+        return convertToDTO(saved);
+    }
+
+    /**Retrieves the state of a queued request by its ticket ID.*/
+    public SunriseSunsetTicketDTO getTicket(Long ticketId) {
+        return requestRepository.findById(ticketId)
+                .map(this::convertToDTO)
+                .orElse(null);
+    }
+
+    /**Gets the maximum number of requests claimed by one worker pass.*/
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**Claims one batch of queued requests, resolves them and stores the results; returns the batch size.*/
+    public int processBatch() {
+        List<SunriseSunsetRequestEntity> claimed = claimBatch();
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<SunriseSunsetRequestEntity> resolvedRequests = new ArrayList<>();
+        List<SunriseSunsetDTO> resolvedDtos = new ArrayList<>();
+        for (SunriseSunsetRequestEntity request : claimed) {
+            SunriseSunsetDTO dto = new SunriseSunsetDTO(request.date, request.latitude, request.longitude);
+            if (request.locationIds != null) {
+                dto.setLocationIds(Arrays.stream(request.locationIds).boxed().collect(Collectors.toList()));
+            }
+            try {
+                resolvedDtos.add(sunService.resolveSunTimes(dto));
+                resolvedRequests.add(request);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to resolve SunriseSunset request {}: {}", request.id, e.getMessage());
+                markCompleted(request, RequestStatus.FAILED, null, e.getMessage());
+            }
+        }
+
+        if (resolvedDtos.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> completeRequests(claimed));
+        } else {
+            try {
+                sunService.saveResolvedInBatch(resolvedDtos, saved -> {
+                    for (int i = 0; i < saved.size(); i++) {
+                        markCompleted(resolvedRequests.get(i), RequestStatus.DONE, saved.get(i).getId(), null);
+                    }
+                    completeRequests(claimed);
+                });
+            } catch (RuntimeException e) {
+                logger.error("Failed to store batch of {} SunriseSunset requests: {}", resolvedDtos.size(), e.getMessage());
+                resolvedRequests.forEach(request -> markCompleted(request, RequestStatus.FAILED, null, e.getMessage()));
+                transactionTemplate.executeWithoutResult(status -> completeRequests(claimed));
+            }
+        }
+        logger.info("Processed {} queued SunriseSunset requests", claimed.size());
+        return claimed.size();
+    }
+
+    /**Marks claimable requests as processing in a short transaction so other workers skip them.*/
+    private List<SunriseSunsetRequestEntity> claimBatch() {
+        return transactionTemplate.execute(status -> {
+            OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+            List<SunriseSunsetRequestEntity> claimable = requestRepository.findClaimable(
+                    RequestStatus.PENDING, RequestStatus.PROCESSING, now.minusMinutes(claimTimeoutMinutes),
+                    PageRequest.of(0, batchSize));
+            for (SunriseSunsetRequestEntity request : claimable) {
+                request.status = RequestStatus.PROCESSING;
+                request.claimedAt = now;
+            }
+            return requestRepository.saveAll(claimable);
+        });
+    }
+
+    /**Writes the recorded outcomes of claimed requests in one JDBC batch within the current transaction.*/
+    private void completeRequests(List<SunriseSunsetRequestEntity> requests) {
+        jdbcTemplate.batchUpdate("UPDATE sunrise_sunset_requests SET status = ?, result_id = ?, error = ?,"
+                        + " completed_at = ? WHERE id = ?", requests, requests.size(),
+                (statement, request) -> {
+                    statement.setString(1, request.status.name());
+                    statement.setObject(2, request.resultId, Types.INTEGER);
+                    statement.setString(3, request.error);
+                    statement.setObject(4, request.completedAt);
+                    statement.setLong(5, request.id);
+                });
+    }
+
+    /**Records the outcome of a request.*/
+    private void markCompleted(SunriseSunsetRequestEntity request, RequestStatus status,
+                               Integer resultId, String error) {
+        request.status = status;
+        request.resultId = resultId;
+        request.error = error != null && error.length() > 1024 ? error.substring(0, 1024) : error;
+        request.completedAt = OffsetDateTime.now(ZoneOffset.UTC);
+    }
+
+    /**Converts a SunriseSunsetRequestEntity to a SunriseSunsetTicketDTO.*/
+    private SunriseSunsetTicketDTO convertToDTO(SunriseSunsetRequestEntity entity) {
+        return new SunriseSunsetTicketDTO(entity.id, entity.status, entity.resultId, entity.error,
+                entity.createdAt, entity.completedAt);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.SunriseSunset.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**Background worker draining the sunrise and sunset request outbox in batches.*/
+@Component
+@ConditionalOnProperty(name = "sun.write-behind.enabled", havingValue = "true")
+public class SunriseSunsetRequestWorker {
+
+    /** Service processing queued requests. */
+    private final SunriseSunsetRequestService requestService;
+
+    /**Constructs a SunriseSunsetRequestWorker with the specified SunriseSunsetRequestService.*/
+    public SunriseSunsetRequestWorker(SunriseSunsetRequestService requestService) {
+        this.requestService = requestService;
+    }
+
+    /**Drains full batches back to back and waits for the next poll once the queue runs low.*/
+    @Scheduled(fixedDelayString = "${sun.write-behind.poll-interval-ms:500}")
+    public void drain() {
+        int processed;
+        do {
+            processed = requestService.processBatch();
+        } while (processed > 0 && processed == requestService.getBatchSize());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.SunriseSunset.service;
+
+import com.example.SunriseSunset.model.SunriseSunsetArchiveEntity;
+import com.example.SunriseSunset.model.SunriseSunsetEntity;
+import com.example.SunriseSunset.repository.SunriseSunsetArchiveRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**Service class moving sunrise and sunset entries past the retention window into the compact archive.*/
+@Service
+public class SunriseSunsetRetentionService {
+
+    /** Logger instance for logging retention runs. */
+    private static final Logger logger = LoggerFactory.getLogger(SunriseSunsetRetentionService.class);
+
+    /** Repository for the hot sunrise and sunset table. */
+    private final SunriseSunsetRepository sunriseSunsetRepository;
+
+    /** Repository for the compact archive table. */
+    private final SunriseSunsetArchiveRepository archiveRepository;
+
+    /** Service dropping retired entries from the caches and the change feed. */
+    private final SunriseSunsetService sunService;
+
+    /** Template for the short per-batch transactions. */
+    private final TransactionTemplate transactionTemplate;
+
+    /** The number of days kept in the hot table, counted back from today. */
+    private final int keepDays;
+
+    /** The maximum number of entries moved by one transaction. */
+    private final int batchSize;
+
+    /** Pause between batches so that concurrent writers get the table back. */
+    private final long batchPauseMillis;
+
+    /**Constructs a SunriseSunsetRetentionService with the specified dependencies.*/
+    @Autowired
+    public SunriseSunsetRetentionService(SunriseSunsetRepository sunriseSunsetRepository,
+                                         SunriseSunsetArchiveRepository archiveRepository,
+                                         SunriseSunsetService sunService,
+                                         TransactionTemplate transactionTemplate,
+                                         @Value("${sun.retention.keep-days:730}") int keepDays,
+                                         @Value("${sun.retention.batch-size:500}") int batchSize,
+                                         @Value("${sun.retention.batch-pause-ms:200}") long batchPauseMillis) {
+        this.sunriseSunsetRepository = sunriseSunsetRepository;
+        this.archiveRepository = archiveRepository;
+        this.sunService = sunService;
+        this.transactionTemplate = transactionTemplate;
+        this.keepDays = keepDays;
+        this.batchSize = batchSize;
+        this.batchPauseMillis = batchPauseMillis;
+    }
+
+    /**Archives every entry older than the retention window; returns the number of archived entries.*/
+    public int archiveExpired() {
+        return archiveBefore(LocalDate.now(ZoneOffset.UTC).minusDays(keepDays));
+    }
+
+    /**Archives entries dated before a cutoff batch by batch; returns the number of archived entries.*/
+    public int archiveBefore(LocalDate cutoff) {
+        int archived = 0;
+        List<SunriseSunsetEntity> batch;
+        do {
+            batch = transactionTemplate.execute(status -> archiveBatch(cutoff));
+            if (batch.isEmpty()) {
+                break;
+            }
+            sunService.forgetArchived(batch);
+            archived += batch.size();
+            pause();
+        } while (batch.size() == batchSize);
+        if (archived > 0) {
+            logger.info("Archived {} SunriseSunsets dated before {}", archived, cutoff);
+        }
+        return archived;
+    }
+
+    /**Copies one batch into the archive and deletes it from the hot tables within the current transaction.*/
+    private List<SunriseSunsetEntity> archiveBatch(LocalDate cutoff) {
+        List<SunriseSunsetEntity> entities = sunriseSunsetRepository.findRetirable(cutoff, PageRequest.of(0, batchSize));
+        if (entities.isEmpty()) {
+            return entities;
+        }
+        List<Integer> ids = entities.stream()
+                .map(entity -> entity.id)
+                .collect(Collectors.toList());
+        sunriseSunsetRepository.findAllWithLocationsByIdIn(ids);
+
+        List<SunriseSunsetArchiveEntity> archive = new ArrayList<>(entities.size());
+        for (SunriseSunsetEntity entity : entities) {
+            archive.add(toArchive(entity));
+        }
+        archiveRepository.saveAll(archive);
+        sunriseSunsetRepository.deleteLocationLinksBySunriseSunsetIdIn(ids);
+        sunriseSunsetRepository.deleteRetiredByIdIn(ids, cutoff);
+        sunService.recordArchived(entities);
+        logger.debug("Moved {} SunriseSunsets from {} to {} into the archive",
+                ids.size(), entities.get(0).date, entities.get(entities.size() - 1).date);
+        return entities;
+    }
+
+    /**Converts an entry into its compact archive form.*/
+    private SunriseSunsetArchiveEntity toArchive(SunriseSunsetEntity entity) {
+        SunriseSunsetArchiveEntity archived = new SunriseSunsetArchiveEntity();
+        archived.id = entity.id;
+        archived.date = entity.date;
+        archived.latitude = entity.latitude.floatValue();
+        archived.longitude = entity.longitude.floatValue();
+        archived.sunriseOffsetSeconds = offsetSeconds(entity.date, entity.sunrise);
+        archived.sunsetOffsetSeconds = offsetSeconds(entity.date, entity.sunset);
+        archived.locationIds = entity.locations.stream().mapToInt(location -> location.id).toArray();
+        return archived;
+    }
+
+    /**Converts a time into seconds from midnight UTC of a date, negative for times on the previous UTC day.*/
+    private static Integer offsetSeconds(LocalDate date, OffsetDateTime time) {
+        if (time == null) {
+            return null;
+        }
+        return (int) Duration.between(date.atStartOfDay(ZoneOffset.UTC), time).toSeconds();
+    }
+
+    /**Waits between batches, stopping early when the thread is interrupted.*/
+    private void pause() {
+        if (batchPauseMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(batchPauseMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.SunriseSunset.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**Background worker running the retention job of the sunrise and sunset table on a schedule.*/
+@Component
+@ConditionalOnProperty(name = "sun.retention.enabled", havingValue = "true")
+public class SunriseSunsetRetentionWorker {
+
+    /** Service moving expired entries into the archive. */
+    private final SunriseSunsetRetentionService retentionService;
+
+    /**Constructs a SunriseSunsetRetentionWorker with the specified SunriseSunsetRetentionService.*/
+    public SunriseSunsetRetentionWorker(SunriseSunsetRetentionService retentionService) {
+        this.retentionService = retentionService;
+    }
+
+    /**Archives entries past the retention window, off-peak by default.*/
+    @Scheduled(cron = "${sun.retention.cron:0 30 3 * * *}")
+    public void run() {
+        retentionService.archiveExpired();
+    }
+}
@@ -1,21 +1,40 @@
 package com.example.SunriseSunset.service;
 
+import com.example.SunriseSunset.cache.AggregateCache;
+import com.example.SunriseSunset.cache.CompositeCache;
+import com.example.SunriseSunset.cache.NegativeCacheEntry;
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.LocationDTO;
 import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.model.ChangeEntityType;
 import com.example.SunriseSunset.model.LocationEntity;
 import com.example.SunriseSunset.model.SunriseSunsetEntity;
 import com.example.SunriseSunset.dto.SunriseSunsetModel;
+import com.example.SunriseSunset.exception.UpstreamThrottledException;
 import com.example.SunriseSunset.repository.LocationRepository;
 import com.example.SunriseSunset.repository.SunriseSunsetRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**Service class for managing sunrise and sunset-related operations.*/
@@ -25,12 +44,42 @@ public class SunriseSunsetService {
     /** Logger instance for logging service operations. */
     private static final Logger logger = LoggerFactory.getLogger(SunriseSunsetService.class);
 
+    /** The maximum number of IDs accepted by a single multi-get request. */
+    private static final int MAX_IDS_PER_REQUEST = 500;
+
+    /** Cache key of the list of all sunrise and sunset entries. */
+    private static final String ALL_KEY = "SunriseSunset_All";
+
+    /** Cache key prefix of the lists of sunrise and sunset entries per location. */
+    private static final String BY_LOCATION_PREFIX = "SunriseSunset_Location_";
+
+    /** Cache group prefix of the locations read together with their entries in a date range. */
+    private static final String LOCATION_FULL_GROUP_PREFIX = "Location_Full_";
+
     /** The URL of the external sunrise-sunset API. */
     private final String SUN_API_URL = "https://api.sunrise-sunset.org/json";
 
     /** RestTemplate for making HTTP requests to the external API. */
     private final RestTemplate restTemplate;
 
+    /** Scheduler enforcing the call budget towards the external API. */
+    private final UpstreamScheduler upstreamScheduler;
+
+    /** Optional coordinate grid in front of the external API. */
+    private final GridSunTimesCache gridSunTimesCache;
+
+    /** Pushes created and updated entries to stream subscribers of their locations. */
+    private final SunTimesStreamHub sunTimesStreamHub;
+
+    /** Drops stored calendars whose linked coordinates changed. */
+    private final LocationCalendarService locationCalendarService;
+
+    /** Records versioned changes for the change feed. */
+    private final ChangeLogService changeLogService;
+
+    /** Runs each entity write together with its change log rows in one transaction. */
+    private final TransactionTemplate transactionTemplate;
+
     /** Repository for sunrise and sunset-related database operations. */
     private final SunriseSunsetRepository sunriseSunsetRepository;
 
@@ -40,21 +89,49 @@ public class SunriseSunsetService {
     /** Cache for storing sunrise and sunset-related data. */
     private final Map<String, Object> entityCache;
 
+    /** Incrementally maintained aggregate lists stored in the entity cache. */
+    private final AggregateCache aggregateCache;
+
+    /** Locations read together with their entries, invalidated per location. */
+    private final CompositeCache compositeCache;
+
+    /** Lifetime of cached "not found" and empty results in milliseconds. */
+    private final long negativeTtlMillis;
+
     /**Constructs a SunriseSunsetService with the specified dependencies.*/
     @Autowired
     public SunriseSunsetService(RestTemplate restTemplate,
+                                UpstreamScheduler upstreamScheduler,
+                                GridSunTimesCache gridSunTimesCache,
+                                SunTimesStreamHub sunTimesStreamHub,
+                                LocationCalendarService locationCalendarService,
+                                ChangeLogService changeLogService,
+                                TransactionTemplate transactionTemplate,
                                 SunriseSunsetRepository sunriseSunsetRepository,
                                 LocationRepository locationRepository,
-                                Map<String, Object> entityCache) {
+                                Map<String, Object> entityCache,
+                                AggregateCache aggregateCache,
+                                CompositeCache compositeCache,
+                                @Value("${cache.negative-ttl-ms:30000}") long negativeTtlMillis) {
         this.restTemplate = restTemplate;
+        this.upstreamScheduler = upstreamScheduler;
+        this.gridSunTimesCache = gridSunTimesCache;
+        this.sunTimesStreamHub = sunTimesStreamHub;
+        this.locationCalendarService = locationCalendarService;
+        this.changeLogService = changeLogService;
+        this.transactionTemplate = transactionTemplate;
         this.sunriseSunsetRepository = sunriseSunsetRepository;
         this.locationRepository = locationRepository;
         this.entityCache = entityCache;
+        this.aggregateCache = aggregateCache;
+        this.compositeCache = compositeCache;
+        this.negativeTtlMillis = negativeTtlMillis;
     }
 
     /**Creates a new sunrise and sunset entry.*/
     public SunriseSunsetDTO createSunriseSunset(SunriseSunsetDTO dto) {
-        SunriseSunsetModel sunData = getSunriseSunset(dto.getLatitude(), dto.getLongitude(), dto.getDate().toString());
+        SunriseSunsetModel sunData = getSunriseSunset(dto.getLatitude(), dto.getLongitude(),
+                dto.getDate().toString(), UpstreamPriority.INTERACTIVE);
         SunriseSunsetEntity entity = new SunriseSunsetEntity();
         entity.date = dto.getDate();
         entity.latitude = dto.getLatitude();
@@ -62,27 +139,102 @@ public class SunriseSunsetService {
         entity.sunrise = OffsetDateTime.parse(sunData.getResults().getSunrise());
         entity.sunset = OffsetDateTime.parse(sunData.getResults().getSunset());
 
-        if (dto.getLocationIds() != null && !dto.getLocationIds().isEmpty()) {
-            List<LocationEntity> locations = locationRepository.findAllById(dto.getLocationIds());
-            entity.locations = locations;
-        }
-
-        SunriseSunsetEntity savedEntity = sunriseSunsetRepository.save(entity);
+        SunriseSunsetEntity savedEntity = transactionTemplate.execute(status -> {
+            if (dto.getLocationIds() != null && !dto.getLocationIds().isEmpty()) {
+                List<LocationEntity> locations = locationRepository.findAllById(dto.getLocationIds());
+                entity.locations.addAll(locations);
+            }
+            SunriseSunsetEntity saved = sunriseSunsetRepository.save(entity);
+            recordUpsert(saved.id, locationIdsOf(saved));
+            return saved;
+        });
         SunriseSunsetDTO savedDto = convertToDTO(savedEntity);
         logger.info("Caching SunriseSunset with ID {} after creation", savedEntity.id);
         entityCache.put("SunriseSunset_" + savedEntity.id, savedDto);
-        logger.debug("Invalidating SunriseSunset_All cache after creation of SunriseSunset ID {}", savedEntity.id);
-        entityCache.remove("SunriseSunset_All");
+        publishUpsert(savedDto, savedDto.getLocationIds(), Set.of());
+        evictDateQueries(savedEntity.date, savedEntity.locations);
         return savedDto;
     }
 
+    /**Fills in sunrise and sunset times of an entry from the external API at background priority.*/
+    public SunriseSunsetDTO resolveSunTimes(SunriseSunsetDTO dto) {
+        SunriseSunsetModel sunData = getSunriseSunset(dto.getLatitude(), dto.getLongitude(),
+                dto.getDate().toString(), UpstreamPriority.BACKGROUND);
+        dto.setSunrise(OffsetDateTime.parse(sunData.getResults().getSunrise()));
+        dto.setSunset(OffsetDateTime.parse(sunData.getResults().getSunset()));
+        return dto;
+    }
+
+    /**Stores entries with already resolved sunrise and sunset times in one batch, in the transaction of the caller's own writes for them.*/
+    public List<SunriseSunsetDTO> saveResolvedInBatch(List<SunriseSunsetDTO> dtos,
+                                                      Consumer<List<SunriseSunsetDTO>> inTransaction) {
+        List<SunriseSunsetEntity> savedEntities = new ArrayList<>();
+        List<SunriseSunsetDTO> savedDtos = transactionTemplate.execute(status -> {
+            savedEntities.addAll(storeResolved(dtos));
+            List<SunriseSunsetDTO> stored = savedEntities.stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            inTransaction.accept(stored);
+            return stored;
+        });
+        for (SunriseSunsetDTO savedDto : savedDtos) {
+            entityCache.put("SunriseSunset_" + savedDto.getId(), savedDto);
+            publishUpsert(savedDto, savedDto.getLocationIds(), Set.of());
+        }
+        logger.info("Stored {} SunriseSunsets in batch", savedDtos.size());
+        savedEntities.forEach(saved -> evictDateQueries(saved.date, saved.locations));
+        return savedDtos;
+    }
+
+    /**Inserts resolved entries and records them in the change log within the current transaction.*/
+    private List<SunriseSunsetEntity> storeResolved(List<SunriseSunsetDTO> dtos) {
+        Set<Integer> requestedLocationIds = dtos.stream()
+                .filter(dto -> dto.getLocationIds() != null)
+                .flatMap(dto -> dto.getLocationIds().stream())
+                .collect(Collectors.toSet());
+        Map<Integer, LocationEntity> locationsById = new HashMap<>();
+        if (!requestedLocationIds.isEmpty()) {
+            for (LocationEntity location : locationRepository.findAllById(requestedLocationIds)) {
+                locationsById.put(location.id, location);
+            }
+        }
+
+        List<SunriseSunsetEntity> entities = new ArrayList<>(dtos.size());
+        for (SunriseSunsetDTO dto : dtos) {
+            SunriseSunsetEntity entity = new SunriseSunsetEntity();
+            entity.date = dto.getDate();
+            entity.latitude = dto.getLatitude();
+            entity.longitude = dto.getLongitude();
+            entity.sunrise = dto.getSunrise();
+            entity.sunset = dto.getSunset();
+            if (dto.getLocationIds() != null) {
+                dto.getLocationIds().stream()
+                        .map(locationsById::get)
+                        .filter(Objects::nonNull)
+                        .forEach(entity.locations::add);
+            }
+            entities.add(entity);
+        }
+
+        List<SunriseSunsetEntity> savedEntities = sunriseSunsetRepository.saveAll(entities);
+        changeLogService.recordUpserts(ChangeEntityType.SUNRISE_SUNSET,
+                savedEntities.stream().map(saved -> saved.id).collect(Collectors.toList()));
+        recordRelinked(locationsById.keySet());
+        return savedEntities;
+    }
+
     /**Retrieves a sunrise and sunset entry by its ID.*/
     @SuppressWarnings("unchecked")
     public SunriseSunsetDTO getSunriseSunsetById(Integer id) {
         String cacheKey = "SunriseSunset_" + id;
-        if (entityCache.containsKey(cacheKey)) {
+        Object cached = entityCache.get(cacheKey);
+        if (cached instanceof NegativeCacheEntry negative && !negative.isExpired()) {
+            logger.debug("Negative cache hit for SunriseSunset ID {}", id);
+            return null;
+        }
+        if (cached instanceof SunriseSunsetDTO dto) {
             logger.debug("Cache hit for SunriseSunset ID {}", id);
-            return (SunriseSunsetDTO) entityCache.get(cacheKey);
+            return dto;
         }
         logger.debug("Cache miss for SunriseSunset ID {}, querying database", id);
         Optional<SunriseSunsetEntity> entity = sunriseSunsetRepository.findById(id);
@@ -92,29 +244,60 @@ public class SunriseSunsetService {
             entityCache.put(cacheKey, dto);
             return dto;
         }
+        logger.debug("Caching missing SunriseSunset ID {} for {} ms", id, negativeTtlMillis);
+        entityCache.put(cacheKey, NegativeCacheEntry.expiringIn(negativeTtlMillis));
         return null;
     }
 
-    /**Retrieves all sunrise and sunset entries.*/
-    @SuppressWarnings("unchecked")
-    public List<SunriseSunsetDTO> getAllSunriseSunsets() {
-        String cacheKey = "SunriseSunset_All";
-        if (entityCache.containsKey(cacheKey)) {
-            logger.debug("Cache hit for all SunriseSunsets");
-            return (List<SunriseSunsetDTO>) entityCache.get(cacheKey);
+    /**Retrieves sunrise and sunset entries by IDs, loading all cache misses with a single query.*/
+    public List<SunriseSunsetDTO> getSunriseSunsetsByIds(List<Integer> ids) {
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            throw new IllegalArgumentException("Too many IDs requested: " + ids.size()
+                    + ", maximum is " + MAX_IDS_PER_REQUEST);
         }
-        logger.debug("Cache miss for all SunriseSunsets, querying database");
-        List<SunriseSunsetEntity> entities = sunriseSunsetRepository.findAll();
-        List<SunriseSunsetDTO> dtos = entities.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        for (SunriseSunsetDTO dto : dtos) {
-            logger.info("Caching SunriseSunset with ID {} after database query", dto.getId());
-            entityCache.put("SunriseSunset_" + dto.getId(), dto);
+        Map<Integer, SunriseSunsetDTO> found = new HashMap<>();
+        List<Integer> missingIds = new ArrayList<>();
+        for (Integer id : new LinkedHashSet<>(ids)) {
+            Object cached = entityCache.get("SunriseSunset_" + id);
+            if (cached instanceof SunriseSunsetDTO dto) {
+                found.put(id, dto);
+            } else if (!(cached instanceof NegativeCacheEntry negative) || negative.isExpired()) {
+                missingIds.add(id);
+            }
         }
-        logger.info("Caching all SunriseSunsets under SunriseSunset_All");
-        entityCache.put(cacheKey, dtos);
-        return dtos;
+        logger.debug("Multi-get for {} SunriseSunset IDs: {} cache hits, {} misses",
+                ids.size(), found.size(), missingIds.size());
+        if (!missingIds.isEmpty()) {
+            for (SunriseSunsetEntity entity : sunriseSunsetRepository.findAllWithLocationsByIdIn(missingIds)) {
+                SunriseSunsetDTO dto = convertToDTO(entity);
+                entityCache.put("SunriseSunset_" + entity.id, dto);
+                found.put(entity.id, dto);
+            }
+            for (Integer missingId : missingIds) {
+                if (!found.containsKey(missingId)) {
+                    entityCache.put("SunriseSunset_" + missingId, NegativeCacheEntry.expiringIn(negativeTtlMillis));
+                }
+            }
+        }
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**Retrieves all sunrise and sunset entries as an ID-sorted snapshot.*/
+    public List<SunriseSunsetDTO> getAllSunriseSunsets() {
+        return aggregateCache.getOrRebuild(ALL_KEY, () -> {
+            logger.debug("Cache miss for all SunriseSunsets, querying database");
+            List<SunriseSunsetDTO> dtos = sunriseSunsetRepository.findAllWithLocations().stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            for (SunriseSunsetDTO dto : dtos) {
+                entityCache.put("SunriseSunset_" + dto.getId(), dto);
+            }
+            logger.info("Caching all {} SunriseSunsets under {}", dtos.size(), ALL_KEY);
+            return dtos;
+        }, SunriseSunsetDTO::getId);
     }
 
     /**Updates an existing sunrise and sunset entry.*/
@@ -122,69 +305,133 @@ public class SunriseSunsetService {
         Optional<SunriseSunsetEntity> existing = sunriseSunsetRepository.findById(id);
         if (existing.isPresent()) {
             SunriseSunsetEntity entity = existing.get();
+            evictDateQueries(entity.date, entity.locations);
             entity.date = dto.getDate();
             entity.latitude = dto.getLatitude();
             entity.longitude = dto.getLongitude();
-            SunriseSunsetModel sunData = getSunriseSunset(dto.getLatitude(), dto.getLongitude(), dto.getDate().toString());
+            SunriseSunsetModel sunData = getSunriseSunset(dto.getLatitude(), dto.getLongitude(),
+                    dto.getDate().toString(), UpstreamPriority.INTERACTIVE);
             entity.sunrise = OffsetDateTime.parse(sunData.getResults().getSunrise());
             entity.sunset = OffsetDateTime.parse(sunData.getResults().getSunset());
 
-            if (dto.getLocationIds() != null && !dto.getLocationIds().isEmpty()) {
-                List<LocationEntity> locations = locationRepository.findAllById(dto.getLocationIds());
-                entity.locations = locations;
-            } else {
-                entity.locations.clear();
-            }
-
-            SunriseSunsetEntity updatedEntity = sunriseSunsetRepository.save(entity);
+            Set<Integer> requestedIds = dto.getLocationIds() != null
+                    ? new HashSet<>(dto.getLocationIds())
+                    : Set.of();
+            List<Integer> staleIds = entity.locations.stream()
+                    .map(location -> location.id)
+                    .filter(linkedId -> !requestedIds.contains(linkedId))
+                    .collect(Collectors.toList());
+            Set<Integer> changedIds = new HashSet<>();
+            SunriseSunsetEntity updatedEntity = transactionTemplate.execute(status -> {
+                changedIds.addAll(applyLocationChanges(entity, requestedIds, staleIds));
+                SunriseSunsetEntity saved = sunriseSunsetRepository.save(entity);
+                recordUpsert(saved.id, changedIds);
+                locationCalendarService.evictCalendars(locationIdsOf(saved));
+                return saved;
+            });
             SunriseSunsetDTO updatedDto = convertToDTO(updatedEntity);
             logger.info("Updating cache for SunriseSunset with ID {}", id);
             entityCache.put("SunriseSunset_" + id, updatedDto);
-            logger.debug("Invalidating SunriseSunset_All cache after update of SunriseSunset ID {}", id);
-            entityCache.remove("SunriseSunset_All");
+            publishLinkChanges(updatedDto, changedIds);
+            evictDateQueries(updatedEntity.date, updatedEntity.locations);
             return updatedDto;
         }
         return null;
     }
 
+    /**Adds and removes individual location links of a sunrise and sunset entry.*/
+    public SunriseSunsetDTO patchLocationLinks(Integer id, LinkPatchDTO patch) {
+        Optional<SunriseSunsetEntity> existing = sunriseSunsetRepository.findById(id);
+        if (existing.isEmpty()) {
+            return null;
+        }
+        SunriseSunsetEntity entity = existing.get();
+        Set<Integer> changedIds = new HashSet<>();
+        SunriseSunsetEntity updatedEntity = transactionTemplate.execute(status -> {
+            changedIds.addAll(applyLocationChanges(entity, patch.getAdd(), patch.getRemove()));
+            if (changedIds.isEmpty()) {
+                return null;
+            }
+            SunriseSunsetEntity saved = sunriseSunsetRepository.save(entity);
+            recordUpsert(saved.id, changedIds);
+            return saved;
+        });
+        if (updatedEntity == null) {
+            return convertToDTO(entity);
+        }
+        SunriseSunsetDTO updatedDto = convertToDTO(updatedEntity);
+        logger.info("Updating cache for SunriseSunset with ID {} after link patch", id);
+        entityCache.put("SunriseSunset_" + id, updatedDto);
+        publishLinkChanges(updatedDto, changedIds);
+        evictDateQueries(updatedEntity.date, updatedEntity.locations);
+        return updatedDto;
+    }
+
     /**Deletes a sunrise and sunset entry by its ID.*/
     public void deleteSunriseSunset(Integer id) {
-        sunriseSunsetRepository.deleteById(id);
-        logger.info("Removing SunriseSunset with ID {} from cache", id);
-        entityCache.remove("SunriseSunset_" + id);
-        logger.debug("Invalidating SunriseSunset_All cache after deletion of SunriseSunset ID {}", id);
-        entityCache.remove("SunriseSunset_All");
+        Optional<SunriseSunsetEntity> existing = sunriseSunsetRepository.findById(id);
+        if (existing.isEmpty()) {
+            return;
+        }
+        SunriseSunsetEntity entity = existing.get();
+        List<Integer> locationIds = entity.locations.stream()
+                .map(location -> location.id)
+                .collect(Collectors.toList());
+        evictDateQueries(entity.date, entity.locations);
+        transactionTemplate.executeWithoutResult(status -> {
+            sunriseSunsetRepository.delete(entity);
+            changeLogService.recordDelete(ChangeEntityType.SUNRISE_SUNSET, id);
+            recordRelinked(locationIds);
+        });
+        logger.info("Replacing SunriseSunset with ID {} in cache by a negative entry", id);
+        evictDeleted(id, locationIds);
     }
 
-    /**Retrieves sunrise and sunset entries by location ID.*/
-    @SuppressWarnings("unchecked")
-    public List<SunriseSunsetDTO> getSunriseSunsetsByLocationId(Integer locationId) {
-        String cacheKey = "SunriseSunset_Location_" + locationId;
-        if (entityCache.containsKey(cacheKey)) {
-            logger.debug("Cache hit for SunriseSunsets by Location ID {}", locationId);
-            return (List<SunriseSunsetDTO>) entityCache.get(cacheKey);
+    /**Records entries removed by the retention job as deleted, within the transaction that removes them.*/
+    public void recordArchived(Collection<SunriseSunsetEntity> entities) {
+        List<Integer> ids = new ArrayList<>(entities.size());
+        Set<Integer> relinkedLocationIds = new LinkedHashSet<>();
+        for (SunriseSunsetEntity entity : entities) {
+            ids.add(entity.id);
+            relinkedLocationIds.addAll(locationIdsOf(entity));
         }
-        logger.debug("Cache miss for SunriseSunsets by Location ID {}, querying database", locationId);
-        List<SunriseSunsetEntity> entities = sunriseSunsetRepository.findByLocationId(locationId);
-        List<SunriseSunsetDTO> dtos = entities.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-        for (SunriseSunsetDTO dto : dtos) {
-            logger.info("Caching SunriseSunset with ID {} after database query", dto.getId());
-            entityCache.put("SunriseSunset_" + dto.getId(), dto);
+        changeLogService.recordDeletes(ChangeEntityType.SUNRISE_SUNSET, ids);
+        recordRelinked(relinkedLocationIds);
+    }
+
+    /**Drops entries removed by the retention job from the caches once their removal is committed.*/
+    public void forgetArchived(Collection<SunriseSunsetEntity> entities) {
+        for (SunriseSunsetEntity entity : entities) {
+            evictDateQueries(entity.date, entity.locations);
+            evictDeleted(entity.id, locationIdsOf(entity));
         }
-        logger.info("Caching SunriseSunsets by Location ID {} under key {}", locationId, cacheKey);
-        entityCache.put(cacheKey, dtos);
-        return dtos;
+        logger.info("Dropped {} archived SunriseSunsets from cache", entities.size());
+    }
+
+    /**Retrieves sunrise and sunset entries by location ID as an ID-sorted snapshot.*/
+    public List<SunriseSunsetDTO> getSunriseSunsetsByLocationId(Integer locationId) {
+        String cacheKey = BY_LOCATION_PREFIX + locationId;
+        return aggregateCache.getOrRebuild(cacheKey, () -> {
+            logger.debug("Cache miss for SunriseSunsets by Location ID {}, querying database", locationId);
+            List<SunriseSunsetDTO> dtos = sunriseSunsetRepository.findByLocationId(locationId).stream()
+                    .map(this::convertToDTO)
+                    .collect(Collectors.toList());
+            for (SunriseSunsetDTO dto : dtos) {
+                entityCache.put("SunriseSunset_" + dto.getId(), dto);
+            }
+            logger.info("Caching SunriseSunsets by Location ID {} under key {}", locationId, cacheKey);
+            return dtos;
+        }, SunriseSunsetDTO::getId);
     }
 
     /**Retrieves sunrise and sunset entries by date and location name.*/
     @SuppressWarnings("unchecked")
     public List<SunriseSunsetDTO> getSunriseSunsetsByDateAndLocationName(LocalDate date, String locationName) {
         String cacheKey = "SunriseSunset_Date_" + date + "_Location_" + locationName;
-        if (entityCache.containsKey(cacheKey)) {
+        List<SunriseSunsetDTO> cached = getCachedList(cacheKey);
+        if (cached != null) {
             logger.debug("Cache hit for SunriseSunsets by Date {} and Location {}", date, locationName);
-            return (List<SunriseSunsetDTO>) entityCache.get(cacheKey);
+            return cached;
         }
         logger.debug("Cache miss for SunriseSunsets by Date {} and Location {}, querying database", date, locationName);
         List<SunriseSunsetEntity> entities = sunriseSunsetRepository.findByDateAndLocationName(date, locationName);
@@ -196,10 +443,129 @@ public class SunriseSunsetService {
             entityCache.put("SunriseSunset_" + dto.getId(), dto);
         }
         logger.info("Caching SunriseSunsets by Date {} and Location {} under key {}", date, locationName, cacheKey);
-        entityCache.put(cacheKey, dtos);
+        cacheList(cacheKey, dtos);
         return dtos;
     }
 
+    /**Replaces a deleted entry by a negative entry and removes it from the cached aggregates and locations.*/
+    private void evictDeleted(Integer id, List<Integer> locationIds) {
+        entityCache.put("SunriseSunset_" + id, NegativeCacheEntry.expiringIn(negativeTtlMillis));
+        aggregateCache.remove(ALL_KEY, id, SunriseSunsetDTO::getId);
+        for (Integer locationId : locationIds) {
+            aggregateCache.remove(BY_LOCATION_PREFIX + locationId, id, SunriseSunsetDTO::getId);
+            compositeCache.invalidateGroup(LOCATION_FULL_GROUP_PREFIX + locationId);
+        }
+        relinkCachedLocations(id, Set.of(), locationIds);
+    }
+
+    /**Looks up a cached query result, treating a live negative entry as an empty list; returns null on a miss.*/
+    @SuppressWarnings("unchecked")
+    private List<SunriseSunsetDTO> getCachedList(String cacheKey) {
+        Object cached = entityCache.get(cacheKey);
+        if (cached instanceof NegativeCacheEntry negative) {
+            return negative.isExpired() ? null : new ArrayList<>();
+        }
+        return (List<SunriseSunsetDTO>) cached;
+    }
+
+    /**Caches a query result, storing an empty result as a short-lived negative entry.*/
+    private void cacheList(String cacheKey, List<SunriseSunsetDTO> dtos) {
+        entityCache.put(cacheKey, dtos.isEmpty() ? NegativeCacheEntry.expiringIn(negativeTtlMillis) : dtos);
+    }
+
+    /**Evicts cached date and location name query results that an entry on the date may belong to.*/
+    private void evictDateQueries(LocalDate date, Collection<LocationEntity> locations) {
+        for (LocationEntity location : locations) {
+            entityCache.remove("SunriseSunset_Date_" + date + "_Location_" + location.name);
+        }
+    }
+
+    /**Links and unlinks locations so that only the changed join rows are written.*/
+    private Set<Integer> applyLocationChanges(SunriseSunsetEntity entity,
+                                              Collection<Integer> addIds,
+                                              Collection<Integer> removeIds) {
+        return LinkChanges.apply(entity.locations, linked -> linked.id, addIds, removeIds,
+                locationRepository::findAllById);
+    }
+
+    /**Applies an entry whose location links changed to the cached aggregates and locations.*/
+    private void publishLinkChanges(SunriseSunsetDTO dto, Set<Integer> changedIds) {
+        Set<Integer> linkedIds = new HashSet<>(dto.getLocationIds());
+        List<Integer> unlinkedIds = changedIds.stream()
+                .filter(changedId -> !linkedIds.contains(changedId))
+                .collect(Collectors.toList());
+        List<Integer> newlyLinkedIds = changedIds.stream()
+                .filter(linkedIds::contains)
+                .collect(Collectors.toList());
+        publishUpsert(dto, newlyLinkedIds, unlinkedIds);
+    }
+
+    /**Inserts or replaces a stored entry in the cached aggregates it belongs to, drops it from the others and streams it.*/
+    private void publishUpsert(SunriseSunsetDTO dto, Collection<Integer> newlyLinkedIds,
+                               Collection<Integer> unlinkedIds) {
+        logger.debug("Applying SunriseSunset ID {} to cached aggregates", dto.getId());
+        aggregateCache.upsert(ALL_KEY, dto, SunriseSunsetDTO::getId);
+        for (Integer locationId : dto.getLocationIds()) {
+            aggregateCache.upsert(BY_LOCATION_PREFIX + locationId, dto, SunriseSunsetDTO::getId);
+            compositeCache.invalidateGroup(LOCATION_FULL_GROUP_PREFIX + locationId);
+        }
+        for (Integer locationId : unlinkedIds) {
+            aggregateCache.remove(BY_LOCATION_PREFIX + locationId, dto.getId(), SunriseSunsetDTO::getId);
+            compositeCache.invalidateGroup(LOCATION_FULL_GROUP_PREFIX + locationId);
+        }
+        relinkCachedLocations(dto.getId(), newlyLinkedIds, unlinkedIds);
+        sunTimesStreamHub.publish(dto);
+    }
+
+    /**Records a stored entry and the locations whose links to it changed in the change log.*/
+    private void recordUpsert(Integer id, Collection<Integer> relinkedLocationIds) {
+        changeLogService.recordUpserts(ChangeEntityType.SUNRISE_SUNSET, List.of(id));
+        recordRelinked(relinkedLocationIds);
+    }
+
+    /**Records locations whose linked entries changed and drops their calendars, which average those entries.*/
+    private void recordRelinked(Collection<Integer> locationIds) {
+        changeLogService.recordUpserts(ChangeEntityType.LOCATION, locationIds);
+        locationCalendarService.evictCalendars(locationIds);
+    }
+
+    /**Collects the IDs of the locations linked to an entry.*/
+    private static List<Integer> locationIdsOf(SunriseSunsetEntity entity) {
+        return entity.locations.stream()
+                .map(location -> location.id)
+                .collect(Collectors.toList());
+    }
+
+    /**Adds or removes an entry ID in the cached locations whose links changed.*/
+    private void relinkCachedLocations(Integer sunriseSunsetId, Collection<Integer> linkedIds,
+                                       Collection<Integer> unlinkedIds) {
+        for (Integer locationId : linkedIds) {
+            relinkCachedLocation(locationId, location -> withSunriseSunsetLink(location, sunriseSunsetId, true));
+        }
+        for (Integer locationId : unlinkedIds) {
+            relinkCachedLocation(locationId, location -> withSunriseSunsetLink(location, sunriseSunsetId, false));
+        }
+    }
+
+    /**Applies a change to a cached location and to its copy in the list of all locations.*/
+    private void relinkCachedLocation(Integer locationId, UnaryOperator<LocationDTO> change) {
+        entityCache.computeIfPresent("Location_" + locationId,
+                (key, cached) -> cached instanceof LocationDTO location ? change.apply(location) : cached);
+        aggregateCache.update("Location_All", locationId, LocationDTO::getId, change);
+    }
+
+    /**Copies a location with an entry ID linked or unlinked, leaving the cached original untouched.*/
+    private LocationDTO withSunriseSunsetLink(LocationDTO location, Integer sunriseSunsetId, boolean linked) {
+        List<Integer> sunriseSunsetIds = location.getSunriseSunsetIds() != null
+                ? new ArrayList<>(location.getSunriseSunsetIds())
+                : new ArrayList<>();
+        sunriseSunsetIds.remove(sunriseSunsetId);
+        if (linked) {
+            sunriseSunsetIds.add(sunriseSunsetId);
+        }
+        return new LocationDTO(location.getId(), location.getName(), location.getCountry(), sunriseSunsetIds);
+    }
+
     /**Converts a SunriseSunsetEntity to a SunriseSunsetDTO.*/
     private SunriseSunsetDTO convertToDTO(SunriseSunsetEntity entity) {
         List<Integer> locationIds = entity.locations.stream()
@@ -211,13 +577,27 @@ public class SunriseSunsetService {
         );
     }
 
-    /**Fetches sunrise and sunset data from the external API.*/
-    private SunriseSunsetModel getSunriseSunset(double lat, double lng, String date) {
-        String url = String.format("%s?lat=%f&lng=%f&date=%s&formatted=0", SUN_API_URL, lat, lng, date);
-        try {
-            return restTemplate.getForObject(url, SunriseSunsetModel.class);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to fetch sunrise/sunset data: " + e.getMessage());
+    /**Fetches sunrise and sunset data, through the coordinate grid when it is enabled.*/
+    private SunriseSunsetModel getSunriseSunset(double lat, double lng, String date, UpstreamPriority priority) {
+        if (gridSunTimesCache.isEnabled()) {
+            return gridSunTimesCache.resolve(lat, lng, date,
+                    (cellLat, cellLng) -> fetchSunriseSunset(cellLat, cellLng, date, priority));
         }
+        return fetchSunriseSunset(lat, lng, date, priority);
+    }
+
+    /**Fetches sunrise and sunset data from the external API within the call budget of the priority.*/
+    private SunriseSunsetModel fetchSunriseSunset(double lat, double lng, String date, UpstreamPriority priority) {
+        String url = String.format("%s?lat=%f&lng=%f&date=%s&formatted=0", SUN_API_URL, lat, lng, date);
+        return upstreamScheduler.execute(priority, () -> {
+            try {
+                return restTemplate.getForObject(url, SunriseSunsetModel.class);
+            } catch (HttpClientErrorException.TooManyRequests e) {
+                upstreamScheduler.backOff();
+                throw new UpstreamThrottledException("External API throttled the request", 1);
+            } catch (Exception e) {
+                throw new RuntimeException("Failed to fetch sunrise/sunset data: " + e.getMessage());
+            }
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.example.SunriseSunset.service;
+
+/**Priority classes of calls to the external API, highest first.*/
+public enum UpstreamPriority {
+
+    /** Calls made while an HTTP client waits for the response. */
+    INTERACTIVE,
+
+    /** Calls made by background workers and batch jobs. */
+    BACKGROUND
+}
@@ -0,0 +1,233 @@
+package com.example.SunriseSunset.service;
+
+import com.example.SunriseSunset.dto.UpstreamStatsDTO;
+import com.example.SunriseSunset.exception.UpstreamThrottledException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**Token-bucket scheduler for calls to the external API with bounded per-priority wait queues and in-flight calls.*/
+@Component
+public class UpstreamScheduler {
+
+    /** Logger instance for logging scheduler operations. */
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamScheduler.class);
+
+    /** Shortest sleep between token checks. */
+    private static final long MIN_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Guards the bucket and the wait queues. */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Signalled whenever a permit is taken or a waiter leaves. */
+    private final Condition changed = lock.newCondition();
+
+    /** Bounds calls in flight, which the rate alone does not when the external API slows down. */
+    private final Semaphore inFlight;
+
+    /** Tokens added per nanosecond. */
+    private final double tokensPerNano;
+
+    /** The maximum number of stored tokens. */
+    private final double burst;
+
+    /** The maximum number of waiting callers per priority. */
+    private final int[] queueCapacity;
+
+    /** The maximum wait for a permit per priority in nanoseconds. */
+    private final long[] maxWaitNanos;
+
+    /** Currently stored tokens; negative after a back-off. */
+    private double tokens;
+
+    /** The time of the last refill. */
+    private long lastRefillNanos;
+
+    /** Callers currently waiting per priority. */
+    private final int[] waiting = new int[UpstreamPriority.values().length];
+
+    /** Permits granted per priority. */
+    private final long[] granted = new long[UpstreamPriority.values().length];
+
+    /** Callers rejected per priority. */
+    private final long[] rejected = new long[UpstreamPriority.values().length];
+
+    /** Total wait of granted callers per priority in nanoseconds. */
+    private final long[] totalWaitNanos = new long[UpstreamPriority.values().length];
+
+    /** Longest wait of a granted caller per priority in nanoseconds. */
+    private final long[] maxObservedWaitNanos = new long[UpstreamPriority.values().length];
+
+    /**Constructs an UpstreamScheduler without a limit on calls in flight.*/
+    public UpstreamScheduler(double ratePerSecond, int burst, int interactiveCapacity, long interactiveMaxWaitMillis,
+                             int backgroundCapacity, long backgroundMaxWaitMillis) {
+        this(ratePerSecond, burst, interactiveCapacity, interactiveMaxWaitMillis, backgroundCapacity,
+                backgroundMaxWaitMillis, Integer.MAX_VALUE);
+    }
+
+    /**Constructs an UpstreamScheduler from the application properties.*/
+    @Autowired
+    public UpstreamScheduler(@Value("${sun.upstream.rate-per-second:5}") double ratePerSecond,
+                             @Value("${sun.upstream.burst:10}") int burst,
+                             @Value("${sun.upstream.interactive.queue-capacity:50}") int interactiveCapacity,
+                             @Value("${sun.upstream.interactive.max-wait-ms:2000}") long interactiveMaxWaitMillis,
+                             @Value("${sun.upstream.background.queue-capacity:200}") int backgroundCapacity,
+                             @Value("${sun.upstream.background.max-wait-ms:30000}") long backgroundMaxWaitMillis,
+                             @Value("${sun.upstream.max-concurrent:20}") int maxConcurrent) {
+        this.inFlight = new Semaphore(maxConcurrent);
+        this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.queueCapacity = new int[] {interactiveCapacity, backgroundCapacity};
+        this.maxWaitNanos = new long[] {
+            TimeUnit.MILLISECONDS.toNanos(interactiveMaxWaitMillis),
+            TimeUnit.MILLISECONDS.toNanos(backgroundMaxWaitMillis)
+        };
+        this.tokens = burst;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**Runs the call once a permit and an in-flight slot are available for its priority.*/
+    public <T> T execute(UpstreamPriority priority, Supplier<T> call) {
+        long start = System.nanoTime();
+        acquire(priority);
+        acquireInFlight(priority, start);
+        try {
+            return call.get();
+        } finally {
+            inFlight.release();
+        }
+    }
+
+    /**Empties the bucket after the external API signalled throttling.*/
+    public void backOff() {
+        lock.lock();
+        try {
+            refill();
+            tokens = Math.min(tokens, 0) - burst;
+            logger.warn("External API throttled us, pausing upstream calls for about {} ms",
+                    Math.round(-tokens / tokensPerNano / 1_000_000));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**Reports queue depth, permit and wait-time statistics per priority.*/
+    public List<UpstreamStatsDTO> getStats() {
+        lock.lock();
+        try {
+            List<UpstreamStatsDTO> stats = new ArrayList<>();
+            for (UpstreamPriority priority : UpstreamPriority.values()) {
+                int p = priority.ordinal();
+                double averageWait = granted[p] > 0 ? totalWaitNanos[p] / 1_000_000.0 / granted[p] : 0;
+                stats.add(new UpstreamStatsDTO(priority.name(), waiting[p], granted[p], rejected[p],
+                        averageWait, maxObservedWaitNanos[p] / 1_000_000.0));
+            }
+            return stats;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**Waits for a token, rejecting at once when the priority's queue is full.*/
+    private void acquire(UpstreamPriority priority) {
+        int p = priority.ordinal();
+        long start = System.nanoTime();
+        lock.lock();
+        try {
+            if (waiting[p] >= queueCapacity[p]) {
+                rejected[p]++;
+                throw new UpstreamThrottledException(
+                        "Too many pending " + priority + " calls to the external API", retryAfterSeconds());
+            }
+            waiting[p]++;
+            try {
+                long deadline = start + maxWaitNanos[p];
+                while (true) {
+                    refill();
+                    if (tokens >= 1 && !higherPriorityWaiting(p)) {
+                        tokens -= 1;
+                        break;
+                    }
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        rejected[p]++;
+                        throw new UpstreamThrottledException(
+                                "Timed out waiting for a " + priority + " call slot", retryAfterSeconds());
+                    }
+                    long untilToken = tokens >= 1 ? remaining : (long) ((1 - tokens) / tokensPerNano);
+                    changed.awaitNanos(Math.min(remaining, Math.max(untilToken, MIN_WAIT_NANOS)));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejected[p]++;
+                throw new UpstreamThrottledException("Interrupted while waiting for a call slot", retryAfterSeconds());
+            } finally {
+                waiting[p]--;
+                changed.signalAll();
+            }
+            long waited = System.nanoTime() - start;
+            granted[p]++;
+            totalWaitNanos[p] += waited;
+            maxObservedWaitNanos[p] = Math.max(maxObservedWaitNanos[p], waited);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**Waits for a slot among the calls in flight until the priority's deadline, returning the token on rejection.*/
+    private void acquireInFlight(UpstreamPriority priority, long start) {
+        int p = priority.ordinal();
+        long remaining = start + maxWaitNanos[p] - System.nanoTime();
+        boolean acquired;
+        try {
+            acquired = inFlight.tryAcquire(Math.max(remaining, 0), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            lock.lock();
+            try {
+                rejected[p]++;
+                refill();
+                tokens = Math.min(burst, tokens + 1);
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            throw new UpstreamThrottledException("Too many " + priority + " calls to the external API in flight", 1);
+        }
+    }
+
+    /**Adds the tokens accumulated since the last refill.*/
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+    }
+
+    /**Checks whether callers of a higher priority are waiting.*/
+    private boolean higherPriorityWaiting(int p) {
+        for (int i = 0; i < p; i++) {
+            if (waiting[i] > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**Estimates the seconds until a token becomes available.*/
+    private long retryAfterSeconds() {
+        double missing = Math.max(0, 1 - tokens);
+        return Math.max(1, (long) Math.ceil(missing / tokensPerNano / TimeUnit.SECONDS.toNanos(1)));
+    }
+}
@@ -0,0 +1,29 @@
+-- Creates the change_log table behind GET /changes.
+--
+-- Run once against PostgreSQL 10+ before starting a version that serves the change feed:
+--   psql -d DataBase -v ON_ERROR_STOP=1 -f create_change_log.sql
+--
+-- version is the feed cursor and only ever grows; gaps left by rolled-back writes are harmless.
+-- Every write locks the single change_log_lock row until it commits, so versions become visible in order
+-- and a client cursor can never pass a version that commits later.
+-- The application seeds an empty table with one UPSERT per existing row on startup.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS change_log (
+    version     bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    entity_type varchar(16) NOT NULL CHECK (entity_type IN ('SUNRISE_SUNSET', 'LOCATION')),
+    entity_id   integer NOT NULL,
+    operation   varchar(8) NOT NULL CHECK (operation IN ('UPSERT', 'DELETE')),
+    changed_at  timestamp(6) with time zone NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_change_log_entity ON change_log (entity_type, entity_id);
+
+CREATE TABLE IF NOT EXISTS change_log_lock (
+    id integer PRIMARY KEY
+);
+
+INSERT INTO change_log_lock (id) VALUES (1) ON CONFLICT DO NOTHING;
+
+COMMIT;
@@ -0,0 +1,23 @@
+-- Creates the location_calendars table behind GET /locations/{id}/calendar.
+--
+-- Run once against PostgreSQL 10+ before starting a version that serves calendars:
+--   psql -d DataBase -v ON_ERROR_STOP=1 -f create_location_calendars.sql
+--
+-- Each row holds one year of UTC minutes-of-day for a location, with -1 on days without the event.
+-- The unique (location_id, year) constraint lets concurrent first requests settle on one stored row.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS location_calendars (
+    id                 integer GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    location_id        integer NOT NULL REFERENCES locations (id) ON DELETE CASCADE,
+    year               integer NOT NULL,
+    latitude           double precision NOT NULL,
+    longitude          double precision NOT NULL,
+    utc_offset_minutes integer NOT NULL,
+    sunrise_minutes    integer[] NOT NULL,
+    sunset_minutes     integer[] NOT NULL,
+    CONSTRAINT uk_location_calendars_location_year UNIQUE (location_id, year)
+);
+
+COMMIT;
@@ -0,0 +1,38 @@
+-- Creates the sunrise_sunset_requests outbox behind POST /sun/times/requests and switches
+-- sunrise_and_sunset IDs to a sequence that hands out blocks of 50, so that the write-behind
+-- worker's batch inserts are sent as JDBC batches instead of one round trip per row.
+--
+-- Run once against PostgreSQL 10+ before starting a version with write-behind support:
+--   psql -d DataBase -v ON_ERROR_STOP=1 -f create_sunrise_sunset_requests.sql
+--
+-- The script can be re-run, before or after partition_sunrise_and_sunset.sql, which uses the same sequence.
+
+BEGIN;
+
+CREATE TABLE IF NOT EXISTS sunrise_sunset_requests (
+    id           bigint GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    date         date NOT NULL,
+    latitude     double precision NOT NULL,
+    longitude    double precision NOT NULL,
+    location_ids integer[],
+    status       varchar(16) NOT NULL CHECK (status IN ('PENDING', 'PROCESSING', 'DONE', 'FAILED')),
+    result_id    integer,
+    error        varchar(1024),
+    created_at   timestamp(6) with time zone NOT NULL,
+    claimed_at   timestamp(6) with time zone,
+    completed_at timestamp(6) with time zone
+);
+
+-- Serves the claim query, which scans pending and stale processing requests in ID order.
+CREATE INDEX IF NOT EXISTS idx_sunrise_sunset_requests_status ON sunrise_sunset_requests (status, id);
+
+CREATE SEQUENCE IF NOT EXISTS sunrise_and_sunset_seq AS integer INCREMENT BY 50;
+
+-- Hibernate treats each value as the top of a block of 50, so the next value must leave room
+-- for a whole block above the current maximum ID.
+SELECT setval('sunrise_and_sunset_seq', COALESCE((SELECT MAX(id) FROM sunrise_and_sunset), 0) + 50, false);
+
+ALTER TABLE sunrise_and_sunset ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE sunrise_and_sunset ALTER COLUMN id SET DEFAULT nextval('sunrise_and_sunset_seq');
+
+COMMIT;
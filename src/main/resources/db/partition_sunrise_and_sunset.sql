@@ -0,0 +1,107 @@
+-- Converts sunrise_and_sunset into a table range-partitioned by year of date and adds the
+-- date-leading indexes used by the date-filtered queries and the retention job.
+--
+-- Run once against PostgreSQL 13+ while the application is stopped:
+--   psql -d DataBase -v ON_ERROR_STOP=1 -f partition_sunrise_and_sunset.sql
+--
+-- The old table is kept as sunrise_and_sunset_unpartitioned; drop it once the copy is verified.
+-- Set sun.partitions.enabled=true afterwards so the application keeps creating upcoming years.
+-- A partitioned table only allows unique constraints that contain the partition key, so the
+-- primary key becomes (id, date) and sunrise_sunset_locations loses its foreign key to it.
+-- The application already deletes join rows before their entry, including in the retention job.
+
+BEGIN;
+
+DO $$
+DECLARE
+    fk record;
+BEGIN
+    FOR fk IN SELECT conname, conrelid::regclass AS table_name
+              FROM pg_constraint
+              WHERE contype = 'f' AND confrelid = 'sunrise_and_sunset'::regclass
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.table_name, fk.conname);
+    END LOOP;
+END $$;
+
+ALTER TABLE sunrise_and_sunset RENAME TO sunrise_and_sunset_unpartitioned;
+
+-- Shared with db/create_sunrise_sunset_requests.sql: Hibernate takes IDs from it in blocks of 50.
+CREATE SEQUENCE IF NOT EXISTS sunrise_and_sunset_seq AS integer INCREMENT BY 50;
+
+CREATE TABLE sunrise_and_sunset (
+    id        integer NOT NULL DEFAULT nextval('sunrise_and_sunset_seq'),
+    date      date NOT NULL,
+    latitude  double precision NOT NULL,
+    longitude double precision NOT NULL,
+    sunrise   timestamp(6) with time zone,
+    sunset    timestamp(6) with time zone,
+    PRIMARY KEY (id, date)
+) PARTITION BY RANGE (date);
+
+-- Creates the partition of one year unless it exists. Rows of that year already caught by the default
+-- partition are moved into it, since a default partition holding them would block the attach.
+-- SunriseSunsetPartitionMaintainer calls this ahead of time for the coming years.
+CREATE OR REPLACE FUNCTION create_sunrise_and_sunset_partition(partition_year integer) RETURNS void AS $$
+DECLARE
+    partition_name text := 'sunrise_and_sunset_y' || partition_year;
+    range_start    date := make_date(partition_year, 1, 1);
+    range_end      date := make_date(partition_year + 1, 1, 1);
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN;
+    END IF;
+    EXECUTE format('CREATE TABLE %I (LIKE sunrise_and_sunset INCLUDING DEFAULTS)', partition_name);
+    IF to_regclass('sunrise_and_sunset_default') IS NOT NULL THEN
+        EXECUTE format('WITH moved AS (DELETE FROM sunrise_and_sunset_default WHERE date >= %L AND date < %L'
+                       || ' RETURNING *) INSERT INTO %I SELECT * FROM moved',
+                       range_start, range_end, partition_name);
+    END IF;
+    EXECUTE format('ALTER TABLE sunrise_and_sunset ATTACH PARTITION %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, range_start, range_end);
+END;
+$$ LANGUAGE plpgsql;
+
+SELECT create_sunrise_and_sunset_partition(partition_year)
+FROM generate_series(
+        COALESCE((SELECT EXTRACT(YEAR FROM MIN(date))::integer FROM sunrise_and_sunset_unpartitioned),
+                 EXTRACT(YEAR FROM CURRENT_DATE)::integer),
+        EXTRACT(YEAR FROM CURRENT_DATE)::integer + 2) AS partition_year;
+
+-- Catches dates outside the yearly partitions, e.g. far-future requests.
+CREATE TABLE sunrise_and_sunset_default PARTITION OF sunrise_and_sunset DEFAULT;
+
+-- Created on the parent, so every partition gets its own copy.
+CREATE INDEX idx_sunrise_and_sunset_date ON sunrise_and_sunset (date, id);
+
+INSERT INTO sunrise_and_sunset (id, date, latitude, longitude, sunrise, sunset)
+SELECT id, date, latitude, longitude, sunrise, sunset
+FROM sunrise_and_sunset_unpartitioned;
+
+SELECT setval('sunrise_and_sunset_seq', COALESCE((SELECT MAX(id) FROM sunrise_and_sunset), 0) + 50, false);
+
+CREATE INDEX IF NOT EXISTS idx_sunrise_sunset_locations_location
+    ON sunrise_sunset_locations (location_id, sunrise_sunset_id);
+
+CREATE INDEX IF NOT EXISTS idx_locations_name ON locations (name);
+
+-- Compact form of entries past the retention window: single-precision coordinates, sun times as
+-- seconds from midnight UTC of the date and the location links folded into an array.
+CREATE TABLE IF NOT EXISTS sunrise_and_sunset_archive (
+    id               integer PRIMARY KEY,
+    date             date NOT NULL,
+    latitude         real NOT NULL,
+    longitude        real NOT NULL,
+    sunrise_offset_s integer,
+    sunset_offset_s  integer,
+    location_ids     integer[]
+);
+
+CREATE INDEX IF NOT EXISTS idx_sunrise_and_sunset_archive_date ON sunrise_and_sunset_archive (date);
+
+ANALYZE sunrise_and_sunset;
+
+COMMIT;
+
+-- Once the retention job has emptied a year, its partition can be dropped without touching the others:
+--   DROP TABLE sunrise_and_sunset_y2019;
@@ -0,0 +1,122 @@
+package com.example.SunriseSunset.reactive;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.LocationDTO;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveLocationControllerTests {
+
+	private ReactiveLocationRepository locationRepository;
+
+	private WebTestClient client;
+
+	@BeforeEach
+	void setUp() {
+		locationRepository = mock(ReactiveLocationRepository.class);
+		client = WebTestClient.bindToController(new ReactiveLocationController(locationRepository)).build();
+	}
+
+	@Test
+	void createsLocation() {
+		when(locationRepository.insert(any())).thenReturn(Mono.just(location(7, "Minsk")));
+
+		client.post().uri("/locations")
+				.bodyValue(new LocationDTO(null, "Minsk", "Belarus", List.of()))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.id").isEqualTo(7)
+				.jsonPath("$.name").isEqualTo("Minsk");
+	}
+
+	@Test
+	void answersUnknownLocationWithBadRequest() {
+		when(locationRepository.findById(1)).thenReturn(Mono.just(location(1, "Minsk")));
+		when(locationRepository.findById(2)).thenReturn(Mono.empty());
+
+		client.get().uri("/locations/1").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.sunriseSunsetIds[0]").isEqualTo(10);
+		client.get().uri("/locations/2").exchange()
+				.expectStatus().isBadRequest();
+	}
+
+	@Test
+	void returnsMultiGetInRequestOrderAndLimitsIds() {
+		when(locationRepository.findAllById(any()))
+				.thenReturn(Flux.just(location(1, "Minsk"), location(3, "Brest")));
+
+		client.get().uri("/locations?ids=3,2,1").exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(2)
+				.jsonPath("$[0].id").isEqualTo(3)
+				.jsonPath("$[1].id").isEqualTo(1);
+
+		String tooMany = String.join(",", Collections.nCopies(501, "1"));
+		client.get().uri("/locations?ids=" + tooMany).exchange()
+				.expectStatus().isBadRequest();
+	}
+
+	@Test
+	void streamsAllLocations() {
+		when(locationRepository.findAll()).thenReturn(Flux.just(location(1, "Minsk"), location(2, "Brest")));
+
+		client.get().uri("/locations/all").exchange()
+				.expectStatus().isOk()
+				.expectBodyList(LocationDTO.class).hasSize(2);
+	}
+
+	@Test
+	void updatesPatchesAndDeletesLocation() {
+		when(locationRepository.update(eq(1), any())).thenReturn(Mono.just(location(1, "Minsk City")));
+		when(locationRepository.patchLinks(eq(1), any())).thenReturn(Mono.just(location(1, "Minsk")));
+		when(locationRepository.deleteById(1)).thenReturn(Mono.just(true));
+
+		client.put().uri("/locations/1")
+				.bodyValue(new LocationDTO(null, "Minsk City", "Belarus", List.of(10)))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.name").isEqualTo("Minsk City");
+		client.patch().uri("/locations/1/sunrise-sunsets")
+				.bodyValue(new LinkPatchDTO(List.of(10), null))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.sunriseSunsetIds[0]").isEqualTo(10);
+		client.delete().uri("/locations/1").exchange()
+				.expectStatus().isNoContent();
+	}
+
+	@Test
+	void answersUnknownLocationWritesWithBadRequest() {
+		when(locationRepository.update(eq(2), any())).thenReturn(Mono.empty());
+		when(locationRepository.patchLinks(eq(2), any())).thenReturn(Mono.empty());
+		when(locationRepository.deleteById(2)).thenReturn(Mono.just(false));
+
+		client.put().uri("/locations/2")
+				.bodyValue(new LocationDTO(null, "Minsk", "Belarus", List.of()))
+				.exchange()
+				.expectStatus().isBadRequest();
+		client.patch().uri("/locations/2/sunrise-sunsets")
+				.bodyValue(new LinkPatchDTO(null, List.of(10)))
+				.exchange()
+				.expectStatus().isBadRequest();
+		client.delete().uri("/locations/2").exchange()
+				.expectStatus().isBadRequest();
+	}
+
+	private static LocationDTO location(Integer id, String name) {
+		return new LocationDTO(id, name, "Belarus", List.of(10));
+	}
+}
@@ -0,0 +1,178 @@
+package com.example.SunriseSunset.reactive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.Results;
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetModel;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReactiveSunriseSunsetControllerTests {
+
+	private static final LocalDate DATE = LocalDate.of(2025, 3, 20);
+
+	private ReactiveSunriseSunsetRepository sunriseSunsetRepository;
+
+	private ReactiveSunTimesClient sunTimesClient;
+
+	private WebTestClient client;
+
+	@BeforeEach
+	void setUp() {
+		sunriseSunsetRepository = mock(ReactiveSunriseSunsetRepository.class);
+		sunTimesClient = mock(ReactiveSunTimesClient.class);
+		client = WebTestClient.bindToController(
+				new ReactiveSunriseSunsetController(sunriseSunsetRepository, sunTimesClient)).build();
+	}
+
+	@Test
+	void createsEntryWithTimesFromUpstream() {
+		stubUpstream();
+		when(sunriseSunsetRepository.insert(any()))
+				.thenAnswer(invocation -> Mono.just(invocation.getArgument(0, SunriseSunsetDTO.class)));
+
+		client.post().uri("/sun/times")
+				.bodyValue(new SunriseSunsetDTO(null, DATE, 53.9, 27.56, null, null, List.of(1)))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.locationIds[0]").isEqualTo(1);
+
+		ArgumentCaptor<SunriseSunsetDTO> inserted = ArgumentCaptor.forClass(SunriseSunsetDTO.class);
+		verify(sunriseSunsetRepository).insert(inserted.capture());
+		assertThat(inserted.getValue().getSunrise()).isEqualTo(OffsetDateTime.parse("2025-03-20T03:55:00+00:00"));
+		assertThat(inserted.getValue().getSunset()).isEqualTo(OffsetDateTime.parse("2025-03-20T16:05:00+00:00"));
+	}
+
+	@Test
+	void answersUnknownEntryWithNotFound() {
+		when(sunriseSunsetRepository.findById(1)).thenReturn(Mono.just(entry(1)));
+		when(sunriseSunsetRepository.findById(2)).thenReturn(Mono.empty());
+
+		client.get().uri("/sun/times/1").exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.id").isEqualTo(1);
+		client.get().uri("/sun/times/2").exchange()
+				.expectStatus().isNotFound();
+	}
+
+	@Test
+	void returnsMultiGetInRequestOrderAndLimitsIds() {
+		when(sunriseSunsetRepository.findAllById(any())).thenReturn(Flux.just(entry(1), entry(3)));
+
+		client.get().uri("/sun/times?ids=3,2,1").exchange()
+				.expectStatus().isOk()
+				.expectBody()
+				.jsonPath("$.length()").isEqualTo(2)
+				.jsonPath("$[0].id").isEqualTo(3)
+				.jsonPath("$[1].id").isEqualTo(1);
+
+		client.get().uri("/sun/times?ids=" + String.join(",", Collections.nCopies(501, "1"))).exchange()
+				.expectStatus().isBadRequest();
+	}
+
+	@Test
+	void readsEntriesByLocationAndByDateAndLocationName() {
+		when(sunriseSunsetRepository.findByLocationId(5)).thenReturn(Flux.just(entry(1), entry(2)));
+		when(sunriseSunsetRepository.findByDateAndLocationName(DATE, "Minsk")).thenReturn(Flux.just(entry(1)));
+
+		client.get().uri("/sun/times/location/5").exchange()
+				.expectStatus().isOk()
+				.expectBodyList(SunriseSunsetDTO.class).hasSize(2);
+		client.get().uri("/sun/times/by-date-and-location?date=2025-03-20&locationName=Minsk").exchange()
+				.expectStatus().isOk()
+				.expectBodyList(SunriseSunsetDTO.class).hasSize(1);
+	}
+
+	@Test
+	void rejectsMalformedDateWithoutQuerying() {
+		client.get().uri("/sun/times/by-date-and-location?date=20-03-2025&locationName=Minsk").exchange()
+				.expectStatus().isBadRequest();
+		verifyNoInteractions(sunriseSunsetRepository);
+	}
+
+	@Test
+	void updatesEntryWithTimesFromUpstream() {
+		stubUpstream();
+		when(sunriseSunsetRepository.findById(1)).thenReturn(Mono.just(entry(1)));
+		when(sunriseSunsetRepository.update(eq(1), any()))
+				.thenAnswer(invocation -> Mono.just(invocation.getArgument(1, SunriseSunsetDTO.class)));
+
+		client.put().uri("/sun/times/1")
+				.bodyValue(new SunriseSunsetDTO(null, DATE, 53.9, 27.56, null, null, List.of(2)))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.locationIds[0]").isEqualTo(2);
+
+		ArgumentCaptor<SunriseSunsetDTO> updated = ArgumentCaptor.forClass(SunriseSunsetDTO.class);
+		verify(sunriseSunsetRepository).update(eq(1), updated.capture());
+		assertThat(updated.getValue().getSunrise()).isEqualTo(OffsetDateTime.parse("2025-03-20T03:55:00+00:00"));
+	}
+
+	@Test
+	void answersUnknownEntryWritesWithNotFoundWithoutCallingUpstream() {
+		when(sunriseSunsetRepository.findById(2)).thenReturn(Mono.empty());
+		when(sunriseSunsetRepository.patchLinks(eq(2), any())).thenReturn(Mono.empty());
+
+		client.put().uri("/sun/times/2")
+				.bodyValue(new SunriseSunsetDTO(null, DATE, 53.9, 27.56, null, null, List.of()))
+				.exchange()
+				.expectStatus().isNotFound();
+		client.patch().uri("/sun/times/2/locations")
+				.bodyValue(new LinkPatchDTO(List.of(5), null))
+				.exchange()
+				.expectStatus().isNotFound();
+		verifyNoInteractions(sunTimesClient);
+	}
+
+	@Test
+	void patchesLinksAndDeletesEntries() {
+		when(sunriseSunsetRepository.patchLinks(eq(1), any())).thenReturn(Mono.just(entry(1)));
+		when(sunriseSunsetRepository.deleteById(1)).thenReturn(Mono.just(true));
+		when(sunriseSunsetRepository.deleteById(2)).thenReturn(Mono.just(false));
+
+		client.patch().uri("/sun/times/1/locations")
+				.bodyValue(new LinkPatchDTO(List.of(5), List.of(6)))
+				.exchange()
+				.expectStatus().isOk()
+				.expectBody().jsonPath("$.locationIds[0]").isEqualTo(5);
+		client.delete().uri("/sun/times/1").exchange()
+				.expectStatus().isNoContent();
+		client.delete().uri("/sun/times/2").exchange()
+				.expectStatus().isNoContent();
+
+		ArgumentCaptor<LinkPatchDTO> patch = ArgumentCaptor.forClass(LinkPatchDTO.class);
+		verify(sunriseSunsetRepository).patchLinks(eq(1), patch.capture());
+		assertThat(patch.getValue().getAdd()).containsExactly(5);
+		assertThat(patch.getValue().getRemove()).containsExactly(6);
+	}
+
+	private void stubUpstream() {
+		Results results = mock(Results.class);
+		when(results.getSunrise()).thenReturn("2025-03-20T03:55:00+00:00");
+		when(results.getSunset()).thenReturn("2025-03-20T16:05:00+00:00");
+		SunriseSunsetModel model = new SunriseSunsetModel();
+		model.setResults(results);
+		when(sunTimesClient.getSunriseSunset(53.9, 27.56, DATE)).thenReturn(Mono.just(model));
+	}
+
+	private static SunriseSunsetDTO entry(Integer id) {
+		return new SunriseSunsetDTO(id, DATE, 53.9, 27.56, OffsetDateTime.parse("2025-03-20T03:55:00+00:00"),
+				OffsetDateTime.parse("2025-03-20T16:05:00+00:00"), List.of(5));
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.SunriseSunset.reactive;
+
+import com.example.SunriseSunset.model.ChangeEntityType;
+import com.example.SunriseSunset.model.ChangeOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+
+/**Records reactive writes in the change log served by the servlet change feed, ordered like ChangeLogService.*/
+@Repository
+@Profile(ReactiveSunriseSunsetApplication.PROFILE)
+public class ReactiveChangeLog {
+
+    /** Client for SQL statements. */
+    private final DatabaseClient databaseClient;
+
+    /**Constructs a ReactiveChangeLog with the specified client.*/
+    public ReactiveChangeLog(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    /**Records one change per distinct entity ID, holding the change log lock until the current transaction ends.*/
+    public Mono<Void> record(ChangeEntityType entityType, ChangeOperation operation, Collection<Integer> entityIds) {
+        if (entityIds.isEmpty()) {
+            return Mono.empty();
+        }
+        Integer[] distinctIds = new LinkedHashSet<>(entityIds).toArray(new Integer[0]);
+        return databaseClient.sql("SELECT id FROM change_log_lock WHERE id = 1 FOR UPDATE")
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .switchIfEmpty(Mono.error(new IllegalStateException(
+                        "Missing change_log_lock row; run db/create_change_log.sql")))
+                .then(databaseClient.sql("INSERT INTO change_log (entity_type, entity_id, operation, changed_at) "
+                                + "SELECT :entityType, changed.id, :operation, now() "
+                                + "FROM unnest(:ids) WITH ORDINALITY AS changed(id, position) ORDER BY changed.position")
+                        .bind("entityType", entityType.name())
+                        .bind("operation", operation.name())
+                        .bind("ids", distinctIds)
+                        .fetch()
+                        .rowsUpdated())
+                .then();
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.SunriseSunset.reactive;
+
+import com.example.SunriseSunset.model.ChangeEntityType;
+import com.example.SunriseSunset.model.ChangeOperation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.Collection;
+import java.util.List;
+
+/**Writes the links between locations and sunrise and sunset entries from either side, returning the IDs whose links changed.*/
+@Repository
+@Profile(ReactiveSunriseSunsetApplication.PROFILE)
+public class ReactiveLinks {
+
+    /**Side of the sunrise_sunset_locations join table a write starts from.*/
+    public enum Side {
+
+        /** Links written from a location to entries. */
+        LOCATION("location_id", "sunrise_sunset_id", "sunrise_and_sunset"),
+
+        /** Links written from an entry to locations. */
+        SUNRISE_SUNSET("sunrise_sunset_id", "location_id", "locations");
+
+        /** Join table column of the owning side. */
+        private final String ownerColumn;
+
+        /** Join table column of the linked side. */
+        private final String linkedColumn;
+
+        /** Table of the linked side. */
+        private final String linkedTable;
+
+        Side(String ownerColumn, String linkedColumn, String linkedTable) {
+            this.ownerColumn = ownerColumn;
+            this.linkedColumn = linkedColumn;
+            this.linkedTable = linkedTable;
+        }
+    }
+
+    /** Client for SQL statements. */
+    private final DatabaseClient databaseClient;
+
+    /** Log of changes for the change feed. */
+    private final ReactiveChangeLog changeLog;
+
+    /**Constructs a ReactiveLinks with the specified dependencies.*/
+    public ReactiveLinks(DatabaseClient databaseClient, ReactiveChangeLog changeLog) {
+        this.databaseClient = databaseClient;
+        this.changeLog = changeLog;
+    }
+
+    /**Links exactly the requested existing IDs, writing only the join rows that change.*/
+    public Mono<List<Integer>> replace(Side side, Integer ownerId, Collection<Integer> requestedIds) {
+        Integer[] requested = requestedIds.toArray(new Integer[0]);
+        return unlink(side, ownerId, "NOT (" + side.linkedColumn + " = ANY(:ids))", requested)
+                .concatWith(link(side, ownerId, requested))
+                .collectList();
+    }
+
+    /**Adds and removes individual links, writing only the join rows that change.*/
+    public Mono<List<Integer>> patch(Side side, Integer ownerId, Collection<Integer> addIds,
+                                     Collection<Integer> removeIds) {
+        return unlink(side, ownerId, side.linkedColumn + " = ANY(:ids)", removeIds.toArray(new Integer[0]))
+                .concatWith(link(side, ownerId, addIds.toArray(new Integer[0])))
+                .collectList();
+    }
+
+    /**Removes every link of an owner and returns the IDs it was linked to.*/
+    public Mono<List<Integer>> unlinkAll(Side side, Integer ownerId) {
+        return databaseClient.sql("DELETE FROM sunrise_sunset_locations WHERE " + side.ownerColumn + " = :ownerId "
+                        + "RETURNING " + side.linkedColumn)
+                .bind("ownerId", ownerId)
+                .map(row -> row.get(side.linkedColumn, Integer.class))
+                .all()
+                .collectList();
+    }
+
+    /**Records locations whose linked entries changed and drops their calendars, which average those entries.*/
+    public Mono<Void> recordRelinked(Collection<Integer> locationIds) {
+        return changeLog.record(ChangeEntityType.LOCATION, ChangeOperation.UPSERT, locationIds)
+                .then(dropCalendars(locationIds));
+    }
+
+    /**Drops the stored calendars of locations.*/
+    public Mono<Void> dropCalendars(Collection<Integer> locationIds) {
+        if (locationIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return databaseClient.sql("DELETE FROM location_calendars WHERE location_id = ANY(:locationIds)")
+                .bind("locationIds", locationIds.toArray(new Integer[0]))
+                .fetch()
+                .rowsUpdated()
+                .then();
+    }
+
+    /**Deletes the links of an owner matching a condition on the linked column and returns the unlinked IDs.*/
+    private Flux<Integer> unlink(Side side, Integer ownerId, String condition, Integer[] ids) {
+        return databaseClient.sql("DELETE FROM sunrise_sunset_locations WHERE " + side.ownerColumn + " = :ownerId "
+                        + "AND " + condition + " RETURNING " + side.linkedColumn)
+                .bind("ownerId", ownerId)
+                .bind("ids", ids)
+                .map(row -> row.get(side.linkedColumn, Integer.class))
+                .all();
+    }
+
+    /**Links an owner to the existing IDs it is not yet linked to and returns the newly linked IDs.*/
+    private Flux<Integer> link(Side side, Integer ownerId, Integer[] ids) {
+        if (ids.length == 0) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("INSERT INTO sunrise_sunset_locations (" + side.ownerColumn + ", "
+                        + side.linkedColumn + ") SELECT DISTINCT :ownerId, linked.id FROM " + side.linkedTable
+                        + " linked WHERE linked.id = ANY(:ids) AND NOT EXISTS (SELECT 1 FROM sunrise_sunset_locations "
+                        + "existing WHERE existing." + side.ownerColumn + " = :ownerId AND existing."
+                        + side.linkedColumn + " = linked.id) RETURNING " + side.linkedColumn)
+                .bind("ownerId", ownerId)
+                .bind("ids", ids)
+                .map(row -> row.get(side.linkedColumn, Integer.class))
+                .all();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.SunriseSunset.reactive;
+
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.LocationDTO;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+/**Non-blocking counterpart of LocationController for the read and write paths.*/
+@RestController
+@RequestMapping("/locations")
+@Profile(ReactiveSunriseSunsetApplication.PROFILE)
+public class ReactiveLocationController {
+
+    /** The maximum number of IDs accepted by a single multi-get request. */
+    private static final int MAX_IDS_PER_REQUEST = 500;
+
+    /** Reactive access to locations. */
+    private final ReactiveLocationRepository locationRepository;
+
+    /**Constructs a ReactiveLocationController with the specified repository.*/
+    public ReactiveLocationController(ReactiveLocationRepository locationRepository) {
+        this.locationRepository = locationRepository;
+    }
+
+    /**Creates a new location.*/
+    @PostMapping
+    public Mono<LocationDTO> createLocation(@RequestBody LocationDTO dto) {
+        return locationRepository.insert(dto);
+    }
+
+    /**Retrieves a location by its ID, answering 400 for unknown IDs like the servlet variant.*/
+    @GetMapping("/{id}")
+    public Mono<LocationDTO> getLocationById(@PathVariable Integer id) {
+        return locationRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    /**Retrieves several locations by their IDs in request order.*/
+    @GetMapping(params = "ids")
+    public Mono<List<LocationDTO>> getLocationsByIds(@RequestParam List<Integer> ids) {
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Too many IDs requested: " + ids.size() + ", maximum is " + MAX_IDS_PER_REQUEST));
+        }
+        return locationRepository.findAllById(new LinkedHashSet<>(ids))
+                .collectMap(LocationDTO::getId, Function.identity())
+                .map(found -> ids.stream()
+                        .map(found::get)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+    }
+
+    /**Retrieves all locations.*/
+    @GetMapping("/all")
+    public Flux<LocationDTO> getAllLocations() {
+        return locationRepository.findAll();
+    }
+
+    /**Updates an existing location, answering 400 for unknown IDs like the servlet variant.*/
+    @PutMapping("/{id}")
+    public Mono<LocationDTO> updateLocation(@PathVariable Integer id, @RequestBody LocationDTO dto) {
+        return locationRepository.update(id, dto)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    /**Adds or removes individual sunrise and sunset links of a location.*/
+    @PatchMapping("/{id}/sunrise-sunsets")
+    public Mono<LocationDTO> patchSunriseSunsetLinks(@PathVariable Integer id, @RequestBody LinkPatchDTO patch) {
+        return locationRepository.patchLinks(id, patch)
+                .switchIfEmpty(Mono.error(() -> notFound(id)));
+    }
+
+    /**Deletes a location by its ID.*/
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteLocation(@PathVariable Integer id) {
+        return locationRepository.deleteById(id)
+                .flatMap(deleted -> deleted
+                        ? Mono.just(ResponseEntity.noContent().<Void>build())
+                        : Mono.error(notFound(id)));
+    }
+
+    /**Builds the 400 answer the servlet variant gives for unknown locations.*/
+    private static ResponseStatusException notFound(Integer id) {
+        return new ResponseStatusException(HttpStatus.BAD_REQUEST, "Location not found with id: " + id);
+    }
+}
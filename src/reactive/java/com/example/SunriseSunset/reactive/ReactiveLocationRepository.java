@@ -0,0 +1,170 @@
+package com.example.SunriseSunset.reactive;
+
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.LocationDTO;
+import com.example.SunriseSunset.model.ChangeEntityType;
+import com.example.SunriseSunset.model.ChangeOperation;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**Non-blocking access to locations and their sunrise and sunset links through R2DBC.*/
+@Repository
+@Profile(ReactiveSunriseSunsetApplication.PROFILE)
+public class ReactiveLocationRepository {
+
+    /** Selects locations with their linked entry IDs aggregated into one array column. */
+    private static final String SELECT_WITH_SUNRISE_SUNSETS =
+            "SELECT l.id, l.name, l.country, "
+            + "array_remove(array_agg(link.sunrise_sunset_id ORDER BY link.sunrise_sunset_id), NULL) "
+            + "AS sunrise_sunset_ids "
+            + "FROM locations l "
+            + "LEFT JOIN sunrise_sunset_locations link ON link.location_id = l.id ";
+
+    /** Groups the aggregated rows back into one row per location. */
+    private static final String GROUP_BY_LOCATION = " GROUP BY l.id ORDER BY l.id";
+
+    /** Client for SQL statements. */
+    private final DatabaseClient databaseClient;
+
+    /** Runs multi-statement writes in one transaction. */
+    private final TransactionalOperator transactionalOperator;
+
+    /** Writes links between locations and entries. */
+    private final ReactiveLinks links;
+
+    /** Log of changes for the change feed. */
+    private final ReactiveChangeLog changeLog;
+
+    /**Constructs a ReactiveLocationRepository with the specified dependencies.*/
+    public ReactiveLocationRepository(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+                                      ReactiveLinks links, ReactiveChangeLog changeLog) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.links = links;
+        this.changeLog = changeLog;
+    }
+
+    /**Finds a location by ID.*/
+    public Mono<LocationDTO> findById(Integer id) {
+        return databaseClient.sql(SELECT_WITH_SUNRISE_SUNSETS + "WHERE l.id = :id" + GROUP_BY_LOCATION)
+                .bind("id", id)
+                .map(ReactiveLocationRepository::toDTO)
+                .one();
+    }
+
+    /**Finds locations by IDs.*/
+    public Flux<LocationDTO> findAllById(Collection<Integer> ids) {
+        return databaseClient.sql(SELECT_WITH_SUNRISE_SUNSETS + "WHERE l.id = ANY(:ids)" + GROUP_BY_LOCATION)
+                .bind("ids", ids.toArray(new Integer[0]))
+                .map(ReactiveLocationRepository::toDTO)
+                .all();
+    }
+
+    /**Finds all locations.*/
+    public Flux<LocationDTO> findAll() {
+        return databaseClient.sql(SELECT_WITH_SUNRISE_SUNSETS + GROUP_BY_LOCATION)
+                .map(ReactiveLocationRepository::toDTO)
+                .all();
+    }
+
+    /**Inserts a location and links it to the existing entries among the requested IDs.*/
+    public Mono<LocationDTO> insert(LocationDTO dto) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient
+                .sql("INSERT INTO locations (name, country) VALUES (:name, :country)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("name", dto.getName());
+        insert = dto.getCountry() != null ? insert.bind("country", dto.getCountry()) : insert.bindNull("country", String.class);
+        return insert.map(row -> row.get("id", Integer.class))
+                .one()
+                .flatMap(id -> links.replace(ReactiveLinks.Side.LOCATION, id, requestedIds(dto))
+                        .flatMap(changedIds -> recordLinkChanges(id, changedIds))
+                        .thenReturn(id))
+                .flatMap(this::findById)
+                .as(transactionalOperator::transactional);
+    }
+
+    /**Updates a location and replaces its entry links, or completes empty when it does not exist.*/
+    public Mono<LocationDTO> update(Integer id, LocationDTO dto) {
+        DatabaseClient.GenericExecuteSpec update = databaseClient
+                .sql("UPDATE locations SET name = :name, country = :country WHERE id = :id RETURNING id")
+                .bind("id", id);
+        update = dto.getName() != null ? update.bind("name", dto.getName()) : update.bindNull("name", String.class);
+        update = dto.getCountry() != null ? update.bind("country", dto.getCountry()) : update.bindNull("country", String.class);
+        return update.map(row -> row.get("id", Integer.class))
+                .one()
+                .flatMap(updatedId -> links.replace(ReactiveLinks.Side.LOCATION, id, requestedIds(dto))
+                        .flatMap(changedIds -> recordLinkChanges(id, changedIds))
+                        .thenReturn(updatedId))
+                .flatMap(this::findById)
+                .as(transactionalOperator::transactional);
+    }
+
+    /**Adds and removes individual entry links of a location, or completes empty when it does not exist.*/
+    public Mono<LocationDTO> patchLinks(Integer id, LinkPatchDTO patch) {
+        return lockById(id)
+                .flatMap(lockedId -> links.patch(ReactiveLinks.Side.LOCATION, id, orEmpty(patch.getAdd()),
+                                orEmpty(patch.getRemove()))
+                        .flatMap(changedIds -> changedIds.isEmpty() ? Mono.empty() : recordLinkChanges(id, changedIds))
+                        .thenReturn(lockedId))
+                .flatMap(this::findById)
+                .as(transactionalOperator::transactional);
+    }
+
+    /**Deletes a location with its links and calendars, emitting whether it existed.*/
+    public Mono<Boolean> deleteById(Integer id) {
+        return lockById(id)
+                .flatMap(lockedId -> links.unlinkAll(ReactiveLinks.Side.LOCATION, id)
+                        .flatMap(linkedIds -> links.dropCalendars(List.of(id))
+                                .then(databaseClient.sql("DELETE FROM locations WHERE id = :id")
+                                        .bind("id", id)
+                                        .fetch()
+                                        .rowsUpdated())
+                                .then(changeLog.record(ChangeEntityType.LOCATION, ChangeOperation.DELETE, List.of(id)))
+                                .then(changeLog.record(ChangeEntityType.SUNRISE_SUNSET, ChangeOperation.UPSERT,
+                                        linkedIds)))
+                        .thenReturn(true))
+                .defaultIfEmpty(false)
+                .as(transactionalOperator::transactional);
+    }
+
+    /**Locks a location row until the current transaction ends, completing empty when it does not exist.*/
+    private Mono<Integer> lockById(Integer id) {
+        return databaseClient.sql("SELECT id FROM locations WHERE id = :id FOR UPDATE")
+                .bind("id", id)
+                .map(row -> row.get("id", Integer.class))
+                .one();
+    }
+
+    /**Records a stored location and the entries whose links to it changed, dropping its calendars when links changed.*/
+    private Mono<Void> recordLinkChanges(Integer id, List<Integer> changedIds) {
+        return changeLog.record(ChangeEntityType.LOCATION, ChangeOperation.UPSERT, List.of(id))
+                .then(changeLog.record(ChangeEntityType.SUNRISE_SUNSET, ChangeOperation.UPSERT, changedIds))
+                .then(changedIds.isEmpty() ? Mono.empty() : links.dropCalendars(List.of(id)));
+    }
+
+    /**Returns the requested entry IDs of a location, treating a missing list as empty.*/
+    private static List<Integer> requestedIds(LocationDTO dto) {
+        return orEmpty(dto.getSunriseSunsetIds());
+    }
+
+    /**Returns a list, treating null as empty.*/
+    private static List<Integer> orEmpty(List<Integer> ids) {
+        return ids != null ? ids : List.of();
+    }
+
+    /**Maps a result row to a LocationDTO.*/
+    private static LocationDTO toDTO(Readable row) {
+        Integer[] sunriseSunsetIds = row.get("sunrise_sunset_ids", Integer[].class);
+        List<Integer> sunriseSunsetIdList = sunriseSunsetIds != null ? Arrays.asList(sunriseSunsetIds) : List.of();
+        return new LocationDTO(row.get("id", Integer.class), row.get("name", String.class),
+                row.get("country", String.class), sunriseSunsetIdList);
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.SunriseSunset.reactive;
+
+import com.example.SunriseSunset.dto.SunriseSunsetModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**Non-blocking client for the external sunrise-sunset API.*/
+@Component
+@Profile(ReactiveSunriseSunsetApplication.PROFILE)
+public class ReactiveSunTimesClient {
+
+    /** The URL of the external sunrise-sunset API. */
+    private static final String SUN_API_URL = "https://api.sunrise-sunset.org/json";
+
+    /** Client bound to the external API. */
+    private final WebClient webClient;
+
+    /** The maximum wait for an upstream response. */
+    private final Duration timeout;
+
+    /**Constructs a ReactiveSunTimesClient from the shared WebClient builder.*/
+    public ReactiveSunTimesClient(WebClient.Builder webClientBuilder,
+                                  @Value("${sun.reactive.upstream-timeout-ms:5000}") long timeoutMillis) {
+        this.webClient = webClientBuilder.baseUrl(SUN_API_URL).build();
+        this.timeout = Duration.ofMillis(timeoutMillis);
+    }
+
+    /**Fetches sunrise and sunset times for coordinates and a date.*/
+    public Mono<SunriseSunsetModel> getSunriseSunset(double latitude, double longitude, LocalDate date) {
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder
+                        .queryParam("lat", latitude)
+                        .queryParam("lng", longitude)
+                        .queryParam("date", date)
+                        .queryParam("formatted", 0)
+                        .build())
+                .retrieve()
+                .bodyToMono(SunriseSunsetModel.class)
+                .timeout(timeout)
+                .onErrorMap(WebClientResponseException.TooManyRequests.class,
+                        e -> new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                                "External API throttled the request", e))
+                .onErrorMap(e -> !(e instanceof ResponseStatusException),
+                        e -> new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                                "Failed to fetch sunrise/sunset data: " + e.getMessage(), e));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.SunriseSunset.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.Profile;
+
+/**Entry point of the non-blocking WebFlux and R2DBC variant, built with the Maven profile "reactive".*/
+@SpringBootApplication
+@Profile(ReactiveSunriseSunsetApplication.PROFILE)
+public class ReactiveSunriseSunsetApplication {
+
+	/** Spring profile of every bean in this package, so the servlet application skips them. */
+	public static final String PROFILE = "reactive";
+
+	public static void main(String[] args) {
+		SpringApplication application = new SpringApplication(ReactiveSunriseSunsetApplication.class);
+		application.setWebApplicationType(WebApplicationType.REACTIVE);
+		application.setAdditionalProfiles(PROFILE);
+		application.run(args);
+	}
+}
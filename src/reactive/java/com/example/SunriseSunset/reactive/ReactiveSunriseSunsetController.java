@@ -0,0 +1,141 @@
+package com.example.SunriseSunset.reactive;
+
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+
+/**Non-blocking counterpart of SunriseSunsetController for the read and write paths.*/
+@RestController
+@RequestMapping("/sun/times")
+@Profile(ReactiveSunriseSunsetApplication.PROFILE)
+public class ReactiveSunriseSunsetController {
+
+    /** The maximum number of IDs accepted by a single multi-get request. */
+    private static final int MAX_IDS_PER_REQUEST = 500;
+
+    /** Reactive access to sunrise and sunset entries. */
+    private final ReactiveSunriseSunsetRepository sunriseSunsetRepository;
+
+    /** Non-blocking client for the external API. */
+    private final ReactiveSunTimesClient sunTimesClient;
+
+    /**Constructs a ReactiveSunriseSunsetController with the specified dependencies.*/
+    public ReactiveSunriseSunsetController(ReactiveSunriseSunsetRepository sunriseSunsetRepository,
+                                           ReactiveSunTimesClient sunTimesClient) {
+        this.sunriseSunsetRepository = sunriseSunsetRepository;
+        this.sunTimesClient = sunTimesClient;
+    }
+
+    /**Creates a new sunrise and sunset entry with times resolved from the external API.*/
+    @PostMapping
+    public Mono<SunriseSunsetDTO> createSunriseSunset(@RequestBody SunriseSunsetDTO dto) {
+        return resolveTimes(dto).flatMap(sunriseSunsetRepository::insert);
+    }
+
+    /**Updates an existing sunrise and sunset entry with times resolved from the external API.*/
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<SunriseSunsetDTO>> updateSunriseSunset(@PathVariable Integer id,
+                                                                      @RequestBody SunriseSunsetDTO dto) {
+        return sunriseSunsetRepository.findById(id)
+                .flatMap(existing -> resolveTimes(dto))
+                .flatMap(resolved -> sunriseSunsetRepository.update(id, resolved))
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**Adds or removes individual location links of a sunrise and sunset entry.*/
+    @PatchMapping("/{id}/locations")
+    public Mono<ResponseEntity<SunriseSunsetDTO>> patchLocationLinks(@PathVariable Integer id,
+                                                                     @RequestBody LinkPatchDTO patch) {
+        return sunriseSunsetRepository.patchLinks(id, patch)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**Deletes a sunrise and sunset entry by its ID.*/
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<Void>> deleteSunriseSunset(@PathVariable Integer id) {
+        return sunriseSunsetRepository.deleteById(id)
+                .thenReturn(ResponseEntity.noContent().build());
+    }
+
+    /**Retrieves a sunrise and sunset entry by its ID.*/
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<SunriseSunsetDTO>> getSunriseSunsetById(@PathVariable Integer id) {
+        return sunriseSunsetRepository.findById(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**Retrieves several sunrise and sunset entries by their IDs in request order.*/
+    @GetMapping(params = "ids")
+    public Mono<List<SunriseSunsetDTO>> getSunriseSunsetsByIds(@RequestParam List<Integer> ids) {
+        if (ids.size() > MAX_IDS_PER_REQUEST) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Too many IDs requested: " + ids.size() + ", maximum is " + MAX_IDS_PER_REQUEST));
+        }
+        return sunriseSunsetRepository.findAllById(new LinkedHashSet<>(ids))
+                .collectMap(SunriseSunsetDTO::getId, Function.identity())
+                .map(found -> inRequestOrder(ids, found));
+    }
+
+    /**Retrieves all sunrise and sunset entries.*/
+    @GetMapping("/all")
+    public Flux<SunriseSunsetDTO> getAllSunriseSunsets() {
+        return sunriseSunsetRepository.findAll();
+    }
+
+    /**Retrieves sunrise and sunset entries by location ID.*/
+    @GetMapping("/location/{locationId}")
+    public Flux<SunriseSunsetDTO> getSunriseSunsetsByLocationId(@PathVariable Integer locationId) {
+        return sunriseSunsetRepository.findByLocationId(locationId);
+    }
+
+    /**Retrieves sunrise and sunset entries by date and location name.*/
+    @GetMapping("/by-date-and-location")
+    public Mono<ResponseEntity<List<SunriseSunsetDTO>>> getSunriseSunsetsByDateAndLocation(
+            @RequestParam("date") String date,
+            @RequestParam("locationName") String locationName) {
+        LocalDate localDate;
+        try {
+            localDate = LocalDate.parse(date);
+        } catch (DateTimeParseException e) {
+            return Mono.just(ResponseEntity.badRequest().build());
+        }
+        return sunriseSunsetRepository.findByDateAndLocationName(localDate, locationName)
+                .collectList()
+                .map(ResponseEntity::ok);
+    }
+
+    /**Resolves the sunrise and sunset times of a requested entry through the external API.*/
+    private Mono<SunriseSunsetDTO> resolveTimes(SunriseSunsetDTO dto) {
+        return sunTimesClient.getSunriseSunset(dto.getLatitude(), dto.getLongitude(), dto.getDate())
+                .map(sunData -> new SunriseSunsetDTO(null, dto.getDate(), dto.getLatitude(), dto.getLongitude(),
+                        OffsetDateTime.parse(sunData.getResults().getSunrise()),
+                        OffsetDateTime.parse(sunData.getResults().getSunset()), dto.getLocationIds()));
+    }
+
+    /**Orders found entries like the requested IDs, skipping missing ones.*/
+    private static List<SunriseSunsetDTO> inRequestOrder(List<Integer> ids, Map<Integer, SunriseSunsetDTO> found) {
+        return ids.stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+}
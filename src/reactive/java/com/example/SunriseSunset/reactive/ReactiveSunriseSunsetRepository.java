@@ -0,0 +1,207 @@
+package com.example.SunriseSunset.reactive;
+
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.model.ChangeEntityType;
+import com.example.SunriseSunset.model.ChangeOperation;
+import io.r2dbc.spi.Readable;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**Non-blocking access to sunrise and sunset entries and their location links through R2DBC.*/
+@Repository
+@Profile(ReactiveSunriseSunsetApplication.PROFILE)
+public class ReactiveSunriseSunsetRepository {
+
+    /** Selects entries with their linked location IDs aggregated into one array column. */
+    private static final String SELECT_WITH_LOCATIONS =
+            "SELECT s.id, s.date, s.latitude, s.longitude, s.sunrise, s.sunset, "
+            + "array_remove(array_agg(link.location_id ORDER BY link.location_id), NULL) AS location_ids "
+            + "FROM sunrise_and_sunset s "
+            + "LEFT JOIN sunrise_sunset_locations link ON link.sunrise_sunset_id = s.id ";
+
+    /** Groups the aggregated rows back into one row per entry. */
+    private static final String GROUP_BY_ENTRY = " GROUP BY s.id ORDER BY s.id";
+
+    /** Client for SQL statements. */
+    private final DatabaseClient databaseClient;
+
+    /** Runs multi-statement writes in one transaction. */
+    private final TransactionalOperator transactionalOperator;
+
+    /** Writes links between entries and locations. */
+    private final ReactiveLinks links;
+
+    /** Log of changes for the change feed. */
+    private final ReactiveChangeLog changeLog;
+
+    /**Constructs a ReactiveSunriseSunsetRepository with the specified dependencies.*/
+    public ReactiveSunriseSunsetRepository(DatabaseClient databaseClient, TransactionalOperator transactionalOperator,
+                                           ReactiveLinks links, ReactiveChangeLog changeLog) {
+        this.databaseClient = databaseClient;
+        this.transactionalOperator = transactionalOperator;
+        this.links = links;
+        this.changeLog = changeLog;
+    }
+
+    /**Finds an entry by ID.*/
+    public Mono<SunriseSunsetDTO> findById(Integer id) {
+        return databaseClient.sql(SELECT_WITH_LOCATIONS + "WHERE s.id = :id" + GROUP_BY_ENTRY)
+                .bind("id", id)
+                .map(ReactiveSunriseSunsetRepository::toDTO)
+                .one();
+    }
+
+    /**Finds entries by IDs.*/
+    public Flux<SunriseSunsetDTO> findAllById(Collection<Integer> ids) {
+        return databaseClient.sql(SELECT_WITH_LOCATIONS + "WHERE s.id = ANY(:ids)" + GROUP_BY_ENTRY)
+                .bind("ids", ids.toArray(new Integer[0]))
+                .map(ReactiveSunriseSunsetRepository::toDTO)
+                .all();
+    }
+
+    /**Finds all entries.*/
+    public Flux<SunriseSunsetDTO> findAll() {
+        return databaseClient.sql(SELECT_WITH_LOCATIONS + GROUP_BY_ENTRY)
+                .map(ReactiveSunriseSunsetRepository::toDTO)
+                .all();
+    }
+
+    /**Finds the entries linked to a location.*/
+    public Flux<SunriseSunsetDTO> findByLocationId(Integer locationId) {
+        return databaseClient.sql(SELECT_WITH_LOCATIONS
+                        + "WHERE s.id IN (SELECT sunrise_sunset_id FROM sunrise_sunset_locations "
+                        + "WHERE location_id = :locationId)" + GROUP_BY_ENTRY)
+                .bind("locationId", locationId)
+                .map(ReactiveSunriseSunsetRepository::toDTO)
+                .all();
+    }
+
+    /**Finds the entries of a date linked to a location with the given name.*/
+    public Flux<SunriseSunsetDTO> findByDateAndLocationName(LocalDate date, String locationName) {
+        return databaseClient.sql(SELECT_WITH_LOCATIONS
+                        + "WHERE s.date = :date AND s.id IN (SELECT named.sunrise_sunset_id "
+                        + "FROM sunrise_sunset_locations named JOIN locations l ON l.id = named.location_id "
+                        + "WHERE l.name = :locationName)" + GROUP_BY_ENTRY)
+                .bind("date", date)
+                .bind("locationName", locationName)
+                .map(ReactiveSunriseSunsetRepository::toDTO)
+                .all();
+    }
+
+    /**Inserts an entry with resolved times and links it to the existing locations among the requested IDs.*/
+    public Mono<SunriseSunsetDTO> insert(SunriseSunsetDTO dto) {
+        Mono<Integer> insert = databaseClient.sql("INSERT INTO sunrise_and_sunset "
+                        + "(date, latitude, longitude, sunrise, sunset) "
+                        + "VALUES (:date, :latitude, :longitude, :sunrise, :sunset)")
+                .filter(statement -> statement.returnGeneratedValues("id"))
+                .bind("date", dto.getDate())
+                .bind("latitude", dto.getLatitude())
+                .bind("longitude", dto.getLongitude())
+                .bind("sunrise", dto.getSunrise())
+                .bind("sunset", dto.getSunset())
+                .map(row -> row.get("id", Integer.class))
+                .one();
+        return insert
+                .flatMap(id -> links.replace(ReactiveLinks.Side.SUNRISE_SUNSET, id, requestedIds(dto))
+                        .flatMap(changedIds -> recordUpsert(id, changedIds))
+                        .thenReturn(id))
+                .flatMap(this::findById)
+                .as(transactionalOperator::transactional);
+    }
+
+    /**Updates an entry with resolved times and replaces its location links, or completes empty when it does not exist.*/
+    public Mono<SunriseSunsetDTO> update(Integer id, SunriseSunsetDTO dto) {
+        Mono<Integer> update = databaseClient.sql("UPDATE sunrise_and_sunset SET date = :date, "
+                        + "latitude = :latitude, longitude = :longitude, sunrise = :sunrise, sunset = :sunset "
+                        + "WHERE id = :id RETURNING id")
+                .bind("id", id)
+                .bind("date", dto.getDate())
+                .bind("latitude", dto.getLatitude())
+                .bind("longitude", dto.getLongitude())
+                .bind("sunrise", dto.getSunrise())
+                .bind("sunset", dto.getSunset())
+                .map(row -> row.get("id", Integer.class))
+                .one();
+        return update
+                .flatMap(updatedId -> links.replace(ReactiveLinks.Side.SUNRISE_SUNSET, id, requestedIds(dto))
+                        .flatMap(changedIds -> {
+                            Set<Integer> affectedIds = new LinkedHashSet<>(requestedIds(dto));
+                            affectedIds.addAll(changedIds);
+                            return recordUpsert(id, changedIds).then(links.dropCalendars(affectedIds));
+                        })
+                        .thenReturn(updatedId))
+                .flatMap(this::findById)
+                .as(transactionalOperator::transactional);
+    }
+
+    /**Adds and removes individual location links of an entry, or completes empty when it does not exist.*/
+    public Mono<SunriseSunsetDTO> patchLinks(Integer id, LinkPatchDTO patch) {
+        return databaseClient.sql("SELECT id FROM sunrise_and_sunset WHERE id = :id FOR UPDATE")
+                .bind("id", id)
+                .map(row -> row.get("id", Integer.class))
+                .one()
+                .flatMap(lockedId -> links.patch(ReactiveLinks.Side.SUNRISE_SUNSET, id, orEmpty(patch.getAdd()),
+                                orEmpty(patch.getRemove()))
+                        .flatMap(changedIds -> changedIds.isEmpty() ? Mono.empty() : recordUpsert(id, changedIds))
+                        .thenReturn(lockedId))
+                .flatMap(this::findById)
+                .as(transactionalOperator::transactional);
+    }
+
+    /**Deletes an entry with its links, emitting whether it existed.*/
+    public Mono<Boolean> deleteById(Integer id) {
+        return links.unlinkAll(ReactiveLinks.Side.SUNRISE_SUNSET, id)
+                .flatMap(locationIds -> databaseClient.sql("DELETE FROM sunrise_and_sunset WHERE id = :id")
+                        .bind("id", id)
+                        .fetch()
+                        .rowsUpdated()
+                        .flatMap(deleted -> deleted == 0
+                                ? Mono.just(false)
+                                : changeLog.record(ChangeEntityType.SUNRISE_SUNSET, ChangeOperation.DELETE, List.of(id))
+                                        .then(links.recordRelinked(locationIds))
+                                        .thenReturn(true)))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**Records a stored entry and the locations whose links to it changed.*/
+    private Mono<Void> recordUpsert(Integer id, List<Integer> relinkedLocationIds) {
+        return changeLog.record(ChangeEntityType.SUNRISE_SUNSET, ChangeOperation.UPSERT, List.of(id))
+                .then(links.recordRelinked(relinkedLocationIds));
+    }
+
+    /**Returns the requested location IDs of an entry, treating a missing list as empty.*/
+    private static List<Integer> requestedIds(SunriseSunsetDTO dto) {
+        return orEmpty(dto.getLocationIds());
+    }
+
+    /**Returns a list, treating null as empty.*/
+    private static List<Integer> orEmpty(List<Integer> ids) {
+        return ids != null ? ids : List.of();
+    }
+
+    /**Maps a result row to a SunriseSunsetDTO.*/
+    private static SunriseSunsetDTO toDTO(Readable row) {
+        Integer[] locationIds = row.get("location_ids", Integer[].class);
+        List<Integer> locationIdList = locationIds != null ? Arrays.asList(locationIds) : List.of();
+        return new SunriseSunsetDTO(
+                row.get("id", Integer.class),
+                row.get("date", LocalDate.class),
+                row.get("latitude", Double.class),
+                row.get("longitude", Double.class),
+                row.get("sunrise", OffsetDateTime.class),
+                row.get("sunset", OffsetDateTime.class),
+                locationIdList);
+    }
+}
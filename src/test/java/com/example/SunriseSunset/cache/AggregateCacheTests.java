@@ -0,0 +1,141 @@
+package com.example.SunriseSunset.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SunriseSunset.dto.LocationDTO;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class AggregateCacheTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(AggregateCacheTests.class);
+
+	private static final String KEY = "Location_All";
+
+	private static final int INITIAL_ROWS = 10_000;
+
+	private static final int THREADS = 8;
+
+	private static final int OPERATIONS_PER_THREAD = 5_000;
+
+	private final Map<String, Object> entityCache = new ConcurrentHashMap<>();
+
+	private final AggregateCache aggregateCache = new AggregateCache(entityCache, 30_000);
+
+	@Test
+	void writesKeepSnapshotSortedWithoutRebuilding() {
+		AtomicInteger loads = new AtomicInteger();
+		aggregateCache.getOrRebuild(KEY, () -> {
+			loads.incrementAndGet();
+			return List.of(location(3), location(1));
+		}, LocationDTO::getId);
+
+		aggregateCache.upsert(KEY, location(2), LocationDTO::getId);
+		aggregateCache.update(KEY, 3, LocationDTO::getId,
+				location -> new LocationDTO(3, "Renamed", location.getCountry(), List.of()));
+		aggregateCache.remove(KEY, 1, LocationDTO::getId);
+
+		List<LocationDTO> snapshot = aggregateCache.getOrRebuild(KEY, List::of, LocationDTO::getId);
+		assertThat(loads).hasValue(1);
+		assertThat(snapshot).extracting(LocationDTO::getId).containsExactly(2, 3);
+		assertThat(snapshot.get(1).getName()).isEqualTo("Renamed");
+	}
+
+	@Test
+	void rebuildRacingWithWriteIsNotCached() {
+		List<LocationDTO> loaded = aggregateCache.getOrRebuild(KEY, () -> {
+			aggregateCache.invalidate(KEY);
+			return List.of(location(1));
+		}, LocationDTO::getId);
+
+		assertThat(loaded).extracting(LocationDTO::getId).containsExactly(1);
+		assertThat(entityCache).doesNotContainKey(KEY);
+		assertThat(aggregateCache.getOrRebuild(KEY, () -> List.of(location(2)), LocationDTO::getId))
+				.extracting(LocationDTO::getId).containsExactly(2);
+	}
+
+	@Test
+	void concurrentWritesKeepSnapshotSortedWithoutRebuilding() throws Exception {
+		List<Long> latencies = runMixedWorkload(200, 500);
+
+		assertThat(latencies).isNotEmpty();
+	}
+
+	@Test
+	@Tag("benchmark")
+	void mixedWorkloadReadsNeverTriggerRebuild() throws Exception {
+		List<Long> latencies = runMixedWorkload(INITIAL_ROWS, OPERATIONS_PER_THREAD);
+
+		latencies.sort(null);
+		logger.info("Aggregate reads under 10% writes: {} reads, p50 {} us, p99 {} us",
+				latencies.size(),
+				latencies.get(latencies.size() / 2) / 1_000.0,
+				latencies.get(latencies.size() * 99 / 100) / 1_000.0);
+	}
+
+	private List<Long> runMixedWorkload(int initialRows, int operationsPerThread) throws Exception {
+		AtomicInteger loads = new AtomicInteger();
+		List<LocationDTO> rows = new ArrayList<>();
+		for (int i = 0; i < initialRows; i++) {
+			rows.add(location(i * 2));
+		}
+		aggregateCache.getOrRebuild(KEY, () -> {
+			loads.incrementAndGet();
+			return rows;
+		}, LocationDTO::getId);
+
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		List<Future<long[]>> results = new ArrayList<>();
+		for (int t = 0; t < THREADS; t++) {
+			results.add(executor.submit(() -> {
+				long[] readNanos = new long[operationsPerThread];
+				int reads = 0;
+				ThreadLocalRandom random = ThreadLocalRandom.current();
+				for (int i = 0; i < operationsPerThread; i++) {
+					if (random.nextInt(10) == 0) {
+						aggregateCache.upsert(KEY, location(random.nextInt(initialRows * 2)), LocationDTO::getId);
+					} else {
+						long start = System.nanoTime();
+						List<LocationDTO> snapshot = aggregateCache.getOrRebuild(KEY, () -> {
+							loads.incrementAndGet();
+							return List.of();
+						}, LocationDTO::getId);
+						readNanos[reads++] = System.nanoTime() - start;
+						assertThat(snapshot).isNotEmpty();
+					}
+				}
+				return Arrays.copyOf(readNanos, reads);
+			}));
+		}
+		List<Long> latencies = new ArrayList<>();
+		for (Future<long[]> result : results) {
+			for (long nanos : result.get()) {
+				latencies.add(nanos);
+			}
+		}
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		assertThat(loads).hasValue(1);
+		List<LocationDTO> snapshot = aggregateCache.get(KEY);
+		assertThat(snapshot).extracting(LocationDTO::getId).isSorted().doesNotHaveDuplicates();
+		return latencies;
+	}
+
+	private static LocationDTO location(int id) {
+		return new LocationDTO(id, "Location " + id, "Belarus", List.of());
+	}
+}
@@ -0,0 +1,53 @@
+package com.example.SunriseSunset.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CompositeCacheTests {
+
+	@Test
+	void dropsLeastRecentlyUsedCompositeBeyondMaxEntries() {
+		CompositeCache cache = new CompositeCache(2, 60_000);
+		cache.getOrLoad("a", () -> "A", "group_a");
+		cache.getOrLoad("b", () -> "B", "group_b");
+		cache.getOrLoad("a", () -> "reloaded", "group_a");
+		cache.getOrLoad("c", () -> "C", "group_c");
+
+		assertThat(cache.size()).isEqualTo(2);
+		assertThat(cache.getOrLoad("a", () -> "reloaded", "group_a")).isEqualTo("A");
+		assertThat(cache.getOrLoad("b", () -> "reloaded", "group_b")).isEqualTo("reloaded");
+	}
+
+	@Test
+	void invalidatesOnlyTheCompositesOfAGroup() {
+		CompositeCache cache = new CompositeCache(100, 60_000);
+		cache.getOrLoad("full_1_2025", () -> "one", "full", "full_1");
+		cache.getOrLoad("full_2_2025", () -> "two", "full", "full_2");
+
+		cache.invalidateGroup("full_1");
+		assertThat(cache.size()).isEqualTo(1);
+		assertThat(cache.getOrLoad("full_2_2025", () -> "reloaded", "full", "full_2")).isEqualTo("two");
+
+		cache.invalidateGroup("full");
+		assertThat(cache.size()).isZero();
+	}
+
+	@Test
+	void discardsLoadThatRacedWithInvalidationAndReloadsExpired() throws Exception {
+		CompositeCache cache = new CompositeCache(100, 60_000);
+		assertThat(cache.getOrLoad("full_1_2025", () -> {
+			cache.invalidateGroup("full_1");
+			return "stale";
+		}, "full", "full_1")).isEqualTo("stale");
+		assertThat(cache.size()).isZero();
+
+		CompositeCache expiring = new CompositeCache(100, 1);
+		AtomicInteger loads = new AtomicInteger();
+		expiring.getOrLoad("key", loads::incrementAndGet, "group");
+		Thread.sleep(5);
+		expiring.getOrLoad("key", loads::incrementAndGet, "group");
+		assertThat(loads).hasValue(2);
+	}
+}
@@ -0,0 +1,85 @@
+package com.example.SunriseSunset.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class BinaryFormatBenchmarkTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(BinaryFormatBenchmarkTests.class);
+
+	private static final int ROWS = 100_000;
+
+	private static final int SMALL_ROWS = 1_000;
+
+	private static final TypeReference<List<SunriseSunsetDTO>> LIST_TYPE = new TypeReference<>() {};
+
+	@Test
+	void binaryFormatsRoundTripAndStaySmallerThanJson() throws Exception {
+		List<SunriseSunsetDTO> rows = createRows(SMALL_ROWS);
+		BinaryFormatConfiguration configuration = new BinaryFormatConfiguration();
+
+		int jsonSize = measure("json", Jackson2ObjectMapperBuilder.json().build(), rows);
+		int cborSize = measure("cbor", configuration.cborHttpMessageConverter().getObjectMapper(), rows);
+		int smileSize = measure("smile", configuration.smileHttpMessageConverter().getObjectMapper(), rows);
+
+		assertThat(cborSize).isLessThan(jsonSize);
+		assertThat(smileSize).isLessThan(jsonSize);
+	}
+
+	@Test
+	@Tag("benchmark")
+	void binaryFormatsAreSmallerThanJsonForBulkResponses() throws Exception {
+		List<SunriseSunsetDTO> rows = createRows(ROWS);
+		BinaryFormatConfiguration configuration = new BinaryFormatConfiguration();
+
+		int jsonSize = measure("json", Jackson2ObjectMapperBuilder.json().build(), rows);
+		int cborSize = measure("cbor", configuration.cborHttpMessageConverter().getObjectMapper(), rows);
+		int smileSize = measure("smile", configuration.smileHttpMessageConverter().getObjectMapper(), rows);
+
+		assertThat(cborSize).isLessThan(jsonSize);
+		assertThat(smileSize).isLessThan(jsonSize);
+	}
+
+	private int measure(String format, ObjectMapper mapper, List<SunriseSunsetDTO> rows) throws Exception {
+		mapper.writeValueAsBytes(rows.subList(0, Math.min(rows.size(), SMALL_ROWS)));
+		long encodeStart = System.nanoTime();
+		byte[] payload = mapper.writeValueAsBytes(rows);
+		long encodeNanos = System.nanoTime() - encodeStart;
+
+		long decodeStart = System.nanoTime();
+		List<SunriseSunsetDTO> decoded = mapper.readValue(payload, LIST_TYPE);
+		long decodeNanos = System.nanoTime() - decodeStart;
+
+		int last = rows.size() - 1;
+		assertThat(decoded).hasSize(rows.size());
+		assertThat(decoded.get(last).getSunset().isEqual(rows.get(last).getSunset())).isTrue();
+		logger.info("{} rows as {}: {} bytes, encode {} ms, decode {} ms",
+				rows.size(), format, payload.length, encodeNanos / 1_000_000, decodeNanos / 1_000_000);
+		return payload.length;
+	}
+
+	private List<SunriseSunsetDTO> createRows(int count) {
+		List<SunriseSunsetDTO> rows = new ArrayList<>(count);
+		LocalDate start = LocalDate.of(2000, 1, 1);
+		for (int i = 0; i < count; i++) {
+			LocalDate date = start.plusDays(i % 9000);
+			OffsetDateTime sunrise = OffsetDateTime.of(date.atTime(6, i % 60), ZoneOffset.UTC);
+			OffsetDateTime sunset = OffsetDateTime.of(date.atTime(18, i % 60), ZoneOffset.UTC);
+			rows.add(new SunriseSunsetDTO(i, date, 53.9 + i % 10, 27.56, sunrise, sunset, List.of(i % 50)));
+		}
+		return rows;
+	}
+}
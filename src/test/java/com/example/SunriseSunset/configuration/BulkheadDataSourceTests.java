@@ -0,0 +1,112 @@
+package com.example.SunriseSunset.configuration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.example.SunriseSunset.exception.DatabaseBusyException;
+import com.example.SunriseSunset.exception.GlobalExceptionHandler;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+
+class BulkheadDataSourceTests {
+
+	private final BulkheadDataSource dataSource = new BulkheadDataSource(h2(), 1, 100);
+
+	private final JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+
+	private final TransactionTemplate transactionTemplate =
+			new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+	@Test
+	void transactionHoldsOneSlotUntilCommit() {
+		int availableInside = transactionTemplate.execute(status -> {
+			jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+			jdbcTemplate.queryForObject("SELECT 2", Integer.class);
+			return dataSource.getAvailableSlots();
+		});
+
+		assertThat(availableInside).isZero();
+		assertThat(dataSource.getAvailableSlots()).isEqualTo(1);
+	}
+
+	@Test
+	void rejectsTransactionWhenNoSlotFreesAndMapsToServiceUnavailable() throws Exception {
+		CountDownLatch holding = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Integer> holder = CompletableFuture.supplyAsync(() ->
+				transactionTemplate.execute(status -> {
+					holding.countDown();
+					try {
+						release.await(5, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+				}));
+		assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Throwable rejected;
+		try {
+			rejected = catchThrowable(() -> transactionTemplate.execute(status ->
+					jdbcTemplate.queryForObject("SELECT 1", Integer.class)));
+		} finally {
+			release.countDown();
+		}
+		assertThat(holder.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+		assertThat(rejected).isInstanceOf(CannotCreateTransactionException.class)
+				.hasCauseInstanceOf(DatabaseBusyException.class);
+
+		ResponseEntity<Object> response = new GlobalExceptionHandler().handleCannotCreateTransaction(
+				(CannotCreateTransactionException) rejected,
+				new ServletWebRequest(new MockHttpServletRequest("GET", "/locations/1")));
+		assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+		assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+		assertThat(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).isEqualTo(1);
+	}
+
+	@Test
+	void repeatedCloseFreesTheSlotOnce() throws SQLException {
+		BulkheadDataSource twoSlots = new BulkheadDataSource(h2(), 2, 100);
+		Connection connection = twoSlots.getConnection();
+
+		connection.close();
+		connection.close();
+
+		assertThat(twoSlots.getAvailableSlots()).isEqualTo(2);
+	}
+
+	@Test
+	void failedConnectionFreesTheSlot() throws SQLException {
+		DataSource failing = mock(DataSource.class);
+		when(failing.getConnection()).thenThrow(new SQLException("pool exhausted"));
+		BulkheadDataSource bulkhead = new BulkheadDataSource(failing, 1, 100);
+
+		assertThatThrownBy(bulkhead::getConnection).isInstanceOf(SQLException.class);
+
+		assertThat(bulkhead.getAvailableSlots()).isEqualTo(1);
+	}
+
+	private static DataSource h2() {
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:bulkhead");
+		return h2;
+	}
+}
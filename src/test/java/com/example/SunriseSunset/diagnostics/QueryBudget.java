@@ -0,0 +1,17 @@
+package com.example.SunriseSunset.diagnostics;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**Fails the annotated test when its body prepares more SQL statements than the declared budget.*/
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+	/** The maximum number of SQL statements the test body may prepare. */
+	int value();
+}
@@ -0,0 +1,35 @@
+package com.example.SunriseSunset.diagnostics;
+
+import java.util.Optional;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.platform.commons.support.AnnotationSupport;
+
+/**Counts the statements prepared by a test body through QueryCounter and enforces its QueryBudget.*/
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+	@Override
+	public void beforeTestExecution(ExtensionContext context) {
+		QueryCounter.begin();
+	}
+
+	@Override
+	public void afterTestExecution(ExtensionContext context) {
+		int queries = QueryCounter.end();
+		int budget = budget(context);
+		if (context.getExecutionException().isEmpty() && queries > budget) {
+			throw new AssertionError(context.getDisplayName() + " ran " + queries
+					+ " SQL statements, exceeding its query budget of " + budget);
+		}
+	}
+
+	private int budget(ExtensionContext context) {
+		Optional<QueryBudget> budget = AnnotationSupport.findAnnotation(context.getRequiredTestMethod(),
+				QueryBudget.class);
+		if (budget.isEmpty()) {
+			budget = AnnotationSupport.findAnnotation(context.getRequiredTestClass(), QueryBudget.class);
+		}
+		return budget.map(QueryBudget::value).orElse(Integer.MAX_VALUE);
+	}
+}
@@ -0,0 +1,126 @@
+package com.example.SunriseSunset.diagnostics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SunriseSunset.model.LocationEntity;
+import com.example.SunriseSunset.model.SunriseSunsetEntity;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import com.example.SunriseSunset.service.LocationService;
+import com.example.SunriseSunset.service.ServiceFixtures;
+import com.example.SunriseSunset.service.SunriseSunsetService;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:budgets;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ReadPathQueryBudgetTests {
+
+	private static final int LOCATIONS = 20;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private SunriseSunsetRepository sunriseSunsetRepository;
+
+	private LocationService locationService;
+
+	private SunriseSunsetService sunriseSunsetService;
+
+	private List<Integer> locationIds;
+
+	private List<Integer> sunriseSunsetIds;
+
+	@BeforeEach
+	void setUp() {
+		ServiceFixtures services = ServiceFixtures.services(sunriseSunsetRepository, locationRepository,
+				new TransactionTemplate(transactionManager));
+		locationService = services.locationService();
+		sunriseSunsetService = services.sunriseSunsetService();
+
+		locationIds = new ArrayList<>();
+		sunriseSunsetIds = new ArrayList<>();
+		for (int i = 0; i < LOCATIONS; i++) {
+			LocationEntity location = new LocationEntity();
+			location.name = "Location " + i;
+			location.country = "Belarus";
+			for (int day = 0; day < 3; day++) {
+				SunriseSunsetEntity entry = new SunriseSunsetEntity();
+				entry.date = LocalDate.of(2025, 1, 1).plusDays(i * 3 + day);
+				entry.latitude = 53.9;
+				entry.longitude = 27.56;
+				entry.sunrise = OffsetDateTime.of(entry.date.atTime(6, 0), ZoneOffset.UTC);
+				entry.sunset = OffsetDateTime.of(entry.date.atTime(15, 0), ZoneOffset.UTC);
+				testEntityManager.persist(entry);
+				location.sunriseSunsets.add(entry);
+				sunriseSunsetIds.add(entry.id);
+			}
+			locationIds.add(testEntityManager.persist(location).id);
+		}
+		testEntityManager.flush();
+		testEntityManager.clear();
+	}
+
+	@Test
+	@QueryBudget(1)
+	void allLocationsLoadInOneStatement() {
+		assertThat(locationService.getAllLocations()).hasSize(LOCATIONS)
+				.allSatisfy(location -> assertThat(location.getSunriseSunsetIds()).hasSize(3));
+	}
+
+	@Test
+	@QueryBudget(1)
+	void locationMultiGetLoadsInOneStatement() {
+		assertThat(locationService.getLocationsByIds(locationIds)).hasSize(LOCATIONS);
+	}
+
+	@Test
+	@QueryBudget(1)
+	void allSunriseSunsetsLoadInOneStatement() {
+		assertThat(sunriseSunsetService.getAllSunriseSunsets()).hasSize(LOCATIONS * 3)
+				.allSatisfy(entry -> assertThat(entry.getLocationIds()).hasSize(1));
+	}
+
+	@Test
+	@QueryBudget(1)
+	void sunriseSunsetMultiGetLoadsInOneStatement() {
+		assertThat(sunriseSunsetService.getSunriseSunsetsByIds(sunriseSunsetIds)).hasSize(LOCATIONS * 3);
+	}
+
+	@Test
+	@QueryBudget(1)
+	void sunriseSunsetsByLocationLoadInOneStatement() {
+		assertThat(sunriseSunsetService.getSunriseSunsetsByLocationId(locationIds.get(0))).hasSize(3);
+	}
+
+	@Test
+	@QueryBudget(1)
+	void fullLocationLoadsInOneStatement() {
+		assertThat(locationService.getLocationFull(locationIds.get(0), LocalDate.of(2025, 1, 1),
+				LocalDate.of(2025, 1, 2)).getSunriseSunsets()).hasSize(2);
+	}
+}
@@ -0,0 +1,117 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.example.SunriseSunset.dto.ChangeDTO;
+import com.example.SunriseSunset.dto.ChangeFeedDTO;
+import com.example.SunriseSunset.dto.LocationDTO;
+import com.example.SunriseSunset.model.ChangeEntityType;
+import com.example.SunriseSunset.model.ChangeOperation;
+import com.example.SunriseSunset.model.SunriseSunsetEntity;
+import com.example.SunriseSunset.repository.ChangeLogLockRepository;
+import com.example.SunriseSunset.repository.ChangeLogRepository;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:changes;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class ChangeFeedTests {
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ChangeLogRepository changeLogRepository;
+
+	@Autowired
+	private ChangeLogLockRepository changeLogLockRepository;
+
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private SunriseSunsetRepository sunriseSunsetRepository;
+
+	private LocationService locationService;
+
+	private ChangeFeedService changeFeedService;
+
+	private Integer entryId;
+
+	@BeforeEach
+	void setUp() {
+		ChangeLogService changeLogService = new ChangeLogService(changeLogRepository, changeLogLockRepository,
+				locationRepository, sunriseSunsetRepository);
+		ServiceFixtures services = ServiceFixtures.services(sunriseSunsetRepository, locationRepository,
+						new TransactionTemplate(transactionManager))
+				.changeLogService(changeLogService);
+		locationService = services.locationService();
+		SunriseSunsetService sunriseSunsetService = services.sunriseSunsetService();
+		changeFeedService = new ChangeFeedService(changeLogService, sunriseSunsetService, locationService);
+
+		SunriseSunsetEntity entry = new SunriseSunsetEntity();
+		entry.date = LocalDate.of(2025, 6, 21);
+		entry.latitude = 53.9;
+		entry.longitude = 27.56;
+		entry.sunrise = OffsetDateTime.of(2025, 6, 21, 1, 39, 0, 0, ZoneOffset.UTC);
+		entry.sunset = OffsetDateTime.of(2025, 6, 21, 19, 40, 0, 0, ZoneOffset.UTC);
+		entryId = testEntityManager.persistAndFlush(entry).id;
+		changeLogService.backfill();
+	}
+
+	@Test
+	void compactsChangesAndReturnsTombstonesForDeletedEntities() {
+		LocationDTO created = locationService.createLocation(new LocationDTO(null, "Minsk", "Belarus", List.of(entryId)));
+		locationService.deleteLocation(created.getId());
+
+		ChangeFeedDTO feed = changeFeedService.getChanges(0, 100);
+
+		assertThat(feed.getChanges())
+				.extracting(ChangeDTO::getEntityType, ChangeDTO::getEntityId, ChangeDTO::getOperation)
+				.containsExactly(
+						tuple(ChangeEntityType.LOCATION, created.getId(), ChangeOperation.DELETE),
+						tuple(ChangeEntityType.SUNRISE_SUNSET, entryId, ChangeOperation.UPSERT));
+		assertThat(feed.getChanges().get(0).getLocation()).isNull();
+		assertThat(feed.getChanges().get(1).getSunriseSunset().getLocationIds()).isEmpty();
+		assertThat(feed.isHasMore()).isFalse();
+		assertThat(changeFeedService.getChanges(feed.getNextVersion(), 100).getChanges()).isEmpty();
+	}
+
+	@Test
+	void pagesThroughChangesInVersionOrder() {
+		locationService.createLocation(new LocationDTO(null, "Minsk", "Belarus", List.of()));
+		locationService.createLocation(new LocationDTO(null, "Brest", "Belarus", List.of()));
+
+		ChangeFeedDTO first = changeFeedService.getChanges(0, 2);
+		ChangeFeedDTO second = changeFeedService.getChanges(first.getNextVersion(), 2);
+
+		assertThat(first.isHasMore()).isTrue();
+		assertThat(first.getChanges()).extracting(ChangeDTO::getEntityType)
+				.containsExactly(ChangeEntityType.SUNRISE_SUNSET, ChangeEntityType.LOCATION);
+		assertThat(second.isHasMore()).isFalse();
+		assertThat(second.getChanges()).extracting(change -> change.getLocation().getName())
+				.containsExactly("Brest");
+	}
+}
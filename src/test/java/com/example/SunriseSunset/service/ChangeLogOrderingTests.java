@@ -0,0 +1,104 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SunriseSunset.model.ChangeEntityType;
+import com.example.SunriseSunset.model.ChangeLogEntity;
+import com.example.SunriseSunset.repository.ChangeLogLockRepository;
+import com.example.SunriseSunset.repository.ChangeLogRepository;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:changeorder;LOCK_TIMEOUT=10000;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeLogOrderingTests {
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ChangeLogRepository changeLogRepository;
+
+	@Autowired
+	private ChangeLogLockRepository changeLogLockRepository;
+
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private SunriseSunsetRepository sunriseSunsetRepository;
+
+	private ChangeLogService changeLogService;
+
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		changeLogRepository.deleteAll();
+		changeLogService = new ChangeLogService(changeLogRepository, changeLogLockRepository, locationRepository,
+				sunriseSunsetRepository);
+		changeLogService.backfill();
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Test
+	void laterWriterWaitsSoAClientCursorCannotPassAnUncommittedVersion() throws Exception {
+		CountDownLatch recorded = new CountDownLatch(1);
+		CountDownLatch commit = new CountDownLatch(1);
+		CompletableFuture<Void> earlier = CompletableFuture.runAsync(() ->
+				transactionTemplate.executeWithoutResult(status -> {
+					changeLogService.recordUpserts(ChangeEntityType.LOCATION, List.of(1));
+					recorded.countDown();
+					await(commit);
+				}));
+		assertThat(recorded.await(10, TimeUnit.SECONDS)).isTrue();
+		CompletableFuture<Void> later = CompletableFuture.runAsync(() ->
+				transactionTemplate.executeWithoutResult(status ->
+						changeLogService.recordUpserts(ChangeEntityType.LOCATION, List.of(2))));
+
+		List<ChangeLogEntity> seenWhileEarlierOpen;
+		try {
+			Thread.sleep(300);
+			assertThat(later).isNotDone();
+			seenWhileEarlierOpen = changeLogService.findSince(0, 100);
+		} finally {
+			commit.countDown();
+		}
+		earlier.get(10, TimeUnit.SECONDS);
+		later.get(10, TimeUnit.SECONDS);
+
+		assertThat(seenWhileEarlierOpen).isEmpty();
+		List<ChangeLogEntity> all = changeLogService.findSince(0, 100);
+		assertThat(all).extracting(change -> change.entityId).containsExactly(1, 2);
+		assertThat(changeLogService.findSince(all.get(0).version, 100)).extracting(change -> change.entityId)
+				.containsExactly(2);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(10, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
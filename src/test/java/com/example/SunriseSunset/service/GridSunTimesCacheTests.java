@@ -0,0 +1,101 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SunriseSunset.dto.GridCacheStatsDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetModel;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+class GridSunTimesCacheTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(GridSunTimesCacheTests.class);
+
+	private final SolarCalculator solarCalculator = new SolarCalculator();
+
+	@Test
+	void defaultGridStaysWithinThirtySeconds() {
+		GridSunTimesCache grid = new GridSunTimesCache(solarCalculator,
+				true, 0.05, 60, 30, 1.0, 100_000, 86_400_000);
+
+		assertThat(grid.getStats().getErrorBoundSeconds()).isLessThanOrEqualTo(30);
+	}
+
+	@Test
+	void nearbyPointsShareCellsWithinErrorBound() {
+		GridSunTimesCache grid = new GridSunTimesCache(solarCalculator,
+				true, 0.05, 60, 30, 1.0, 100_000, 86_400_000);
+		AtomicInteger upstreamCalls = new AtomicInteger();
+		Random random = new Random(42);
+		LocalDate date = LocalDate.of(2025, 6, 21);
+
+		for (int i = 0; i < 20_000; i++) {
+			double latitude = 53.7 + random.nextDouble() * 0.4;
+			double longitude = 27.4 + random.nextDouble() * 0.4;
+			grid.resolve(latitude, longitude, date.plusDays(i % 3).toString(), (cellLat, cellLng) -> {
+				upstreamCalls.incrementAndGet();
+				return new SunriseSunsetModel();
+			});
+		}
+
+		GridCacheStatsDTO stats = grid.getStats();
+		logger.info("Grid cache: {} upstream calls for 20000 requests, hit ratio {}, error mean {} s, max {} s, "
+				+ "bound {} s, histogram {}", upstreamCalls.get(), stats.getHitRatio(), stats.getMeanErrorSeconds(),
+				stats.getMaxErrorSeconds(), stats.getErrorBoundSeconds(), stats.getErrorHistogram());
+		assertThat(upstreamCalls.get()).isLessThanOrEqualTo(9 * 9 * 3);
+		assertThat(stats.getHitRatio()).isGreaterThan(0.95);
+		assertThat(stats.getSampledErrors()).isEqualTo(20_000);
+		assertThat(stats.getMaxErrorSeconds()).isLessThanOrEqualTo(stats.getErrorBoundSeconds());
+	}
+
+	@Test
+	void highLatitudesBypassGrid() {
+		GridSunTimesCache grid = new GridSunTimesCache(solarCalculator,
+				true, 0.05, 60, 30, 0, 100_000, 86_400_000);
+		AtomicInteger upstreamCalls = new AtomicInteger();
+
+		for (int i = 0; i < 3; i++) {
+			grid.resolve(69.65, 18.96, "2025-03-01", (cellLat, cellLng) -> {
+				assertThat(cellLat).isEqualTo(69.65);
+				upstreamCalls.incrementAndGet();
+				return new SunriseSunsetModel();
+			});
+		}
+
+		assertThat(upstreamCalls).hasValue(3);
+		assertThat(grid.getStats().getBypassed()).isEqualTo(3);
+	}
+
+	@Test
+	void cellsAreBoundedAndExpire() {
+		GridSunTimesCache bounded = new GridSunTimesCache(solarCalculator, true, 0.05, 60, 30, 0, 2, 86_400_000);
+		AtomicInteger upstreamCalls = new AtomicInteger();
+
+		for (double latitude : new double[] {53.90, 54.00, 53.90, 54.10, 54.00}) {
+			resolve(bounded, latitude, upstreamCalls);
+		}
+
+		assertThat(upstreamCalls).hasValue(4);
+		assertThat(bounded.size()).isEqualTo(2);
+		assertThat(bounded.getStats().getHits()).isEqualTo(1);
+
+		GridSunTimesCache expiring = new GridSunTimesCache(solarCalculator, true, 0.05, 60, 30, 0, 100, 0);
+		upstreamCalls.set(0);
+		resolve(expiring, 53.9, upstreamCalls);
+		resolve(expiring, 53.9, upstreamCalls);
+
+		assertThat(upstreamCalls).hasValue(2);
+		assertThat(expiring.getStats().getHits()).isZero();
+	}
+
+	private static void resolve(GridSunTimesCache grid, double latitude, AtomicInteger upstreamCalls) {
+		grid.resolve(latitude, 27.56, "2025-06-21", (cellLat, cellLng) -> {
+			upstreamCalls.incrementAndGet();
+			return new SunriseSunsetModel();
+		});
+	}
+}
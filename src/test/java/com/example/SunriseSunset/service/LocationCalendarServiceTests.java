@@ -0,0 +1,107 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SunriseSunset.dto.LocationCalendarDTO;
+import com.example.SunriseSunset.model.LocationCalendarEntity;
+import com.example.SunriseSunset.repository.LocationCalendarRepository;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+class LocationCalendarServiceTests {
+
+	private final LocationCalendarRepository locationCalendarRepository = mock(LocationCalendarRepository.class);
+
+	private final LocationRepository locationRepository = mock(LocationRepository.class);
+
+	private final SunriseSunsetRepository sunriseSunsetRepository = mock(SunriseSunsetRepository.class);
+
+	private final Map<String, Object> entityCache = new ConcurrentHashMap<>();
+
+	private LocationCalendarService calendarService;
+
+	@BeforeEach
+	void setUp() {
+		calendarService = new LocationCalendarService(locationCalendarRepository, locationRepository,
+				sunriseSunsetRepository, new SolarCalculator(), entityCache);
+		when(locationRepository.existsById(1)).thenReturn(true);
+		when(sunriseSunsetRepository.findAverageCoordinatesByLocationId(1))
+				.thenReturn(List.<Object[]>of(new Object[] {51.5, -0.13}));
+	}
+
+	@Test
+	void losingConcurrentGenerationReadsTheStoredCalendar() {
+		LocationCalendarEntity winner = calendar(7, 51.5, -0.13);
+		when(locationCalendarRepository.findByLocationIdAndYear(1, 2025))
+				.thenReturn(Optional.empty())
+				.thenReturn(Optional.of(winner));
+		when(locationCalendarRepository.save(any())).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+		LocationCalendarDTO dto = calendarService.getCalendar(1, 2025);
+
+		assertThat(dto.getLatitude()).isEqualTo(51.5);
+		assertThat(entityCache).containsKey("Calendar_1_2025");
+	}
+
+	@Test
+	void evictionDropsStoredAndCachedCalendars() {
+		when(locationCalendarRepository.findByLocationIdAndYear(1, 2025))
+				.thenReturn(Optional.of(calendar(7, 51.5, -0.13)));
+		calendarService.getCalendar(1, 2025);
+		entityCache.put("Calendar_10_2025", "other location");
+
+		calendarService.evictCalendars(List.of(1, 2));
+		calendarService.getCalendar(1, 2025);
+
+		verify(locationCalendarRepository).deleteByLocationIdIn(List.of(1, 2));
+		verify(locationCalendarRepository, times(2)).findByLocationIdAndYear(1, 2025);
+		assertThat(entityCache).containsKeys("Calendar_1_2025", "Calendar_10_2025");
+	}
+
+	@Test
+	void generationRacingWithEvictionIsNeitherKeptNorCached() {
+		when(locationCalendarRepository.findByLocationIdAndYear(1, 2025)).thenReturn(Optional.empty());
+		when(locationCalendarRepository.save(any())).thenAnswer(invocation -> {
+			calendarService.evictCalendars(List.of(1));
+			return invocation.getArgument(0);
+		});
+
+		calendarService.getCalendar(1, 2025);
+
+		verify(locationCalendarRepository).delete(any());
+		assertThat(entityCache).doesNotContainKey("Calendar_1_2025");
+	}
+
+	@Test
+	void evictingNoLocationsSkipsTheDatabase() {
+		calendarService.evictCalendars(List.of());
+
+		verify(locationCalendarRepository, never()).deleteByLocationIdIn(any());
+	}
+
+	private static LocationCalendarEntity calendar(Integer id, double latitude, double longitude) {
+		LocationCalendarEntity entity = new LocationCalendarEntity();
+		entity.id = id;
+		entity.locationId = 1;
+		entity.year = 2025;
+		entity.latitude = latitude;
+		entity.longitude = longitude;
+		entity.utcOffsetMinutes = 0;
+		entity.sunriseMinutes = new int[365];
+		entity.sunsetMinutes = new int[365];
+		return entity;
+	}
+}
@@ -0,0 +1,200 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.SunriseSunset.cache.CompositeCache;
+import com.example.SunriseSunset.diagnostics.QueryCounter;
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.LocationDTO;
+import com.example.SunriseSunset.dto.LocationFullDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.model.LocationEntity;
+import com.example.SunriseSunset.model.SunriseSunsetEntity;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:fullread;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LocationFullReadTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(LocationFullReadTests.class);
+
+	private static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+	private static final int DAYS = 365;
+
+	private static final int READS = 200;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private SunriseSunsetRepository sunriseSunsetRepository;
+
+	private Map<String, Object> entityCache;
+
+	private CompositeCache compositeCache;
+
+	private LocationService locationService;
+
+	private SunriseSunsetService sunriseSunsetService;
+
+	private Integer minskId;
+
+	private Integer brestId;
+
+	@BeforeEach
+	void setUp() {
+		ServiceFixtures services = ServiceFixtures.services(sunriseSunsetRepository, locationRepository,
+				new TransactionTemplate(transactionManager));
+		entityCache = services.entityCache();
+		compositeCache = services.compositeCache();
+		locationService = services.locationService();
+		sunriseSunsetService = services.sunriseSunsetService();
+
+		LocationEntity minsk = location("Minsk");
+		LocationEntity brest = location("Brest");
+		for (int day = 0; day < DAYS; day++) {
+			SunriseSunsetEntity entry = new SunriseSunsetEntity();
+			entry.date = FIRST_DAY.plusDays(day);
+			entry.latitude = 53.9;
+			entry.longitude = 27.56;
+			entry.sunrise = OffsetDateTime.of(entry.date.atTime(6, 0), ZoneOffset.UTC);
+			entry.sunset = OffsetDateTime.of(entry.date.atTime(15, 0), ZoneOffset.UTC);
+			testEntityManager.persist(entry);
+			minsk.sunriseSunsets.add(entry);
+			if (day % 2 == 0) {
+				brest.sunriseSunsets.add(entry);
+			}
+		}
+		minskId = testEntityManager.persist(minsk).id;
+		brestId = testEntityManager.persist(brest).id;
+		testEntityManager.flush();
+		testEntityManager.clear();
+	}
+
+	@Test
+	void readsLocationWithEntriesOfTheRangeAndTheirOtherLocations() {
+		LocationFullDTO full = locationService.getLocationFull(minskId, FIRST_DAY, FIRST_DAY.plusDays(2));
+
+		assertThat(full.getName()).isEqualTo("Minsk");
+		assertThat(full.getSunriseSunsets()).extracting(SunriseSunsetDTO::getDate)
+				.containsExactly(FIRST_DAY, FIRST_DAY.plusDays(1), FIRST_DAY.plusDays(2));
+		assertThat(full.getSunriseSunsets().get(0).getLocationIds()).containsExactlyInAnyOrder(minskId, brestId);
+		assertThat(full.getSunriseSunsets().get(1).getLocationIds()).containsExactly(minskId);
+		assertThat(locationService.getLocationFull(minskId, FIRST_DAY.minusYears(1), FIRST_DAY.minusDays(1))
+				.getSunriseSunsets()).isEmpty();
+		assertThatThrownBy(() -> locationService.getLocationFull(-1, FIRST_DAY, FIRST_DAY))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void writesOfEitherServiceInvalidateCachedFullReads() {
+		LocalDate to = FIRST_DAY.plusDays(2);
+		LocalDate yearEnd = FIRST_DAY.withDayOfYear(FIRST_DAY.lengthOfYear());
+		LocationFullDTO cached = locationService.getLocationFull(brestId, FIRST_DAY, yearEnd);
+		assertThat(locationService.getLocationFull(brestId, FIRST_DAY, yearEnd)).isSameAs(cached);
+		assertThat(locationService.getLocationFull(brestId, FIRST_DAY, to).getSunriseSunsets()).hasSize(2);
+		assertThat(compositeCache.size()).isEqualTo(1);
+
+		SunriseSunsetDTO second = locationService.getLocationFull(minskId, FIRST_DAY, to).getSunriseSunsets().get(1);
+		LinkPatchDTO patch = new LinkPatchDTO();
+		patch.setAdd(List.of(brestId));
+		sunriseSunsetService.patchLocationLinks(second.getId(), patch);
+		assertThat(locationService.getLocationFull(brestId, FIRST_DAY, to).getSunriseSunsets()).hasSize(3);
+		assertThat(locationService.getLocationFull(minskId, FIRST_DAY, to).getSunriseSunsets().get(1)
+				.getLocationIds()).containsExactlyInAnyOrder(minskId, brestId);
+
+		locationService.updateLocation(minskId, new LocationDTO(minskId, "Mensk", "Belarus",
+				locationService.getLocationById(minskId).getSunriseSunsetIds()));
+		assertThat(locationService.getLocationFull(minskId, FIRST_DAY, to).getName()).isEqualTo("Mensk");
+
+		LinkPatchDTO unlink = new LinkPatchDTO();
+		unlink.setRemove(List.of(second.getId()));
+		locationService.patchSunriseSunsetLinks(minskId, unlink);
+		assertThat(locationService.getLocationFull(brestId, FIRST_DAY, to).getSunriseSunsets().get(1)
+				.getLocationIds()).containsExactly(brestId);
+
+		sunriseSunsetService.deleteSunriseSunset(second.getId());
+		assertThat(locationService.getLocationFull(brestId, FIRST_DAY, to).getSunriseSunsets()).hasSize(2);
+	}
+
+	@Test
+	void fullReadTakesOneStatementWhereTwoCallPathTakesMore() {
+		LocalDate to = FIRST_DAY.plusDays(DAYS - 1);
+		QueryCounter.begin();
+		locationService.getLocationById(minskId);
+		sunriseSunsetService.getSunriseSunsetsByLocationId(minskId);
+		int twoCallStatements = QueryCounter.end();
+		entityCache.clear();
+		testEntityManager.clear();
+		QueryCounter.begin();
+		LocationFullDTO full = locationService.getLocationFull(minskId, FIRST_DAY, to);
+		int fullStatements = QueryCounter.end();
+
+		assertThat(fullStatements).isEqualTo(1);
+		assertThat(twoCallStatements).isGreaterThan(fullStatements);
+		assertThat(full.getSunriseSunsets()).hasSize(DAYS);
+	}
+
+	@Test
+	@Tag("benchmark")
+	void comparesFullReadWithTwoCallPath() {
+		LocalDate to = FIRST_DAY.plusDays(DAYS - 1);
+		long twoCallNanos = 0;
+		long fullNanos = 0;
+		for (int i = 0; i < READS; i++) {
+			entityCache.clear();
+			testEntityManager.clear();
+			long begin = System.nanoTime();
+			locationService.getLocationById(minskId);
+			sunriseSunsetService.getSunriseSunsetsByLocationId(minskId);
+			twoCallNanos += System.nanoTime() - begin;
+
+			entityCache.clear();
+			compositeCache.invalidateGroup("Location_Full");
+			testEntityManager.clear();
+			begin = System.nanoTime();
+			locationService.getLocationFull(minskId, FIRST_DAY, to);
+			fullNanos += System.nanoTime() - begin;
+		}
+		logger.info("Cold read of a location with {} entries: two-call path {} us; full read {} us",
+				DAYS, twoCallNanos / READS / 1000, fullNanos / READS / 1000);
+	}
+
+	private LocationEntity location(String name) {
+		LocationEntity location = new LocationEntity();
+		location.name = name;
+		location.country = "Belarus";
+		return location;
+	}
+}
@@ -0,0 +1,148 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SunriseSunset.dto.LinkPatchDTO;
+import com.example.SunriseSunset.dto.LocationDTO;
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.model.LocationEntity;
+import com.example.SunriseSunset.model.SunriseSunsetEntity;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:links;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LocationLinkDeltaTests {
+
+	private static final int LINKED_ENTRIES = 200;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private SunriseSunsetRepository sunriseSunsetRepository;
+
+	private Map<String, Object> entityCache;
+
+	private LocationService locationService;
+
+	private Integer locationId;
+
+	private List<Integer> linkedIds;
+
+	private Integer unlinkedId;
+
+	@BeforeEach
+	void setUp() {
+		entityCache = new HashMap<>();
+		locationService = ServiceFixtures.services(sunriseSunsetRepository, locationRepository,
+						new TransactionTemplate(transactionManager))
+				.entityCache(entityCache)
+				.locationService();
+		LocationEntity location = new LocationEntity();
+		location.name = "Minsk";
+		location.country = "Belarus";
+		linkedIds = new ArrayList<>();
+		for (int i = 0; i < LINKED_ENTRIES; i++) {
+			SunriseSunsetEntity entry = persistEntry(i);
+			location.sunriseSunsets.add(entry);
+			linkedIds.add(entry.id);
+		}
+		unlinkedId = persistEntry(LINKED_ENTRIES).id;
+		locationId = testEntityManager.persistAndFlush(location).id;
+		testEntityManager.clear();
+		statistics().clear();
+	}
+
+	@Test
+	void updateWritesOnlyChangedJoinRows() {
+		List<Integer> requestedIds = new ArrayList<>(linkedIds.subList(1, linkedIds.size()));
+		requestedIds.add(unlinkedId);
+
+		LocationDTO updated = locationService.updateLocation(locationId,
+				new LocationDTO(locationId, "Minsk", "Belarus", requestedIds));
+		testEntityManager.flush();
+
+		assertThat(updated.getSunriseSunsetIds()).hasSize(LINKED_ENTRIES).contains(unlinkedId)
+				.doesNotContain(linkedIds.get(0));
+		assertThat(statistics().getPrepareStatementCount()).isLessThanOrEqualTo(6);
+	}
+
+	@Test
+	void patchWritesOnlyChangedJoinRows() {
+		LocationDTO updated = locationService.patchSunriseSunsetLinks(locationId,
+				new LinkPatchDTO(List.of(unlinkedId), List.of(linkedIds.get(0))));
+		testEntityManager.flush();
+
+		assertThat(updated.getSunriseSunsetIds()).hasSize(LINKED_ENTRIES).contains(unlinkedId)
+				.doesNotContain(linkedIds.get(0));
+		assertThat(statistics().getPrepareStatementCount()).isLessThanOrEqualTo(6);
+	}
+
+	@Test
+	void unlinkUpdatesOtherLocationsCachedListWithoutCachedEntry() {
+		Integer entryId = linkedIds.get(0);
+		LocationEntity brest = new LocationEntity();
+		brest.name = "Brest";
+		brest.country = "Belarus";
+		brest.sunriseSunsets.add(sunriseSunsetRepository.getReferenceById(entryId));
+		Integer brestId = testEntityManager.persistAndFlush(brest).id;
+		testEntityManager.clear();
+		String brestKey = "SunriseSunset_Location_" + brestId;
+		entityCache.put(brestKey, List.of(new SunriseSunsetDTO(entryId, LocalDate.of(2025, 1, 1), 53.9, 27.56,
+				null, null, List.of(locationId, brestId))));
+
+		locationService.patchSunriseSunsetLinks(locationId, new LinkPatchDTO(List.of(), List.of(entryId)));
+
+		assertThat((List<?>) entityCache.get(brestKey)).singleElement()
+				.satisfies(entry -> assertThat(((SunriseSunsetDTO) entry).getLocationIds()).containsExactly(brestId));
+	}
+
+	private SunriseSunsetEntity persistEntry(int dayOffset) {
+		SunriseSunsetEntity entry = new SunriseSunsetEntity();
+		entry.date = LocalDate.of(2025, 1, 1).plusDays(dayOffset);
+		entry.latitude = 53.9;
+		entry.longitude = 27.56;
+		entry.sunrise = OffsetDateTime.of(entry.date.atTime(6, 0), ZoneOffset.UTC);
+		entry.sunset = OffsetDateTime.of(entry.date.atTime(15, 0), ZoneOffset.UTC);
+		return testEntityManager.persist(entry);
+	}
+
+	private Statistics statistics() {
+		return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+	}
+}
@@ -0,0 +1,93 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.example.SunriseSunset.dto.LocationDTO;
+import com.example.SunriseSunset.model.LocationEntity;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class NegativeCacheTests {
+
+	private static final long TTL_MILLIS = 200;
+
+	private final SunriseSunsetRepository sunriseSunsetRepository = mock(SunriseSunsetRepository.class);
+
+	private final LocationRepository locationRepository = mock(LocationRepository.class);
+
+	private final Map<String, Object> entityCache = new ConcurrentHashMap<>();
+
+	private SunriseSunsetService sunService;
+
+	private LocationService locationService;
+
+	@BeforeEach
+	void setUp() {
+		ServiceFixtures services = ServiceFixtures.services(sunriseSunsetRepository, locationRepository,
+						new TransactionTemplate(mock(PlatformTransactionManager.class)))
+				.entityCache(entityCache)
+				.negativeTtlMillis(TTL_MILLIS);
+		sunService = services.sunriseSunsetService();
+		locationService = services.locationService();
+	}
+
+	@Test
+	void repeatedMissesQueryDatabaseOncePerTtlWindow() throws Exception {
+		when(sunriseSunsetRepository.findById(42)).thenReturn(Optional.empty());
+
+		for (int i = 0; i < 10; i++) {
+			assertThat(sunService.getSunriseSunsetById(42)).isNull();
+		}
+		verify(sunriseSunsetRepository, times(1)).findById(42);
+
+		Thread.sleep(TTL_MILLIS + 50);
+		for (int i = 0; i < 10; i++) {
+			assertThat(sunService.getSunriseSunsetById(42)).isNull();
+		}
+		verify(sunriseSunsetRepository, times(2)).findById(42);
+	}
+
+	@Test
+	void emptyQueryResultsAreCachedForTtlWindow() throws Exception {
+		for (int i = 0; i < 10; i++) {
+			assertThat(sunService.getSunriseSunsetsByLocationId(7)).isEmpty();
+		}
+		verify(sunriseSunsetRepository, times(1)).findByLocationId(7);
+
+		Thread.sleep(TTL_MILLIS + 50);
+		assertThat(sunService.getSunriseSunsetsByLocationId(7)).isEmpty();
+		verify(sunriseSunsetRepository, times(2)).findByLocationId(7);
+	}
+
+	@Test
+	void creatingLocationReplacesNegativeEntry() {
+		when(locationRepository.findById(5)).thenReturn(Optional.empty());
+		for (int i = 0; i < 3; i++) {
+			assertThatThrownBy(() -> locationService.getLocationById(5)).isInstanceOf(IllegalArgumentException.class);
+		}
+		verify(locationRepository, times(1)).findById(5);
+
+		when(locationRepository.save(any(LocationEntity.class))).thenAnswer(invocation -> {
+			LocationEntity saved = invocation.getArgument(0);
+			saved.id = 5;
+			return saved;
+		});
+		locationService.createLocation(new LocationDTO(null, "Gomel", "Belarus", null));
+
+		assertThat(locationService.getLocationById(5).getName()).isEqualTo("Gomel");
+		verify(locationRepository, times(1)).findById(5);
+	}
+}
@@ -0,0 +1,102 @@
+package com.example.SunriseSunset.service;
+
+import static org.mockito.Mockito.mock;
+
+import com.example.SunriseSunset.cache.AggregateCache;
+import com.example.SunriseSunset.cache.CompositeCache;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+public final class ServiceFixtures {
+
+	private final SunriseSunsetRepository sunriseSunsetRepository;
+
+	private final LocationRepository locationRepository;
+
+	private final TransactionTemplate transactionTemplate;
+
+	private RestTemplate restTemplate = mock(RestTemplate.class);
+
+	private UpstreamScheduler upstreamScheduler = mock(UpstreamScheduler.class);
+
+	private ChangeLogService changeLogService = mock(ChangeLogService.class);
+
+	private Map<String, Object> entityCache = new ConcurrentHashMap<>();
+
+	private CompositeCache compositeCache = new CompositeCache(10_000, 600_000);
+
+	private long negativeTtlMillis = 30_000;
+
+	private AggregateCache aggregateCache;
+
+	private ServiceFixtures(SunriseSunsetRepository sunriseSunsetRepository, LocationRepository locationRepository,
+			TransactionTemplate transactionTemplate) {
+		this.sunriseSunsetRepository = sunriseSunsetRepository;
+		this.locationRepository = locationRepository;
+		this.transactionTemplate = transactionTemplate;
+	}
+
+	public static ServiceFixtures services(SunriseSunsetRepository sunriseSunsetRepository,
+			LocationRepository locationRepository, TransactionTemplate transactionTemplate) {
+		return new ServiceFixtures(sunriseSunsetRepository, locationRepository, transactionTemplate);
+	}
+
+	public ServiceFixtures restTemplate(RestTemplate restTemplate) {
+		this.restTemplate = restTemplate;
+		return this;
+	}
+
+	public ServiceFixtures upstreamScheduler(UpstreamScheduler upstreamScheduler) {
+		this.upstreamScheduler = upstreamScheduler;
+		return this;
+	}
+
+	public ServiceFixtures changeLogService(ChangeLogService changeLogService) {
+		this.changeLogService = changeLogService;
+		return this;
+	}
+
+	public ServiceFixtures entityCache(Map<String, Object> entityCache) {
+		this.entityCache = entityCache;
+		this.aggregateCache = null;
+		return this;
+	}
+
+	public ServiceFixtures negativeTtlMillis(long negativeTtlMillis) {
+		this.negativeTtlMillis = negativeTtlMillis;
+		this.aggregateCache = null;
+		return this;
+	}
+
+	public Map<String, Object> entityCache() {
+		return entityCache;
+	}
+
+	public CompositeCache compositeCache() {
+		return compositeCache;
+	}
+
+	public SunriseSunsetService sunriseSunsetService() {
+		return new SunriseSunsetService(restTemplate, upstreamScheduler, mock(GridSunTimesCache.class),
+				mock(SunTimesStreamHub.class), mock(LocationCalendarService.class), changeLogService,
+				transactionTemplate, sunriseSunsetRepository, locationRepository, entityCache, aggregateCache(),
+				compositeCache, negativeTtlMillis);
+	}
+
+	public LocationService locationService() {
+		return new LocationService(locationRepository, sunriseSunsetRepository, mock(LocationCalendarService.class),
+				changeLogService, transactionTemplate, entityCache, aggregateCache(), compositeCache,
+				negativeTtlMillis);
+	}
+
+	private AggregateCache aggregateCache() {
+		if (aggregateCache == null) {
+			aggregateCache = new AggregateCache(entityCache, negativeTtlMillis);
+		}
+		return aggregateCache;
+	}
+}
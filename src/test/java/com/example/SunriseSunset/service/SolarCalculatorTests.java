@@ -0,0 +1,73 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+
+class SolarCalculatorTests {
+
+	/** Almanac times are rounded to the minute and the NOAA declination series drifts by minutes near equinoxes. */
+	private static final double TOLERANCE_MINUTES = 5;
+
+	private final SolarCalculator solarCalculator = new SolarCalculator();
+
+	@Test
+	void matchesPublishedLondonTimesAtSolstices() {
+		LocalDate summer = LocalDate.of(2025, 6, 21);
+		LocalDate winter = LocalDate.of(2025, 12, 21);
+
+		assertThat(solarCalculator.eventMinutes(summer, 51.5074, -0.1278, true))
+				.isCloseTo(minutes(3, 43), within(TOLERANCE_MINUTES));
+		assertThat(solarCalculator.eventMinutes(summer, 51.5074, -0.1278, false))
+				.isCloseTo(minutes(20, 21), within(TOLERANCE_MINUTES));
+		assertThat(solarCalculator.eventMinutes(winter, 51.5074, -0.1278, true))
+				.isCloseTo(minutes(8, 4), within(TOLERANCE_MINUTES));
+		assertThat(solarCalculator.eventMinutes(winter, 51.5074, -0.1278, false))
+				.isCloseTo(minutes(15, 53), within(TOLERANCE_MINUTES));
+	}
+
+	@Test
+	void daylightLastsJustOverTwelveHoursAtEquinox() {
+		LocalDate equinox = LocalDate.of(2025, 3, 20);
+
+		double newYorkDaylight = solarCalculator.eventMinutes(equinox, 40.7128, -74.0060, false)
+				- solarCalculator.eventMinutes(equinox, 40.7128, -74.0060, true);
+		double quitoDaylight = solarCalculator.eventMinutes(equinox, -0.1807, -78.4678, false)
+				- solarCalculator.eventMinutes(equinox, -0.1807, -78.4678, true);
+
+		assertThat(newYorkDaylight).isCloseTo(minutes(12, 9), within(TOLERANCE_MINUTES));
+		assertThat(quitoDaylight).isCloseTo(minutes(12, 7), within(TOLERANCE_MINUTES));
+	}
+
+	@Test
+	void yearlyMinutesAgreeWithSingleDates() {
+		LocalDate date = LocalDate.of(2024, 12, 31);
+		int[] sunrises = solarCalculator.sunriseMinutes(2024, 51.5074, -0.1278);
+		int[] sunsets = solarCalculator.sunsetMinutes(2024, 51.5074, -0.1278);
+
+		assertThat(sunrises).hasSize(366);
+		assertThat(sunrises[date.getDayOfYear() - 1])
+				.isEqualTo(Math.round(solarCalculator.eventMinutes(date, 51.5074, -0.1278, true)));
+		assertThat(sunsets[date.getDayOfYear() - 1])
+				.isEqualTo(Math.round(solarCalculator.eventMinutes(date, 51.5074, -0.1278, false)));
+	}
+
+	@Test
+	void reportsNoEventDuringPolarDayAndNight() {
+		LocalDate summer = LocalDate.of(2025, 6, 21);
+		LocalDate winter = LocalDate.of(2025, 12, 21);
+
+		assertThat(solarCalculator.eventMinutes(summer, 69.6492, 18.9553, false)).isNaN();
+		assertThat(solarCalculator.eventMinutes(winter, 69.6492, 18.9553, true)).isNaN();
+		assertThat(solarCalculator.sunsetMinutes(2025, 69.6492, 18.9553)[summer.getDayOfYear() - 1])
+				.isEqualTo(SolarCalculator.NO_EVENT);
+		assertThat(solarCalculator.sunriseMinutes(2025, 69.6492, 18.9553)[winter.getDayOfYear() - 1])
+				.isEqualTo(SolarCalculator.NO_EVENT);
+	}
+
+	private static double minutes(int hours, int minutes) {
+		return hours * 60 + minutes;
+	}
+}
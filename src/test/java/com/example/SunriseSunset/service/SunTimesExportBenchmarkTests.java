@@ -0,0 +1,115 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.LocalDate;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:file:./target/export-benchmark;LAZY_QUERY_EXECUTION=1;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("benchmark")
+class SunTimesExportBenchmarkTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(SunTimesExportBenchmarkTests.class);
+
+	private static final long ROWS = Long.getLong("export.benchmark.rows", 10_000_000);
+
+	private static final int LOCATIONS = 100;
+
+	private static final LocalDate FIRST_DAY = LocalDate.of(1900, 1, 1);
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void streamsTenMillionRowsWithBoundedHeap() {
+		long begin = System.nanoTime();
+		jdbcTemplate.update("INSERT INTO locations (name, country) SELECT CONCAT('Location ', X), 'Belarus'"
+				+ " FROM SYSTEM_RANGE(1, ?)", LOCATIONS);
+		int firstLocationId = jdbcTemplate.queryForObject("SELECT MIN(id) FROM locations", Integer.class);
+		jdbcTemplate.update("INSERT INTO sunrise_and_sunset (id, date, latitude, longitude, sunrise, sunset)"
+				+ " SELECT X, DATEADD(DAY, X / " + LOCATIONS + ", DATE '1900-01-01'), 53.9, 27.56,"
+				+ " DATEADD(MINUTE, X / " + LOCATIONS + " * 1440 + 300, TIMESTAMP WITH TIME ZONE '1900-01-01 00:00:00+00'),"
+				+ " DATEADD(MINUTE, X / " + LOCATIONS + " * 1440 + 1020, TIMESTAMP WITH TIME ZONE '1900-01-01 00:00:00+00')"
+				+ " FROM SYSTEM_RANGE(1, ?)", ROWS);
+		jdbcTemplate.update("INSERT INTO sunrise_sunset_locations (sunrise_sunset_id, location_id)"
+				+ " SELECT X, MOD(X, ?) + ? FROM SYSTEM_RANGE(1, ?)", LOCATIONS, firstLocationId, ROWS);
+		logger.info("Loaded {} rows in {} s", ROWS, (System.nanoTime() - begin) / 1_000_000_000);
+
+		SunTimesExportService exportService = new SunTimesExportService(dataSource, transactionManager,
+				65_536, 10_000, 3_600_000);
+		CountingOutputStream out = new CountingOutputStream();
+		System.gc();
+		ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+		long baseline = tenuredUsed();
+		begin = System.nanoTime();
+		long written = exportService.export(FIRST_DAY, LocalDate.of(9999, 12, 31), out);
+		long millis = (System.nanoTime() - begin) / 1_000_000;
+		long tenuredPeak = tenuredPeak();
+		exportService.close();
+
+		logger.info("Exported {} rows in {} ms ({} rows/s): {} bytes, {} bytes per row; tenured heap {} MB before,"
+				+ " peak {} MB", written, millis, written * 1000 / Math.max(millis, 1), out.bytes,
+				out.bytes / written, baseline >> 20, tenuredPeak >> 20);
+		assertThat(written).isEqualTo(ROWS);
+		assertThat(tenuredPeak - baseline).isLessThan(256L << 20);
+	}
+
+	private static long tenuredUsed() {
+		return tenuredPools().mapToLong(pool -> pool.getUsage().getUsed()).sum();
+	}
+
+	private static long tenuredPeak() {
+		return tenuredPools().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+	}
+
+	private static Stream<MemoryPoolMXBean> tenuredPools() {
+		return ManagementFactory.getMemoryPoolMXBeans().stream()
+				.filter(pool -> pool.getType() == MemoryType.HEAP)
+				.filter(pool -> pool.getName().contains("Old") || pool.getName().contains("Tenured"));
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+
+		private long bytes;
+
+		@Override
+		public void write(int b) {
+			bytes++;
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			bytes += len;
+		}
+	}
+}
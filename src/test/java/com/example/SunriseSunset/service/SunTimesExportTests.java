@@ -0,0 +1,144 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.SunriseSunset.controller.SunriseSunsetController;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.DateDayVector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.TimeStampSecTZVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:export;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SunTimesExportTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(SunTimesExportTests.class);
+
+	private static final int DAYS = 20_000;
+
+	private static final int BATCH_ROWS = 8_192;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Test
+	void streamsRowsAsArrowBatchesWithDictionaryEncodedLocationNames() throws Exception {
+		jdbcTemplate.update("INSERT INTO locations (name, country) VALUES ('Minsk', 'Belarus'), ('Brest', 'Belarus')");
+		List<Integer> locationIds = jdbcTemplate.queryForList("SELECT id FROM locations ORDER BY id", Integer.class);
+		LocalDate start = LocalDate.of(1970, 1, 1);
+		List<Object[]> entries = new ArrayList<>(DAYS);
+		for (int day = 0; day < DAYS; day++) {
+			LocalDate date = start.plusDays(day);
+			entries.add(new Object[] {date, 53.9, 27.56, date.atTime(5, 0).atOffset(ZoneOffset.UTC),
+					date.atTime(17, 0).atOffset(ZoneOffset.UTC)});
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO sunrise_and_sunset (id, date, latitude, longitude, sunrise, sunset)"
+				+ " VALUES (NEXT VALUE FOR sunrise_and_sunset_seq, ?, ?, ?, ?, ?)", entries);
+		jdbcTemplate.update("INSERT INTO sunrise_sunset_locations (sunrise_sunset_id, location_id)"
+				+ " SELECT s.id, l.id FROM sunrise_and_sunset s, locations l WHERE l.name = 'Minsk'"
+				+ " OR MOD(EXTRACT(DAY FROM s.date), 2) = 0");
+		int expectedRows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sunrise_and_sunset s"
+				+ " LEFT JOIN sunrise_sunset_locations sl ON sl.sunrise_sunset_id = s.id", Integer.class);
+		SunTimesExportService exportService = new SunTimesExportService(dataSource, transactionManager,
+				BATCH_ROWS, 1_000, 3_600_000);
+
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		long begin = System.nanoTime();
+		long written = exportService.export(LocalDate.MIN, LocalDate.MAX, out);
+		long millis = (System.nanoTime() - begin) / 1_000_000;
+		logger.info("Exported {} rows as Arrow IPC in {} ms: {} bytes, {} bytes per row",
+				written, millis, out.size(), out.size() / written);
+		exportService.close();
+
+		assertThat(written).isEqualTo(expectedRows);
+		try (BufferAllocator allocator = new RootAllocator();
+			 ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(out.toByteArray()), allocator)) {
+			VectorSchemaRoot root = reader.getVectorSchemaRoot();
+			long rows = 0;
+			int batches = 0;
+			boolean first = true;
+			while (reader.loadNextBatch()) {
+				batches++;
+				rows += root.getRowCount();
+				if (first) {
+					first = false;
+					Dictionary names = reader.getDictionaryVectors().values().iterator().next();
+					IntVector nameIndex = (IntVector) root.getVector("location_name");
+					VarCharVector dictionary = (VarCharVector) names.getVector();
+					assertThat(new String(dictionary.get(nameIndex.get(0)))).isEqualTo("Minsk");
+					assertThat(((IntVector) root.getVector("location_id")).get(0)).isEqualTo(locationIds.get(0));
+					assertThat(((DateDayVector) root.getVector("date")).get(0)).isZero();
+					assertThat(((TimeStampSecTZVector) root.getVector("sunrise")).get(0)).isEqualTo(5 * 3_600);
+				}
+			}
+			assertThat(rows).isEqualTo(expectedRows);
+			assertThat(batches).isEqualTo((expectedRows + BATCH_ROWS - 1) / BATCH_ROWS);
+		}
+	}
+
+	@Test
+	void exportEndpointStreamsWithinItsOwnAsyncTimeout() throws Exception {
+		SunTimesExportService exportService = new SunTimesExportService(dataSource, transactionManager,
+				BATCH_ROWS, 1_000, 1_234);
+		MockMvc mockMvc = MockMvcBuilders
+				.standaloneSetup(new SunriseSunsetController(mock(SunriseSunsetService.class),
+						mock(SunriseSunsetRequestService.class), exportService))
+				.build();
+
+		MvcResult result = mockMvc.perform(get("/sun/times/export").param("from", "2025-01-01"))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+
+		assertThat(result.getRequest().getAsyncContext().getTimeout()).isEqualTo(1_234);
+		mockMvc.perform(asyncDispatch(result))
+				.andExpect(status().isOk())
+				.andExpect(content().contentType(SunTimesExportService.MEDIA_TYPE))
+				.andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+						"attachment; filename=\"sun-times.arrows\""));
+		assertThat(result.getResponse().getContentAsByteArray()).isNotEmpty();
+		exportService.close();
+	}
+}
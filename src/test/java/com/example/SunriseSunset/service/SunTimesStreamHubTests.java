@@ -0,0 +1,190 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+class SunTimesStreamHubTests {
+
+	private static final int SUBSCRIBERS = 2_000;
+
+	private static final int EVENTS = 20;
+
+	private SunTimesStreamHub hub;
+
+	@AfterEach
+	void tearDown() {
+		hub.shutdown();
+	}
+
+	@Test
+	void fansOutEveryEventToManySubscribers() throws Exception {
+		hub = new SunTimesStreamHub(4, EVENTS, false, 0, 0);
+		CountDownLatch delivered = new CountDownLatch(SUBSCRIBERS * EVENTS);
+		List<RecordingEmitter> emitters = new ArrayList<>();
+		for (int i = 0; i < SUBSCRIBERS; i++) {
+			RecordingEmitter emitter = new RecordingEmitter(delivered, 0);
+			emitters.add(emitter);
+			hub.register(1, emitter);
+		}
+		hub.register(2, new RecordingEmitter(new CountDownLatch(1), 0));
+
+		long start = System.nanoTime();
+		for (int i = 0; i < EVENTS; i++) {
+			hub.publish(entry(i, 1));
+		}
+		long publishMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertThat(delivered.await(10, TimeUnit.SECONDS)).isTrue();
+		assertThat(emitters).allSatisfy(emitter -> assertThat(emitter.events).hasValue(EVENTS));
+		assertThat(hub.getDroppedCount()).isZero();
+		assertThat(publishMillis).isLessThan(1_000);
+	}
+
+	@Test
+	void slowSubscriberDropsOldestEventsWithoutDelayingOthers() throws Exception {
+		hub = new SunTimesStreamHub(2, 4, false, 0, 0);
+		CountDownLatch fastDelivered = new CountDownLatch(EVENTS);
+		RecordingEmitter fast = new RecordingEmitter(fastDelivered, 0);
+		RecordingEmitter slow = new RecordingEmitter(new CountDownLatch(EVENTS), 200);
+		hub.register(1, slow);
+		hub.register(1, fast);
+
+		for (int i = 0; i < EVENTS; i++) {
+			hub.publish(entry(i, 1));
+			Thread.sleep(5);
+		}
+
+		assertThat(fastDelivered.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(hub.getDroppedCount()).isPositive();
+		assertThat(hub.getSubscriberCount(1)).isEqualTo(2);
+	}
+
+	@Test
+	void slowSubscriberIsClosedWhenConfigured() {
+		hub = new SunTimesStreamHub(1, 2, true, 0, 0);
+		RecordingEmitter slow = new RecordingEmitter(new CountDownLatch(EVENTS), 500);
+		hub.register(1, slow);
+
+		for (int i = 0; i < EVENTS; i++) {
+			hub.publish(entry(i, 1));
+		}
+
+		assertThat(slow.completed).isTrue();
+		assertThat(hub.getSubscriberCount(1)).isZero();
+	}
+
+	@Test
+	void heartbeatReachesIdleSubscribers() throws Exception {
+		hub = new SunTimesStreamHub(1, 4, false, 0, 0);
+		CountDownLatch delivered = new CountDownLatch(1);
+		RecordingEmitter emitter = new RecordingEmitter(delivered, 0);
+		hub.register(1, emitter);
+
+		hub.heartbeat();
+
+		assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(emitter.heartbeats).hasValue(1);
+		assertThat(emitter.events).hasValue(0);
+	}
+
+	@Test
+	void stalledWriteIsClosedAndFreesItsSender() throws Exception {
+		hub = new SunTimesStreamHub(1, 4, false, 0, 50);
+		StalledEmitter stalled = new StalledEmitter();
+		hub.register(1, stalled);
+		hub.publish(entry(1, 1));
+		assertThat(stalled.writing.await(5, TimeUnit.SECONDS)).isTrue();
+		CountDownLatch delivered = new CountDownLatch(1);
+		hub.register(2, new RecordingEmitter(delivered, 0));
+		hub.publish(entry(2, 2));
+
+		assertThat(delivered.await(200, TimeUnit.MILLISECONDS)).isFalse();
+		hub.closeStalledSubscribers();
+
+		assertThat(delivered.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(stalled.completed).isTrue();
+		assertThat(hub.getSubscriberCount(1)).isZero();
+		assertThat(hub.getSubscriberCount(2)).isEqualTo(1);
+	}
+
+	private static SunriseSunsetDTO entry(int id, Integer locationId) {
+		return new SunriseSunsetDTO(id, LocalDate.of(2025, 6, 21), 53.9, 27.56, null, null, List.of(locationId));
+	}
+
+	private static final class RecordingEmitter extends SseEmitter {
+
+		private final CountDownLatch delivered;
+
+		private final long delayMillis;
+
+		private final AtomicInteger events = new AtomicInteger();
+
+		private final AtomicInteger heartbeats = new AtomicInteger();
+
+		private final AtomicBoolean completed = new AtomicBoolean();
+
+		private RecordingEmitter(CountDownLatch delivered, long delayMillis) {
+			this.delivered = delivered;
+			this.delayMillis = delayMillis;
+		}
+
+		@Override
+		public void send(SseEventBuilder builder) {
+			if (delayMillis > 0) {
+				try {
+					Thread.sleep(delayMillis);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			}
+			String frame = builder.build().stream()
+					.map(data -> String.valueOf(data.getData()))
+					.reduce("", String::concat);
+			if (frame.contains("event:" + SunTimesStreamHub.EVENT_NAME)) {
+				events.incrementAndGet();
+			} else {
+				heartbeats.incrementAndGet();
+			}
+			delivered.countDown();
+		}
+
+		@Override
+		public void complete() {
+			completed.set(true);
+		}
+	}
+
+	private static final class StalledEmitter extends SseEmitter {
+
+		private final CountDownLatch writing = new CountDownLatch(1);
+
+		private final AtomicBoolean completed = new AtomicBoolean();
+
+		@Override
+		public void send(SseEventBuilder builder) throws IOException {
+			writing.countDown();
+			try {
+				new CountDownLatch(1).await();
+			} catch (InterruptedException e) {
+				throw new IOException("Write interrupted", e);
+			}
+		}
+
+		@Override
+		public void complete() {
+			completed.set(true);
+		}
+	}
+}
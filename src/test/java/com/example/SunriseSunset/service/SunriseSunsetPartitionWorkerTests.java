@@ -0,0 +1,28 @@
+package com.example.SunriseSunset.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class SunriseSunsetPartitionWorkerTests {
+
+	@Test
+	void createsPartitionsFromCurrentYearThroughYearsAhead() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		int currentYear = LocalDate.now(ZoneOffset.UTC).getYear();
+
+		new SunriseSunsetPartitionWorker(jdbcTemplate, 2).createUpcomingPartitions();
+
+		for (int year = currentYear; year <= currentYear + 2; year++) {
+			verify(jdbcTemplate).queryForList("SELECT create_sunrise_and_sunset_partition(?)", year);
+		}
+		verify(jdbcTemplate, times(3)).queryForList(anyString(), any(Object[].class));
+	}
+}
@@ -0,0 +1,248 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.SunriseSunset.controller.SunriseSunsetController;
+import com.example.SunriseSunset.dto.SunriseSunsetDTO;
+import com.example.SunriseSunset.exception.GlobalExceptionHandler;
+import com.example.SunriseSunset.model.RequestStatus;
+import com.example.SunriseSunset.model.SunriseSunsetRequestEntity;
+import com.example.SunriseSunset.repository.SunriseSunsetRequestRepository;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import org.hibernate.LockMode;
+import org.hibernate.dialect.H2Dialect;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:requests;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop",
+	"spring.jpa.database-platform=com.example.SunriseSunset.service.SunriseSunsetRequestServiceTests$SkipLockedH2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SunriseSunsetRequestServiceTests {
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private SunriseSunsetRequestRepository requestRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private final SunriseSunsetService sunService = mock(SunriseSunsetService.class);
+
+	private TransactionTemplate transactionTemplate;
+
+	private SunriseSunsetRequestService requestService;
+
+	@BeforeEach
+	void setUp() {
+		requestRepository.deleteAll();
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		requestService = new SunriseSunsetRequestService(requestRepository, sunService, transactionTemplate,
+				jdbcTemplate, true, 2, 5);
+		when(sunService.resolveSunTimes(any())).thenAnswer(invocation -> invocation.getArgument(0));
+		when(sunService.saveResolvedInBatch(anyList(), any())).thenAnswer(invocation ->
+				transactionTemplate.execute(status -> storeResolved(invocation)));
+	}
+
+	@Test
+	void ticketMovesFromAcceptedToDone() throws Exception {
+		MockMvc mockMvc = MockMvcBuilders
+				.standaloneSetup(new SunriseSunsetController(sunService, requestService,
+						mock(SunTimesExportService.class)))
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+
+		String location = mockMvc.perform(post("/sun/times/requests")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"date\":\"2025-06-21\",\"latitude\":53.9,\"longitude\":27.56}"))
+				.andExpect(status().isAccepted())
+				.andExpect(jsonPath("$.status").value("PENDING"))
+				.andReturn().getResponse().getHeader("Location");
+		assertThat(location).startsWith("/sun/times/requests/");
+		mockMvc.perform(get(location))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("PENDING"));
+
+		assertThat(requestService.processBatch()).isEqualTo(1);
+
+		mockMvc.perform(get(location))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.status").value("DONE"))
+				.andExpect(jsonPath("$.resultId").value(100))
+				.andExpect(jsonPath("$.completedAt").exists());
+		mockMvc.perform(get("/sun/times/requests/999999"))
+				.andExpect(status().isNotFound());
+		mockMvc.perform(post("/sun/times/requests")
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"date\":\"2025-06-21\"}"))
+				.andExpect(status().isBadRequest())
+				.andExpect(header().doesNotExist("Location"));
+	}
+
+	@Test
+	void claimSkipsRequestsLockedByAnotherWorker() throws Exception {
+		List<Long> ids = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			ids.add(requestRepository.save(request(RequestStatus.PENDING, null)).id);
+		}
+		CountDownLatch locked = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Void> otherWorker = CompletableFuture.runAsync(() ->
+				transactionTemplate.executeWithoutResult(status -> {
+					requestRepository.findClaimable(RequestStatus.PENDING, RequestStatus.PROCESSING,
+							OffsetDateTime.now(ZoneOffset.UTC).minusMinutes(5), PageRequest.of(0, 2));
+					locked.countDown();
+					try {
+						release.await(10, TimeUnit.SECONDS);
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+				}));
+		assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+		int processed;
+		try {
+			processed = requestService.processBatch();
+		} finally {
+			release.countDown();
+			otherWorker.get(10, TimeUnit.SECONDS);
+		}
+
+		assertThat(processed).isEqualTo(2);
+		assertThat(statusOf(ids.get(0))).isEqualTo(RequestStatus.PENDING);
+		assertThat(statusOf(ids.get(1))).isEqualTo(RequestStatus.PENDING);
+		assertThat(statusOf(ids.get(2))).isEqualTo(RequestStatus.DONE);
+		assertThat(statusOf(ids.get(3))).isEqualTo(RequestStatus.DONE);
+	}
+
+	@Test
+	void reclaimsRequestsWhoseWorkerTimedOut() {
+		OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+		Long stale = requestRepository.save(request(RequestStatus.PROCESSING, now.minusMinutes(10))).id;
+		Long active = requestRepository.save(request(RequestStatus.PROCESSING, now.minusMinutes(1))).id;
+
+		assertThat(requestService.processBatch()).isEqualTo(1);
+
+		assertThat(statusOf(stale)).isEqualTo(RequestStatus.DONE);
+		assertThat(statusOf(active)).isEqualTo(RequestStatus.PROCESSING);
+	}
+
+	@Test
+	void failedResolutionMarksOnlyThatRequestFailed() {
+		Long failing = requestRepository.save(request(RequestStatus.PENDING, null)).id;
+		Long succeeding = requestRepository.save(request(RequestStatus.PENDING, null)).id;
+		when(sunService.resolveSunTimes(any()))
+				.thenThrow(new IllegalStateException("upstream down"))
+				.thenAnswer(invocation -> invocation.getArgument(0));
+
+		assertThat(requestService.processBatch()).isEqualTo(2);
+
+		SunriseSunsetRequestEntity failed = requestRepository.findById(failing).orElseThrow();
+		assertThat(failed.status).isEqualTo(RequestStatus.FAILED);
+		assertThat(failed.error).isEqualTo("upstream down");
+		assertThat(statusOf(succeeding)).isEqualTo(RequestStatus.DONE);
+	}
+
+	@Test
+	void completedStatusesRollBackWithTheStoredResults() {
+		Long id = requestRepository.save(request(RequestStatus.PENDING, null)).id;
+		doAnswer(invocation -> transactionTemplate.execute(status -> {
+			storeResolved(invocation);
+			assertThat(jdbcTemplate.queryForObject("SELECT status FROM sunrise_sunset_requests WHERE id = ?",
+					String.class, id)).isEqualTo("DONE");
+			throw new IllegalStateException("commit failed");
+		})).when(sunService).saveResolvedInBatch(anyList(), any());
+
+		assertThat(requestService.processBatch()).isEqualTo(1);
+
+		SunriseSunsetRequestEntity failed = requestRepository.findById(id).orElseThrow();
+		assertThat(failed.status).isEqualTo(RequestStatus.FAILED);
+		assertThat(failed.resultId).isNull();
+		assertThat(failed.error).isEqualTo("commit failed");
+	}
+
+	private static List<SunriseSunsetDTO> storeResolved(InvocationOnMock invocation) {
+		List<SunriseSunsetDTO> saved = new ArrayList<>();
+		for (SunriseSunsetDTO dto : invocation.<List<SunriseSunsetDTO>>getArgument(0)) {
+			saved.add(new SunriseSunsetDTO(100 + saved.size(), dto.getDate(), dto.getLatitude(),
+					dto.getLongitude(), null, null, List.of()));
+		}
+		invocation.<Consumer<List<SunriseSunsetDTO>>>getArgument(1).accept(saved);
+		return saved;
+	}
+
+	private RequestStatus statusOf(Long id) {
+		return requestRepository.findById(id).orElseThrow().status;
+	}
+
+	private static SunriseSunsetRequestEntity request(RequestStatus status, OffsetDateTime claimedAt) {
+		SunriseSunsetRequestEntity request = new SunriseSunsetRequestEntity();
+		request.date = LocalDate.of(2025, 6, 21);
+		request.latitude = 53.9;
+		request.longitude = 27.56;
+		request.status = status;
+		request.createdAt = OffsetDateTime.now(ZoneOffset.UTC);
+		request.claimedAt = claimedAt;
+		return request;
+	}
+
+	/** H2 understands FOR UPDATE SKIP LOCKED, but Hibernate's H2 dialect never renders it. */
+	public static class SkipLockedH2Dialect extends H2Dialect {
+
+		private static final int SKIP_LOCKED_TIMEOUT = LockMode.UPGRADE_SKIPLOCKED.toLockOptions().getTimeOut();
+
+		@Override
+		public boolean supportsSkipLocked() {
+			return true;
+		}
+
+		@Override
+		public String getForUpdateSkipLockedString() {
+			return getForUpdateString() + " skip locked";
+		}
+
+		@Override
+		public String getWriteLockString(int timeout) {
+			return timeout == SKIP_LOCKED_TIMEOUT ? getForUpdateSkipLockedString() : super.getWriteLockString(timeout);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import com.example.SunriseSunset.model.LocationEntity;
+import com.example.SunriseSunset.model.SunriseSunsetArchiveEntity;
+import com.example.SunriseSunset.model.SunriseSunsetEntity;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetArchiveRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:retention;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class SunriseSunsetRetentionTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(SunriseSunsetRetentionTests.class);
+
+	private static final int LOCATIONS = 10;
+
+	private static final int QUERIES = 500;
+
+	@Autowired
+	private TestEntityManager testEntityManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private SunriseSunsetRepository sunriseSunsetRepository;
+
+	@Autowired
+	private SunriseSunsetArchiveRepository archiveRepository;
+
+	private SunriseSunsetRetentionService retentionService;
+
+	@BeforeEach
+	void setUp() {
+		SunriseSunsetService sunService = ServiceFixtures.services(sunriseSunsetRepository, locationRepository,
+				new TransactionTemplate(transactionManager)).sunriseSunsetService();
+		retentionService = new SunriseSunsetRetentionService(sunriseSunsetRepository, archiveRepository, sunService,
+				new TransactionTemplate(transactionManager), 730, 3, 0);
+	}
+
+	@Test
+	void movesEntriesBeforeCutoffIntoCompactArchiveInBatches() {
+		LocationEntity location = new LocationEntity();
+		location.name = "Minsk";
+		location.country = "Belarus";
+		testEntityManager.persist(location);
+		List<Integer> ids = new ArrayList<>();
+		for (int day = 0; day < 10; day++) {
+			SunriseSunsetEntity entry = newEntry(LocalDate.of(2020, 1, 1).plusDays(day));
+			entry.locations.add(location);
+			ids.add(testEntityManager.persist(entry).id);
+		}
+		testEntityManager.flush();
+		testEntityManager.clear();
+
+		int archived = retentionService.archiveBefore(LocalDate.of(2020, 1, 8));
+
+		assertThat(archived).isEqualTo(7);
+		assertThat(sunriseSunsetRepository.findAll()).extracting(entry -> entry.id)
+				.containsExactlyInAnyOrderElementsOf(ids.subList(7, 10));
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sunrise_sunset_locations", Integer.class))
+				.isEqualTo(3);
+		SunriseSunsetArchiveEntity first = archiveRepository.findById(ids.get(0)).orElseThrow();
+		assertThat(first.date).isEqualTo(LocalDate.of(2020, 1, 1));
+		assertThat(first.sunriseOffsetSeconds).isEqualTo(-3_600);
+		assertThat(first.sunsetOffsetSeconds).isEqualTo(15 * 3_600 + 30 * 60);
+		assertThat(first.locationIds).containsExactly(location.id);
+	}
+
+	@Test
+	void dateAndLocationQueryFindsOnlyThatLocationsEntry() {
+		List<Integer> locationIds = insertLocations(3);
+		LocalDate start = LocalDate.of(2000, 1, 1);
+		insertYears(start, 1, locationIds);
+
+		List<SunriseSunsetEntity> found = sunriseSunsetRepository.findByDateAndLocationName(start.plusDays(40),
+				"Location 2");
+
+		assertThat(found).hasSize(1);
+		assertThat(found.get(0).date).isEqualTo(start.plusDays(40));
+		assertThat(found.get(0).latitude).isCloseTo(55.9, within(1e-9));
+		assertThat(found.get(0).locations).extracting(location -> location.id).containsExactly(locationIds.get(2));
+		assertThat(sunriseSunsetRepository.findByDateAndLocationName(start.plusYears(1), "Location 2")).isEmpty();
+	}
+
+	@Test
+	@Tag("benchmark")
+	void dateAndLocationQueryLatencyAgainstYearsStored() {
+		List<Integer> locationIds = insertLocations(LOCATIONS);
+		LocalDate start = LocalDate.of(2000, 1, 1);
+		int storedYears = 0;
+		for (int years : new int[] {1, 5, 10, 20}) {
+			insertYears(start.plusYears(storedYears), years - storedYears, locationIds);
+			storedYears = years;
+			long nanos = measureQueries(start, years);
+			logger.info("{} years stored ({} rows): {} us per date and location query",
+					years, sunriseSunsetRepository.count(), nanos / QUERIES / 1_000);
+		}
+		assertThat(sunriseSunsetRepository.findByDateAndLocationName(start, "Location 0")).hasSize(1);
+	}
+
+	private List<Integer> insertLocations(int count) {
+		for (int i = 0; i < count; i++) {
+			jdbcTemplate.update("INSERT INTO locations (name, country) VALUES (?, ?)", "Location " + i, "Belarus");
+		}
+		return jdbcTemplate.queryForList("SELECT id FROM locations ORDER BY id", Integer.class);
+	}
+
+	private long measureQueries(LocalDate start, int years) {
+		Random random = new Random(years);
+		int days = years * 365;
+		for (int i = 0; i < QUERIES; i++) {
+			sunriseSunsetRepository.findByDateAndLocationName(start.plusDays(random.nextInt(days)), "Location 1");
+		}
+		long begin = System.nanoTime();
+		for (int i = 0; i < QUERIES; i++) {
+			testEntityManager.clear();
+			sunriseSunsetRepository.findByDateAndLocationName(start.plusDays(random.nextInt(days)),
+					"Location " + random.nextInt(LOCATIONS));
+		}
+		return System.nanoTime() - begin;
+	}
+
+	private void insertYears(LocalDate from, int years, List<Integer> locationIds) {
+		LocalDate to = from.plusYears(years);
+		List<Object[]> entries = new ArrayList<>();
+		for (LocalDate date = from; date.isBefore(to); date = date.plusDays(1)) {
+			for (int i = 0; i < locationIds.size(); i++) {
+				entries.add(new Object[] {date, 53.9 + i, 27.56, date.atTime(5, 0).atOffset(ZoneOffset.UTC),
+						date.atTime(17, 0).atOffset(ZoneOffset.UTC)});
+			}
+		}
+		jdbcTemplate.batchUpdate("INSERT INTO sunrise_and_sunset (id, date, latitude, longitude, sunrise, sunset)"
+				+ " VALUES (NEXT VALUE FOR sunrise_and_sunset_seq, ?, ?, ?, ?, ?)", entries);
+		jdbcTemplate.update("INSERT INTO sunrise_sunset_locations (sunrise_sunset_id, location_id)"
+				+ " SELECT s.id, l.id FROM sunrise_and_sunset s JOIN locations l"
+				+ " ON l.name = CONCAT('Location ', CAST(ROUND(s.latitude - 53.9) AS INT))"
+				+ " WHERE s.date >= ? AND s.date < ?", from, to);
+	}
+
+	private SunriseSunsetEntity newEntry(LocalDate date) {
+		SunriseSunsetEntity entry = new SunriseSunsetEntity();
+		entry.date = date;
+		entry.latitude = 53.9;
+		entry.longitude = 27.56;
+		entry.sunrise = OffsetDateTime.of(date.minusDays(1).atTime(23, 0), ZoneOffset.UTC);
+		entry.sunset = OffsetDateTime.of(date.atTime(15, 30), ZoneOffset.UTC);
+		return entry;
+	}
+}
@@ -0,0 +1,164 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.example.SunriseSunset.exception.UpstreamThrottledException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class UpstreamSchedulerTests {
+
+	@Test
+	void keepsBurstWithinThrottlingStubLimit() throws Exception {
+		ThrottlingStub stub = new ThrottlingStub(6, 55);
+		UpstreamScheduler scheduler = new UpstreamScheduler(50, 5, 100, 10_000, 100, 10_000);
+		ExecutorService executor = Executors.newFixedThreadPool(10);
+		long start = System.nanoTime();
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 60; i++) {
+			results.add(executor.submit(() -> scheduler.execute(UpstreamPriority.INTERACTIVE, stub::call)));
+		}
+		for (Future<String> result : results) {
+			assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("ok");
+		}
+		long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+		executor.shutdown();
+
+		assertThat(stub.throttled.get()).isZero();
+		assertThat(elapsedMillis).isGreaterThanOrEqualTo(1000);
+		assertThat(scheduler.getStats().get(0).getGranted()).isEqualTo(60);
+	}
+
+	@Test
+	void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+		UpstreamScheduler scheduler = new UpstreamScheduler(1, 1, 10, 5_000, 1, 5_000);
+		scheduler.execute(UpstreamPriority.BACKGROUND, () -> "drain");
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<String> queued = executor.submit(() -> scheduler.execute(UpstreamPriority.BACKGROUND, () -> "queued"));
+		while (scheduler.getStats().get(1).getQueueDepth() == 0) {
+			Thread.sleep(5);
+		}
+
+		long start = System.nanoTime();
+		assertThatThrownBy(() -> scheduler.execute(UpstreamPriority.BACKGROUND, () -> "rejected"))
+				.isInstanceOf(UpstreamThrottledException.class);
+		assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(100);
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("queued");
+		assertThat(scheduler.getStats().get(1).getRejected()).isEqualTo(1);
+		executor.shutdown();
+	}
+
+	@Test
+	void servesInteractiveBeforeWaitingBackground() throws Exception {
+		UpstreamScheduler scheduler = new UpstreamScheduler(4, 1, 10, 5_000, 10, 5_000);
+		scheduler.execute(UpstreamPriority.BACKGROUND, () -> "drain");
+		List<String> order = new CopyOnWriteArrayList<>();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		Future<?> background = executor.submit(() -> scheduler.execute(UpstreamPriority.BACKGROUND,
+				() -> order.add("background")));
+		while (scheduler.getStats().get(1).getQueueDepth() == 0) {
+			Thread.sleep(1);
+		}
+		Future<?> interactive = executor.submit(() -> scheduler.execute(UpstreamPriority.INTERACTIVE,
+				() -> order.add("interactive")));
+		background.get(5, TimeUnit.SECONDS);
+		interactive.get(5, TimeUnit.SECONDS);
+		executor.shutdown();
+
+		assertThat(order).containsExactly("interactive", "background");
+	}
+
+	@Test
+	void boundsCallsInFlightWhenUpstreamIsSlow() throws Exception {
+		UpstreamScheduler scheduler = new UpstreamScheduler(1_000, 100, 100, 10_000, 100, 10_000, 3);
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(20);
+		List<Future<String>> results = new ArrayList<>();
+		for (int i = 0; i < 20; i++) {
+			results.add(executor.submit(() -> scheduler.execute(UpstreamPriority.INTERACTIVE, () -> {
+				maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+				try {
+					Thread.sleep(50);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				inFlight.decrementAndGet();
+				return "ok";
+			})));
+		}
+		for (Future<String> result : results) {
+			assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("ok");
+		}
+		executor.shutdown();
+
+		assertThat(maxInFlight).hasValue(3);
+	}
+
+	@Test
+	void returnsTokenWhenNoCallSlotFrees() throws Exception {
+		UpstreamScheduler scheduler = new UpstreamScheduler(0.001, 2, 10, 100, 10, 100, 1);
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		Future<String> slow = executor.submit(() -> scheduler.execute(UpstreamPriority.INTERACTIVE, () -> {
+			started.countDown();
+			try {
+				release.await(5, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return "slow";
+		}));
+		assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+		assertThatThrownBy(() -> scheduler.execute(UpstreamPriority.INTERACTIVE, () -> "rejected"))
+				.isInstanceOf(UpstreamThrottledException.class);
+		release.countDown();
+		assertThat(slow.get(5, TimeUnit.SECONDS)).isEqualTo("slow");
+		executor.shutdown();
+
+		assertThat(scheduler.execute(UpstreamPriority.INTERACTIVE, () -> "ok")).isEqualTo("ok");
+	}
+
+	/** Local stand-in for the external API that throttles callers exceeding its own token bucket. */
+	private static final class ThrottlingStub {
+
+		private final double capacity;
+
+		private final double tokensPerNano;
+
+		private double tokens;
+
+		private long lastRefill = System.nanoTime();
+
+		private final AtomicInteger throttled = new AtomicInteger();
+
+		ThrottlingStub(double capacity, double ratePerSecond) {
+			this.capacity = capacity;
+			this.tokens = capacity;
+			this.tokensPerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+		}
+
+		synchronized String call() {
+			long now = System.nanoTime();
+			tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+			lastRefill = now;
+			if (tokens < 1) {
+				throttled.incrementAndGet();
+				return "429";
+			}
+			tokens -= 1;
+			return "ok";
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.SunriseSunset.controller.SunriseSunsetController;
+import com.example.SunriseSunset.exception.GlobalExceptionHandler;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+class UpstreamThrottlingTests {
+
+	private static final String REQUEST = "{\"date\":\"2025-06-21\",\"latitude\":53.9,\"longitude\":27.56}";
+
+	private final RestTemplate restTemplate = new RestTemplate();
+
+	private final MockRestServiceServer upstream = MockRestServiceServer.bindTo(restTemplate).build();
+
+	private final UpstreamScheduler upstreamScheduler = new UpstreamScheduler(1, 5, 10, 200, 10, 200);
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		SunriseSunsetService sunService = ServiceFixtures.services(mock(SunriseSunsetRepository.class),
+						mock(LocationRepository.class), mock(TransactionTemplate.class))
+				.restTemplate(restTemplate)
+				.upstreamScheduler(upstreamScheduler)
+				.sunriseSunsetService();
+		mockMvc = MockMvcBuilders
+				.standaloneSetup(new SunriseSunsetController(sunService, mock(SunriseSunsetRequestService.class),
+						mock(SunTimesExportService.class)))
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+	}
+
+	@Test
+	void throttledUpstreamBacksOffAndMapsToTooManyRequests() throws Exception {
+		upstream.expect(ExpectedCount.once(), requestTo(startsWith("https://api.sunrise-sunset.org/json?lat=53.9")))
+				.andExpect(method(HttpMethod.GET))
+				.andRespond(withStatus(HttpStatus.TOO_MANY_REQUESTS));
+
+		mockMvc.perform(post("/sun/times").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+
+		mockMvc.perform(post("/sun/times").contentType(MediaType.APPLICATION_JSON).content(REQUEST))
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+		upstream.verify();
+		assertThat(upstreamScheduler.getStats().get(0).getGranted()).isEqualTo(1);
+		assertThat(upstreamScheduler.getStats().get(0).getRejected()).isEqualTo(1);
+	}
+}
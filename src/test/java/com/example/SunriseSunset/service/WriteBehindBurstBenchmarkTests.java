@@ -0,0 +1,199 @@
+package com.example.SunriseSunset.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.example.SunriseSunset.controller.SunriseSunsetController;
+import com.example.SunriseSunset.exception.GlobalExceptionHandler;
+import com.example.SunriseSunset.model.RequestStatus;
+import com.example.SunriseSunset.repository.LocationRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRepository;
+import com.example.SunriseSunset.repository.SunriseSunsetRequestRepository;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestTemplate;
+
+@DataJpaTest(properties = {
+	"spring.datasource.url=jdbc:h2:mem:burst;NON_KEYWORDS=DATE,YEAR,VALUE",
+	"spring.datasource.driver-class-name=org.h2.Driver",
+	"spring.datasource.username=sa",
+	"spring.datasource.password=",
+	"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Tag("benchmark")
+class WriteBehindBurstBenchmarkTests {
+
+	private static final Logger logger = LoggerFactory.getLogger(WriteBehindBurstBenchmarkTests.class);
+
+	private static final int BURST = 500;
+
+	private static final int CLIENTS = 50;
+
+	private static final long UPSTREAM_LATENCY_MILLIS = 20;
+
+	private static final String UPSTREAM_RESPONSE = "{\"results\":{\"sunrise\":\"2025-06-21T01:39:00+00:00\","
+			+ "\"sunset\":\"2025-06-21T19:40:00+00:00\"},\"status\":\"OK\"}";
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private SunriseSunsetRepository sunriseSunsetRepository;
+
+	@Autowired
+	private LocationRepository locationRepository;
+
+	@Autowired
+	private SunriseSunsetRequestRepository requestRepository;
+
+	private SunriseSunsetRequestService requestService;
+
+	private MockMvc mockMvc;
+
+	@BeforeEach
+	void setUp() {
+		sunriseSunsetRepository.deleteAll();
+		requestRepository.deleteAll();
+		UpstreamScheduler upstreamScheduler = mock(UpstreamScheduler.class);
+		when(upstreamScheduler.execute(any(), any()))
+				.thenAnswer(invocation -> invocation.<Supplier<?>>getArgument(1).get());
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		SunriseSunsetService sunService = ServiceFixtures.services(sunriseSunsetRepository, locationRepository,
+						transactionTemplate)
+				.restTemplate(slowUpstream())
+				.upstreamScheduler(upstreamScheduler)
+				.sunriseSunsetService();
+		requestService = new SunriseSunsetRequestService(requestRepository, sunService, transactionTemplate,
+				jdbcTemplate, true, 50, 5);
+		mockMvc = MockMvcBuilders
+				.standaloneSetup(new SunriseSunsetController(sunService, requestService,
+						mock(SunTimesExportService.class)))
+				.setControllerAdvice(new GlobalExceptionHandler())
+				.build();
+	}
+
+	@Test
+	void burstOfSynchronousPosts() throws Exception {
+		warmUp();
+		long begin = System.nanoTime();
+		long[] latencies = burst("/sun/times", status().isOk());
+		long storedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+		logLatencies("synchronous POST", latencies, storedMillis);
+		assertThat(sunriseSunsetRepository.count()).isEqualTo(BURST);
+	}
+
+	@Test
+	void burstOfQueuedPostsDrainedByTheWorker() throws Exception {
+		warmUp();
+		SunriseSunsetRequestWorker worker = new SunriseSunsetRequestWorker(requestService);
+		long begin = System.nanoTime();
+		long[] latencies = burst("/sun/times/requests", status().isAccepted());
+		while (pendingRequests() > 0) {
+			worker.drain();
+		}
+		long storedMillis = (System.nanoTime() - begin) / 1_000_000;
+
+		logLatencies("queued POST", latencies, storedMillis);
+		assertThat(sunriseSunsetRepository.count()).isEqualTo(BURST);
+	}
+
+	private void warmUp() throws Exception {
+		burst("/sun/times", status().isOk());
+		burst("/sun/times/requests", status().isAccepted());
+		new SunriseSunsetRequestWorker(requestService).drain();
+		while (pendingRequests() > 0) {
+			requestService.processBatch();
+		}
+		sunriseSunsetRepository.deleteAll();
+		requestRepository.deleteAll();
+	}
+
+	private long[] burst(String uri, ResultMatcher expectedStatus) throws Exception {
+		ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+		try {
+			List<Future<Long>> calls = new ArrayList<>(BURST);
+			for (int i = 0; i < BURST; i++) {
+				String body = String.format("{\"date\":\"2025-06-21\",\"latitude\":%.4f,\"longitude\":27.56}",
+						50 + i * 0.001);
+				calls.add(clients.submit(() -> {
+					long start = System.nanoTime();
+					mockMvc.perform(post(uri).contentType(MediaType.APPLICATION_JSON).content(body))
+							.andExpect(expectedStatus);
+					return System.nanoTime() - start;
+				}));
+			}
+			long[] latencies = new long[BURST];
+			for (int i = 0; i < BURST; i++) {
+				latencies[i] = calls.get(i).get();
+			}
+			Arrays.sort(latencies);
+			return latencies;
+		} finally {
+			clients.shutdown();
+		}
+	}
+
+	private long pendingRequests() {
+		return requestRepository.findAll().stream()
+				.filter(request -> request.status != RequestStatus.DONE)
+				.count();
+	}
+
+	private static void logLatencies(String mode, long[] sortedNanos, long storedMillis) {
+		logger.info("{}: {} requests from {} clients, response p50 {} ms, p99 {} ms, max {} ms; all stored after {} ms",
+				mode, BURST, CLIENTS, sortedNanos[BURST / 2] / 1_000_000, sortedNanos[BURST * 99 / 100] / 1_000_000,
+				sortedNanos[BURST - 1] / 1_000_000, storedMillis);
+	}
+
+	private static RestTemplate slowUpstream() {
+		return new RestTemplate((uri, method) -> {
+			try {
+				Thread.sleep(UPSTREAM_LATENCY_MILLIS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			MockClientHttpResponse response = new MockClientHttpResponse(
+					UPSTREAM_RESPONSE.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+			response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+			MockClientHttpRequest request = new MockClientHttpRequest(method, uri);
+			request.setResponse(response);
+			return request;
+		});
+	}
+}